@@ -28,7 +28,7 @@ javafx {
 }
 
 dependencies {
-    implementation("de.javagl:obj:0.4.0")
+    testImplementation("de.javagl:obj:0.4.0")
     implementation("mysql:mysql-connector-java:8.0.33")
     implementation("org.xerial:sqlite-jdbc:3.45.1.0")
     implementation("com.gluonhq:maps:2.0.0-ea+6")
@@ -53,3 +53,11 @@ tasks.named<JavaExec>("run") {
 tasks.test {
     useJUnitPlatform()
 }
+
+tasks.register<JavaExec>("importPortfolio") {
+    group = "application"
+    description = "Bulk-loads a portfolio directory into tattui.db (-Pdir=<path>)"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("app.tools.PortfolioImporter")
+    args(providers.gradleProperty("dir").getOrElse("portfolio"))
+}
@@ -1,5 +1,6 @@
 package app;
 
+import app.entity.DatabaseConnector;
 import app.util.ImageResolver;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
@@ -27,7 +28,12 @@ public class Main extends Application {
         stage.setScene(scene);
         stage.show();
     }
-    
+
+    @Override
+    public void stop() {
+        DatabaseConnector.shutdown();
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
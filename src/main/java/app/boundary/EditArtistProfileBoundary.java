@@ -1,11 +1,14 @@
 package app.boundary;
 
-import app.entity.DatabaseConnector;
+import app.controller.RootController;
+import app.db.RequestScope;
+import app.entity.AsyncDatabase;
 import app.entity.Post;
 import app.entity.Profile;
 import app.entity.Review;
 
 import app.util.ImageResolver;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
@@ -33,13 +36,15 @@ import javafx.scene.shape.Circle;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import java.io.IOException;
-import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletionException;
 
-public class EditArtistProfileBoundary extends BaseProfileBoundary {
+public class EditArtistProfileBoundary extends BaseProfileBoundary implements RootController.LeaveAware {
     private static final String NO_PROFILE_SELECTED_TITLE = "No profile selected";
 
+    private final RequestScope requests = new RequestScope();
+
     @FXML
     private Circle profilePicture;
     @FXML
@@ -98,14 +103,20 @@ public class EditArtistProfileBoundary extends BaseProfileBoundary {
         }
     }
 
+    @Override
+    public void onLeave() {
+        // Pending saves still complete; only their UI callbacks are dropped.
+        requests.cancelAll();
+    }
+
     @FXML
     public void setProfile(Profile profile) {
-        try {
-            this.profile = DatabaseConnector.getFullProfile(profile);
-            loadProfile();
-        } catch (SQLException _) {
-            // Leave view empty if the backend profile lookup fails.
-        }
+        // Leave view empty if the backend profile lookup fails.
+        requests.track(AsyncDatabase.getFullProfile(profile))
+                .thenAcceptAsync(full -> {
+                    this.profile = full;
+                    loadProfile();
+                }, Platform::runLater);
     }
 
     @FXML
@@ -135,14 +146,17 @@ public class EditArtistProfileBoundary extends BaseProfileBoundary {
                     throw new IllegalArgumentException("Unable to load image");
                 }
                 profile.setProfilePicture(imageUrl, image);
-                DatabaseConnector.modifyUser(profile);
                 if (profilePicture != null) {
                     profilePicture.setFill(new ImagePattern(image));
                 }
+                var save = requests.track(AsyncDatabase.modifyUser(profile));
+                save.whenCompleteAsync((v, ex) -> {
+                    if (ex != null && !save.isCancelled()) {
+                        showAlert(Alert.AlertType.ERROR, "Update failed", "Unable to save profile picture");
+                    }
+                }, Platform::runLater);
             } catch (IllegalArgumentException _) {
                 showAlert(Alert.AlertType.ERROR, "Invalid Image", "Unable to load image from that URL.");
-            } catch (SQLException _) {
-                showAlert(Alert.AlertType.ERROR, "Update failed", "Unable to save profile picture");
             }
         });
     }
@@ -154,10 +168,18 @@ public class EditArtistProfileBoundary extends BaseProfileBoundary {
             profile.setWorkLatitude(Double.parseDouble(latitudeField.getText()));
             profile.setWorkLongitude(Double.parseDouble(longitudeField.getText()));
             profile.setStylesList(currentStyles);
-            DatabaseConnector.modifyUser(profile);
-            showAlert(Alert.AlertType.INFORMATION, "Profile Saved", "Your profile has been saved.");
-        } catch (SQLException e) {
-            showAlert(Alert.AlertType.ERROR, "Save failed", "Unable to save profile: " + e.getMessage());
+            var save = requests.track(AsyncDatabase.modifyUser(profile));
+            save.whenCompleteAsync((v, ex) -> {
+                if (save.isCancelled()) {
+                    return;
+                }
+                if (ex == null) {
+                    showAlert(Alert.AlertType.INFORMATION, "Profile Saved", "Your profile has been saved.");
+                } else {
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    showAlert(Alert.AlertType.ERROR, "Save failed", "Unable to save profile: " + cause.getMessage());
+                }
+            }, Platform::runLater);
         } catch (NumberFormatException _) {
             showAlert(Alert.AlertType.ERROR, "Invalid Coordinates",
                     "Please enter valid numbers for latitude and longitude.");
@@ -232,12 +254,21 @@ public class EditArtistProfileBoundary extends BaseProfileBoundary {
                 displayFormMessage(feedbackLabel, "Image URL is required.", false);
                 return;
             }
-            try {
-                Post newPost = DatabaseConnector.addArtistPost(
-                        profile.getAccountId(),
-                        form.caption(),
-                        form.imageUrl(),
-                        form.keywords());
+            submitPostButton.setDisable(true);
+            var add = requests.track(AsyncDatabase.addArtistPost(
+                    profile.getAccountId(),
+                    form.caption(),
+                    form.imageUrl(),
+                    form.keywords()));
+            add.whenCompleteAsync((newPost, ex) -> {
+                if (add.isCancelled()) {
+                    return;
+                }
+                if (ex != null) {
+                    submitPostButton.setDisable(false);
+                    displayFormMessage(feedbackLabel, "Unable to add post.", false);
+                    return;
+                }
                 List<Post> updatedPosts = new ArrayList<>(profile.getArtistPosts());
                 updatedPosts.add(0, newPost);
                 profile.setArtistPosts(updatedPosts);
@@ -247,9 +278,7 @@ public class EditArtistProfileBoundary extends BaseProfileBoundary {
                 keywordsField.clear();
                 submitPostButton.setDisable(true);
                 displayFormMessage(feedbackLabel, "Post submitted!", true);
-            } catch (SQLException _) {
-                displayFormMessage(feedbackLabel, "Unable to add post.", false);
-            }
+            }, Platform::runLater);
         });
 
         VBox container = new VBox(10);
@@ -290,18 +319,25 @@ public class EditArtistProfileBoundary extends BaseProfileBoundary {
                 displayFormMessage(feedbackLabel, "Both fields are required.", false);
                 return;
             }
-            try {
-                DatabaseConnector.addArtistDesign(
-                        profile.getAccountId(),
-                        designName,
-                        imageUrl);
+            submitDesignButton.setDisable(true);
+            var add = requests.track(AsyncDatabase.addArtistDesign(
+                    profile.getAccountId(),
+                    designName,
+                    imageUrl));
+            add.whenCompleteAsync((designId, ex) -> {
+                if (add.isCancelled()) {
+                    return;
+                }
+                if (ex != null) {
+                    toggleDesignButton.run();
+                    displayFormMessage(feedbackLabel, "Unable to add design.", false);
+                    return;
+                }
                 designUrlField.clear();
                 designNameField.clear();
                 toggleDesignButton.run();
                 displayFormMessage(feedbackLabel, "Design submitted!", true);
-            } catch (SQLException _) {
-                displayFormMessage(feedbackLabel, "Unable to add design.", false);
-            }
+            }, Platform::runLater);
         });
 
         VBox container = new VBox(10);
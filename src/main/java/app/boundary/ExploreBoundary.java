@@ -3,11 +3,14 @@ package app.boundary;
 import app.controller.RootController;
 import app.controller.WorkspaceController;
 import app.controller.explore.ExploreControl;
+import app.controller.explore.ExploreSearch;
+import app.db.RequestScope;
+import app.entity.AsyncDatabase;
 import app.util.ImageResolver;
-import javafx.animation.FadeTransition;
+import javafx.animation.Animation;
+import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
-import javafx.scene.Node;
 import javafx.scene.control.*;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
@@ -17,6 +20,9 @@ import javafx.util.Duration;
 import java.io.File;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicLong;
@@ -26,7 +32,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public final class ExploreBoundary
-        implements RootController.WorkspaceAware, RootController.PageAware, RootController.ProfileAware {
+        implements RootController.WorkspaceAware, RootController.PageAware, RootController.ProfileAware,
+        RootController.LeaveAware {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ExploreBoundary.class);
 
@@ -35,6 +42,8 @@ public final class ExploreBoundary
     private static final String DEFAULT_ARTIST_PHOTO = "/icons/artist_raven.jpg";
     private static final String DEFAULT_BIO = "No biography yet.";
     private static final String ARTIST_PROFILE_FXML = "/app/view/ArtistProfile.fxml";
+    private static final double GRID_GAP = 12;
+    private static final Duration TYPING_DEBOUNCE = Duration.millis(250);
 
     private static void dbg(String msg) {
         if (DEBUG)
@@ -46,15 +55,12 @@ public final class ExploreBoundary
     @FXML
     private ComboBox<String> filterBox;
     @FXML
-    private TilePane resultsPane;
+    private StackPane resultsHost;
 
     private Supplier<WorkspaceController> workspaceProvider;
     private Consumer<String> pageRequest;
     private Consumer<app.entity.Profile> profileRequest;
 
-    // Pure logic lives here
-    private final ExploreControl control = new ExploreControl();
-
     // ---- Explore provider selection ----
     // Priority:
     // 1) EXPLORE_MOCK => force mock
@@ -66,7 +72,20 @@ public final class ExploreBoundary
         t.setDaemon(true);
         return t;
     });
+    private final ExploreSearch search = new ExploreSearch(provider, searchExecutor);
+    private final RequestScope requests = new RequestScope();
+    private final PauseTransition typingPause = new PauseTransition(TYPING_DEBOUNCE);
     private final AtomicLong refreshToken = new AtomicLong();
+    private final VirtualTileGrid<ExploreControl.SearchItem, ExploreCard> grid = new VirtualTileGrid<>(
+            () -> new ExploreCard(this::openItem), ExploreCard.WIDTH, GRID_GAP, 2);
+
+    // Paging state for the query on screen; FX thread only.
+    private String shownQuery = "";
+    private ExploreControl.Kind shownKind = ExploreControl.Kind.ALL;
+    private app.controller.explore.ExploreDataProvider.Cursor nextPage;
+    // The load running now, and the one to restart if the view was left while it ran.
+    private Runnable loadInFlight;
+    private Runnable resumeOnReturn;
 
     private app.controller.explore.ExploreDataProvider selectProvider() {
         try {
@@ -76,12 +95,12 @@ public final class ExploreBoundary
             }
             if (System.getenv("EXPLORE_LIVE") != null) {
                 dbg("[ExploreBoundary] Mode=LIVE (forced by EXPLORE_LIVE)");
-                return new app.controller.explore.MergedExploreDataProvider();
+                return app.controller.explore.CachingExploreDataProvider.live();
             }
             // Default: prefer LIVE if DB is reachable
             if (canConnectToDb()) {
                 dbg("[ExploreBoundary] Mode=LIVE (default; DB reachable)");
-                return new app.controller.explore.MergedExploreDataProvider();
+                return app.controller.explore.CachingExploreDataProvider.live();
             } else {
                 dbg("[ExploreBoundary] Mode=MOCK (fallback; DB not reachable)");
                 return new app.controller.explore.MockExploreDataProvider();
@@ -122,42 +141,95 @@ public final class ExploreBoundary
     @FXML
     private void initialize() {
         dbg("[ExploreBoundary] init: searchField=" + searchField
-                + ", filterBox=" + filterBox + ", resultsPane=" + resultsPane);
+                + ", filterBox=" + filterBox + ", resultsHost=" + resultsHost);
 
         // Filters
         filterBox.getItems().setAll("All", "Artists", "Designs", "Completed Tattoos");
         filterBox.getSelectionModel().selectFirst();
 
-        // Listeners
-        searchField.textProperty().addListener((o, a, b) -> refreshResults());
-        filterBox.getSelectionModel().selectedItemProperty().addListener((o, a, b) -> refreshResults());
+        // Results grid: only rows in view get nodes, and cards are recycled while scrolling
+        grid.setPlaceholder(new Label("No results. Try a different search or filter."));
+        grid.setOnNearEnd(this::loadNextPage);
+        grid.setOnPrefetch(ExploreCard::prefetchAhead);
+        resultsHost.getChildren().setAll(grid.getNode());
+        resultsHost.sceneProperty().addListener((o, a, b) -> {
+            if (b != null) {
+                grid.forEachTile(ExploreCard::resume);
+                Runnable interrupted = resumeOnReturn;
+                resumeOnReturn = null;
+                if (interrupted != null) {
+                    interrupted.run();
+                }
+            }
+        });
+
+        // Listeners: typing waits for a pause, a filter change searches right away
+        typingPause.setOnFinished(e -> refreshResults());
+        searchField.textProperty().addListener((o, a, b) -> typingPause.playFromStart());
+        filterBox.getSelectionModel().selectedItemProperty().addListener((o, a, b) -> {
+            typingPause.stop();
+            refreshResults();
+        });
 
         // First draw
         refreshResults();
     }
 
     private void refreshResults() {
-        if (filterBox == null || searchField == null || resultsPane == null) {
+        if (filterBox == null || searchField == null || resultsHost == null) {
             return;
         }
         String rawQuery = (searchField.getText() == null ? "" : searchField.getText()).trim();
         String normalizedQuery = rawQuery.toLowerCase(Locale.ROOT);
         ExploreControl.Kind kind = selectedKind();
         long token = refreshToken.incrementAndGet();
+        grid.forEachTile(ExploreCard::suspend);
+        ExploreCard.prefetchAhead(Map.of());
+        nextPage = null;
+        loadInFlight = this::refreshResults;
+
+        // Starting a search cancels the previous one's JDBC statements, so stale queries never run to completion
+        onPage(search.search(normalizedQuery, kind), token, page -> {
+            shownQuery = normalizedQuery;
+            shownKind = kind;
+            nextPage = page.next();
+            loadInFlight = null;
+            grid.setAll(page.items());
+            dbg("[ExploreBoundary] results=" + page.items().size()
+                    + " filter=" + filterBox.getSelectionModel().getSelectedItem()
+                    + " q=\"" + normalizedQuery + "\"");
+        });
+    }
 
-        searchExecutor.submit(() -> {
-            List<ExploreControl.SearchItem> items;
-            try {
-                items = provider.fetch(normalizedQuery, kind);
-            } catch (Exception _) {
-                items = List.of();
+    /** Infinite scroll: appends the next page when the grid nears its last row. */
+    private void loadNextPage() {
+        if (loadInFlight != null || nextPage == null) {
+            return;
+        }
+        loadInFlight = this::loadNextPage;
+        long token = refreshToken.get();
+        onPage(search.nextPage(shownQuery, shownKind, nextPage), token, page -> {
+            nextPage = page.next();
+            loadInFlight = null;
+            grid.append(page.items());
+        });
+    }
+
+    /**
+     * Applies a page on the FX thread unless a newer search has started since.
+     * A cancelled search is dropped; any other failure shows as an empty page.
+     */
+    private void onPage(CompletableFuture<app.controller.explore.ExploreDataProvider.Page> future, long token,
+            Consumer<app.controller.explore.ExploreDataProvider.Page> apply) {
+        future.whenComplete((page, ex) -> {
+            if (ex != null && (ex instanceof CancellationException || ex.getCause() instanceof CancellationException)) {
+                return;
             }
-            List<ExploreControl.SearchItem> finalItems = items;
+            var result = ex == null ? page : new app.controller.explore.ExploreDataProvider.Page(List.of(), null);
             Platform.runLater(() -> {
-                if (refreshToken.get() != token || resultsPane == null) {
-                    return;
+                if (refreshToken.get() == token) {
+                    apply.accept(result);
                 }
-                applyResults(finalItems, normalizedQuery);
             });
         });
     }
@@ -175,106 +247,39 @@ public final class ExploreBoundary
         };
     }
 
-    private void applyResults(List<ExploreControl.SearchItem> items, String query) {
-        resultsPane.getChildren().setAll(
-                items.isEmpty()
-                        ? List.of(new Label("No results. Try a different search or filter."))
-                        : items.stream().map(this::card).toList());
-
-        dbg("[ExploreBoundary] results=" + items.size()
-                + " filter=" + filterBox.getSelectionModel().getSelectedItem()
-                + " q=\"" + query + "\"");
+    @Override
+    public void onLeave() {
+        resumeOnReturn = typingPause.getStatus() == Animation.Status.RUNNING ? this::refreshResults : loadInFlight;
+        typingPause.stop();
+        search.cancel();
+        requests.cancelAll();
+        loadInFlight = null;
+        grid.forEachTile(ExploreCard::suspend);
+        ExploreCard.prefetchAhead(Map.of());
     }
 
-    private Node card(ExploreControl.SearchItem item) {
-        ImageView iv = new ImageView();
-        loadThumbnail(iv, item.thumbnail());
-        iv.setFitWidth(220);
-        iv.setPreserveRatio(true);
-
-        Label overlay = new Label(item.hoverText());
-        overlay.setWrapText(true);
-        overlay.setStyle("""
-                -fx-background-color: rgba(0,0,0,0.7);
-                -fx-text-fill: white;
-                -fx-padding: 8;
-                -fx-font-size: 12px;
-                -fx-background-radius: 6;
-                -fx-opacity: 0;
-                -fx-alignment: center;
-                """);
-        overlay.setMaxWidth(220);
-
-        StackPane imageStack = new StackPane(iv, overlay);
-
-        Label title = new Label(item.title());
-        Label kind = new Label(switch (item.kind()) {
-            case ARTISTS -> "Artist";
-            case DESIGNS -> "Design";
-            case COMPLETED_TATTOOS -> "Completed Tattoo";
-            default -> "";
-        });
-        Label tags = new Label(String.join(" • ", item.tags()));
-        tags.setWrapText(true);
-
-        VBox box = new VBox(8, imageStack, title, kind, tags);
-        box.setPrefWidth(240);
-        box.setMinWidth(240);
-        box.setMaxWidth(240);
-        box.setStyle("-fx-padding:10; -fx-background-radius:12; -fx-background-color: rgba(255,255,255,0.05);");
-
-        FadeTransition fadeIn = new FadeTransition(Duration.millis(200), overlay);
-        fadeIn.setToValue(1.0);
-        FadeTransition fadeOut = new FadeTransition(Duration.millis(200), overlay);
-        fadeOut.setToValue(0.0);
-
-        box.setOnMouseEntered(e -> {
-            box.setScaleX(1.05);
-            box.setScaleY(1.05);
-            fadeIn.playFromStart();
-        });
-        box.setOnMouseExited(e -> {
-            box.setScaleX(1.0);
-            box.setScaleY(1.0);
-            fadeOut.playFromStart();
-        });
-
-        box.setOnMouseClicked(e -> {
-            switch (item.kind()) {
-                case DESIGNS -> {
-                    var save = new ButtonType("Save Locally");
-                    var send = new ButtonType("Send to Workspace");
-                    var cancel = ButtonType.CANCEL;
-
-                    var alert = new Alert(Alert.AlertType.CONFIRMATION);
-                    alert.setHeaderText("What do you want to do?");
-                    alert.setContentText("Design: " + item.title());
-                    alert.getButtonTypes().setAll(send, save, cancel);
-
-                    var choice = alert.showAndWait().orElse(cancel);
-                    if (choice == save) {
-                        saveImageToLocal(iv.getImage(), item.title());
-                    } else if (choice == send) {
-                        exportToWorkspace(iv.getImage(), item.title());
-                    }
+    private void openItem(ExploreControl.SearchItem item, Image image) {
+        switch (item.kind()) {
+            case DESIGNS -> {
+                var save = new ButtonType("Save Locally");
+                var send = new ButtonType("Send to Workspace");
+                var cancel = ButtonType.CANCEL;
+
+                var alert = new Alert(Alert.AlertType.CONFIRMATION);
+                alert.setHeaderText("What do you want to do?");
+                alert.setContentText("Design: " + item.title());
+                alert.getButtonTypes().setAll(send, save, cancel);
+
+                var choice = alert.showAndWait().orElse(cancel);
+                if (choice == save) {
+                    saveImageToLocal(image, item.title());
+                } else if (choice == send) {
+                    exportToWorkspace(image, item.title());
                 }
-                case COMPLETED_TATTOOS -> showCompletedTattooModal(item, iv.getImage());
-                case ARTISTS -> openArtistPage(item.title());
-                default -> dbg("[ExploreBoundary] clicked " + item.title());
             }
-        });
-
-        return box;
-    }
-
-    private void loadThumbnail(ImageView view, String rawThumb) {
-        if (view == null || rawThumb == null || rawThumb.isBlank()) {
-            return;
-        }
-        try {
-            view.setImage(ImageResolver.load(rawThumb, 220, 0, true, true));
-        } catch (IllegalArgumentException _) {
-            // Leave blank if the provided URL is invalid
+            case COMPLETED_TATTOOS -> showCompletedTattooModal(item, image);
+            case ARTISTS -> openArtistPage(item.title());
+            default -> dbg("[ExploreBoundary] clicked " + item.title());
         }
     }
 
@@ -325,7 +330,15 @@ public final class ExploreBoundary
     }
 
     private void openArtistPage(String artistName) {
-        app.entity.Profile profile = fetchProfile(artistName);
+        var lookup = requests.track(AsyncDatabase.getProfileByUsername(artistName));
+        lookup.whenCompleteAsync((profile, ex) -> {
+            if (!lookup.isCancelled()) {
+                showArtist(artistName, ex == null ? profile : null);
+            }
+        }, Platform::runLater);
+    }
+
+    private void showArtist(String artistName, app.entity.Profile profile) {
         if (profileRequest != null && profile != null) {
             profileRequest.accept(profile);
             return;
@@ -341,14 +354,6 @@ public final class ExploreBoundary
         showFallbackProfile(artistName, bio, photo);
     }
 
-    private app.entity.Profile fetchProfile(String artistName) {
-        try {
-            return app.entity.DatabaseConnector.getProfileByUsername(artistName);
-        } catch (Exception _) {
-            return null;
-        }
-    }
-
     private String resolvePhoto(app.entity.Profile profile) {
         if (profile != null && profile.getProfilePictureURL() != null && !profile.getProfilePictureURL().isBlank()) {
             return profile.getProfilePictureURL();
@@ -477,19 +482,17 @@ public final class ExploreBoundary
         // ----- avatar (top-right, SQUARE) -----
         String artistName = parseArtistTag(item.tags()).orElse("Unknown");
         ImageView avatar = new ImageView();
-        try {
-            app.entity.Profile p = app.entity.DatabaseConnector.getProfileByUsername(artistName);
-            String primary = (p == null) ? null : p.getProfilePictureURL();
-            avatar.setImage(ImageResolver.loadAny(56, 56, true, true, false,
-                    primary,
-                    DEFAULT_ARTIST_PHOTO));
-        } catch (Exception _) {
+        // The modal outlives the page, so this lookup is not tied to the page's requests
+        AsyncDatabase.getProfileByUsername(artistName).whenCompleteAsync((p, ex) -> {
+            String primary = (ex != null || p == null) ? null : p.getProfilePictureURL();
             try {
-                avatar.setImage(ImageResolver.load(DEFAULT_ARTIST_PHOTO, 56, 56, true, true));
+                avatar.setImage(ImageResolver.loadAny(56, 56, true, true, true,
+                        primary,
+                        DEFAULT_ARTIST_PHOTO));
             } catch (Exception _) {
                 // keep empty if fallback also fails
             }
-        }
+        }, Platform::runLater);
         avatar.setFitWidth(56);
         avatar.setFitHeight(56);
         avatar.setPreserveRatio(true);
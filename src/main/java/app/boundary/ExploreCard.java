@@ -0,0 +1,220 @@
+package app.boundary;
+
+import app.controller.explore.ExploreControl;
+import app.util.ImageResolver;
+import app.util.PrefetchScheduler;
+import javafx.animation.FadeTransition;
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import javafx.util.Duration;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * One recyclable Explore result card. The node tree is built once; {@link #bind}
+ * only swaps texts and the image. Thumbnails already decoded in memory show
+ * immediately; others show a placeholder while a prefetch request runs, and
+ * that request is cancelled when the card is rebound or scrolled away.
+ * Requests are prioritized by the card's row distance from the viewport, so
+ * visible cards load first and {@link #prefetchAhead} fills in the rows just
+ * past either edge after them.
+ */
+final class ExploreCard implements VirtualTileGrid.Tile<ExploreControl.SearchItem> {
+
+    static final double WIDTH = 240;
+    private static final double IMAGE_WIDTH = 220;
+    private static final double PLACEHOLDER_HEIGHT = 165;
+
+    private static final PrefetchScheduler<Image> THUMBNAILS = new PrefetchScheduler<>(
+            "explore-thumbs", 4, ExploreCard::decodeThumbnail, Platform::runLater);
+    private static final Map<String, PrefetchScheduler<Image>.Ticket> AHEAD = new HashMap<>();
+    private static Image placeholder;
+
+    private final VBox box;
+    private final ImageView imageView = new ImageView();
+    private final Label overlay = new Label();
+    private final Label title = new Label();
+    private final Label kind = new Label();
+    private final Label tags = new Label();
+    private ExploreControl.SearchItem item;
+    private PrefetchScheduler<Image>.Ticket ticket;
+    private int priority;
+    private boolean loaded;
+
+    ExploreCard(BiConsumer<ExploreControl.SearchItem, Image> onOpen) {
+        imageView.setFitWidth(IMAGE_WIDTH);
+        imageView.setPreserveRatio(true);
+
+        overlay.setWrapText(true);
+        overlay.setStyle("""
+                -fx-background-color: rgba(0,0,0,0.7);
+                -fx-text-fill: white;
+                -fx-padding: 8;
+                -fx-font-size: 12px;
+                -fx-background-radius: 6;
+                -fx-opacity: 0;
+                -fx-alignment: center;
+                """);
+        overlay.setMaxWidth(IMAGE_WIDTH);
+
+        StackPane imageStack = new StackPane(imageView, overlay);
+        tags.setWrapText(true);
+
+        box = new VBox(8, imageStack, title, kind, tags);
+        box.setPrefWidth(WIDTH);
+        box.setMinWidth(WIDTH);
+        box.setMaxWidth(WIDTH);
+        box.setStyle("-fx-padding:10; -fx-background-radius:12; -fx-background-color: rgba(255,255,255,0.05);");
+
+        FadeTransition fadeIn = new FadeTransition(Duration.millis(200), overlay);
+        fadeIn.setToValue(1.0);
+        FadeTransition fadeOut = new FadeTransition(Duration.millis(200), overlay);
+        fadeOut.setToValue(0.0);
+
+        box.setOnMouseEntered(e -> {
+            box.setScaleX(1.05);
+            box.setScaleY(1.05);
+            fadeIn.playFromStart();
+        });
+        box.setOnMouseExited(e -> {
+            box.setScaleX(1.0);
+            box.setScaleY(1.0);
+            fadeOut.playFromStart();
+        });
+        box.setOnMouseClicked(e -> {
+            if (item != null) {
+                onOpen.accept(item, loaded ? imageView.getImage() : null);
+            }
+        });
+    }
+
+    @Override
+    public Node node() {
+        return box;
+    }
+
+    @Override
+    public void bind(ExploreControl.SearchItem next) {
+        if (next == item) {
+            resume();
+            return;
+        }
+        unbind();
+        item = next;
+        overlay.setText(next.hoverText());
+        title.setText(next.title());
+        kind.setText(switch (next.kind()) {
+            case ARTISTS -> "Artist";
+            case DESIGNS -> "Design";
+            case COMPLETED_TATTOOS -> "Completed Tattoo";
+            default -> "";
+        });
+        tags.setText(String.join(" • ", next.tags()));
+        imageView.setImage(placeholder());
+        resume();
+    }
+
+    @Override
+    public void unbind() {
+        suspend();
+        item = null;
+        loaded = false;
+    }
+
+    @Override
+    public void prioritize(int distance) {
+        priority = distance;
+        if (ticket != null) {
+            ticket.reprioritize(distance);
+        }
+    }
+
+    /** Cancels a pending thumbnail load but keeps the card's content. */
+    void suspend() {
+        if (ticket != null) {
+            ticket.cancel();
+            ticket = null;
+        }
+    }
+
+    /** Requests the thumbnail again if the card is bound and still shows the placeholder. */
+    void resume() {
+        if (item == null || loaded || ticket != null) {
+            return;
+        }
+        String url = item.thumbnail();
+        if (url == null || url.isBlank()) {
+            return;
+        }
+        Image cached = ImageResolver.peek(url, IMAGE_WIDTH, 0, true, true);
+        if (cached != null && !cached.isError()) {
+            show(cached);
+            return;
+        }
+        ticket = THUMBNAILS.request(url, priority, this::show);
+    }
+
+    /**
+     * Warms the thumbnail cache for items near the viewport, keyed to their row
+     * distance. Earlier warm-ups for items no longer listed are cancelled.
+     */
+    static void prefetchAhead(Map<ExploreControl.SearchItem, Integer> items) {
+        Map<String, Integer> wanted = new HashMap<>();
+        items.forEach((item, distance) -> {
+            String url = item.thumbnail();
+            if (url != null && !url.isBlank() && ImageResolver.peek(url, IMAGE_WIDTH, 0, true, true) == null) {
+                wanted.merge(url, distance, Math::min);
+            }
+        });
+        AHEAD.values().removeIf(t -> {
+            if (wanted.containsKey(t.key())) {
+                return false;
+            }
+            t.cancel();
+            return true;
+        });
+        wanted.forEach((url, distance) -> {
+            PrefetchScheduler<Image>.Ticket existing = AHEAD.get(url);
+            if (existing != null) {
+                existing.reprioritize(distance);
+            } else {
+                AHEAD.put(url, THUMBNAILS.request(url, distance, image -> { }));
+            }
+        });
+    }
+
+    private void show(Image image) {
+        ticket = null;
+        loaded = true;
+        imageView.setImage(image);
+    }
+
+    // Runs on a prefetch worker, so the decode never blocks the FX thread.
+    private static Image decodeThumbnail(String rawThumb) {
+        Image image = ImageResolver.load(rawThumb, IMAGE_WIDTH, 0, true, true);
+        return image.isError() ? null : image;
+    }
+
+    private static Image placeholder() {
+        if (placeholder == null) {
+            WritableImage img = new WritableImage((int) IMAGE_WIDTH, (int) PLACEHOLDER_HEIGHT);
+            PixelWriter writer = img.getPixelWriter();
+            for (int y = 0; y < PLACEHOLDER_HEIGHT; y++) {
+                for (int x = 0; x < IMAGE_WIDTH; x++) {
+                    writer.setArgb(x, y, 0xFF2A2A2A);
+                }
+            }
+            placeholder = img;
+        }
+        return placeholder;
+    }
+}
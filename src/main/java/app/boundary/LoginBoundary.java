@@ -2,6 +2,7 @@ package app.boundary;
 
 import app.controller.LoginController;
 import app.controller.RootController;
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
@@ -9,7 +10,6 @@ import javafx.scene.control.Label;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextField;
 
-import java.sql.SQLException;
 import java.util.function.Consumer;
 
 public class LoginBoundary implements RootController.PageAware {
@@ -49,19 +49,24 @@ public class LoginBoundary implements RootController.PageAware {
             return;
         }
 
-        try {
-            boolean success = LoginController.verifyUser(username, password);
-            if (success) {
+        setLoginDisabled(true);
+        LoginController.verifyUserAsync(username, password).whenCompleteAsync((success, ex) -> {
+            setLoginDisabled(false);
+            if (ex == null && success) {
                 if (onPageRequest != null) {
                     onPageRequest.accept("workspace");
                 }
             } else if (errorLabel != null) {
-                errorLabel.setText("Incorrect username or password");
-            }
-        } catch (SQLException _) {
-            if (errorLabel != null) {
-                errorLabel.setText("Unable to log in right now. Please try again.");
+                errorLabel.setText(ex == null
+                        ? "Incorrect username or password"
+                        : "Unable to log in right now. Please try again.");
             }
+        }, Platform::runLater);
+    }
+
+    private void setLoginDisabled(boolean disabled) {
+        if (loginButton != null) {
+            loginButton.setDisable(disabled);
         }
     }
 
@@ -1,9 +1,12 @@
 package app.boundary;
 
+import app.db.RequestScope;
+import app.entity.AsyncDatabase;
 import app.entity.DatabaseConnector;
 import app.entity.LoggedInAccount;
 import app.entity.Profile;
 import app.util.ImageResolver;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Label;
@@ -14,8 +17,9 @@ import javafx.scene.image.Image;
 import javafx.scene.paint.ImagePattern;
 import javafx.scene.shape.Circle;
 import javafx.stage.Stage;
+import javafx.stage.WindowEvent;
 
-import java.sql.SQLException;
+import java.util.concurrent.CompletionException;
 
 public final class PostReviewBoundary {
 
@@ -40,6 +44,7 @@ public final class PostReviewBoundary {
     private Stage dialogStage;
     private String selectedImageUrl;
     private Runnable onReviewPosted;
+    private final RequestScope requests = new RequestScope();
 
     @FXML
     private void initialize() {
@@ -80,6 +85,8 @@ public final class PostReviewBoundary {
 
     public void setDialogStage(Stage stage) {
         this.dialogStage = stage;
+        // Closing the dialog drops the result of a review that is still being posted.
+        stage.addEventHandler(WindowEvent.WINDOW_HIDDEN, e -> requests.cancelAll());
     }
 
     public void setOnReviewPosted(Runnable callback) {
@@ -132,13 +139,23 @@ public final class PostReviewBoundary {
 
         String photoPath = (selectedImageUrl != null && !selectedImageUrl.isBlank()) ? selectedImageUrl : null;
 
-        try {
-            DatabaseConnector.submitReview(
-                    LoggedInAccount.getInstance().getAccountId(),
-                    profile.getAccountId(),
-                    photoPath,
-                    text.trim(),
-                    rating);
+        if (requests.pendingCount() > 0) {
+            return;
+        }
+        int reviewerId = LoggedInAccount.getInstance().getAccountId();
+        int revieweeId = profile.getAccountId();
+        int stars = rating;
+        var post = requests.track(AsyncDatabase.submit(
+                () -> DatabaseConnector.submitReview(reviewerId, revieweeId, photoPath, text.trim(), stars)));
+        post.whenCompleteAsync((review, ex) -> {
+            if (post.isCancelled()) {
+                return;
+            }
+            if (ex != null) {
+                Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                alert(Alert.AlertType.ERROR, "Failed to post review", cause.getMessage());
+                return;
+            }
             alert(Alert.AlertType.INFORMATION, "Review posted", "Thank you for sharing your experience!");
             if (onReviewPosted != null) {
                 onReviewPosted.run();
@@ -146,9 +163,7 @@ public final class PostReviewBoundary {
             if (dialogStage != null) {
                 dialogStage.close();
             }
-        } catch (SQLException ex) {
-            alert(Alert.AlertType.ERROR, "Failed to post review", ex.getMessage());
-        }
+        }, Platform::runLater);
     }
 
     private void alert(Alert.AlertType type, String title, String message) {
@@ -1,19 +1,23 @@
 package app.boundary;
 
+import app.db.RequestScope;
+import app.entity.AsyncDatabase;
 import app.entity.DatabaseConnector;
 import app.controller.LoginController;
 import app.controller.RootController;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.CheckBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextField;
 
+import java.util.concurrent.CompletionException;
 import java.util.function.Consumer;
 
 import java.sql.*;
 
-public class RegisterBoundary implements RootController.PageAware {
+public class RegisterBoundary implements RootController.PageAware, RootController.LeaveAware {
     @FXML
     private TextField usernameField;
     @FXML
@@ -26,6 +30,7 @@ public class RegisterBoundary implements RootController.PageAware {
     private CheckBox artistProfile;
 
     private Consumer<String> onPageRequest;
+    private final RequestScope requests = new RequestScope();
 
     @FXML
     public void initialize() {
@@ -42,31 +47,46 @@ public class RegisterBoundary implements RootController.PageAware {
             errorLabel.setText("Passwords do not match");
             return;
         }
-        try {
-            boolean isArtist = artistProfile.isSelected();
-            String username = usernameField.getText();
-            String password = passwordField.getText();
+        if (requests.pendingCount() > 0) {
+            return;
+        }
+        boolean isArtist = artistProfile.isSelected();
+        String username = usernameField.getText();
+        String password = passwordField.getText();
+        var create = requests.track(AsyncDatabase.submit(() -> {
             DatabaseConnector.createUser(username, password, isArtist);
-            errorLabel.setText("Account created successfully");
-            Thread.sleep(1000); // Pause for a moment to show success message
-            boolean success = LoginController.verifyUser(username, password);
-            if (success) {
+            return null;
+        }));
+        create.whenCompleteAsync((v, ex) -> {
+            if (create.isCancelled()) {
+                return;
+            }
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            if (cause instanceof SQLIntegrityConstraintViolationException) {
+                errorLabel.setText("Username already taken");
+            } else if (cause != null) {
+                errorLabel.setText("Unable to create account. Please try again.");
+            } else {
+                errorLabel.setText("Account created successfully");
+                signIn(username, password);
+            }
+        }, Platform::runLater);
+    }
+
+    private void signIn(String username, String password) {
+        var verify = requests.track(LoginController.verifyUserAsync(username, password));
+        verify.whenCompleteAsync((success, ex) -> {
+            if (verify.isCancelled()) {
+                return;
+            }
+            if (ex == null && success) {
                 if (onPageRequest != null) {
                     onPageRequest.accept("workspace");
                 }
             } else if (errorLabel != null) {
                 errorLabel.setText("Unable to sign in after registration");
             }
-        }
-        catch (SQLIntegrityConstraintViolationException _) {
-            errorLabel.setText("Username already taken");
-        }
-        catch (SQLException _) {
-            errorLabel.setText("Unable to create account. Please try again.");
-        }
-        catch (InterruptedException _) {
-            Thread.currentThread().interrupt();
-        }
+        }, Platform::runLater);
     }
 
     @FXML
@@ -80,4 +100,9 @@ public class RegisterBoundary implements RootController.PageAware {
     public void setOnPageRequest(Consumer<String> pageRequestHandler) {
         this.onPageRequest = pageRequestHandler;
     }
+
+    @Override
+    public void onLeave() {
+        requests.cancelAll();
+    }
 }
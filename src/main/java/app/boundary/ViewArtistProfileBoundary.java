@@ -1,9 +1,11 @@
 package app.boundary;
 
 import app.controller.RootController;
-import app.entity.DatabaseConnector;
+import app.db.RequestScope;
+import app.entity.AsyncDatabase;
 import app.entity.Profile;
 import app.entity.Review;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -16,11 +18,13 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 
 import java.io.IOException;
-import java.sql.SQLException;
 import java.util.List;
+import java.util.function.Consumer;
 
-public class ViewArtistProfileBoundary extends BaseProfileBoundary implements RootController.PageAware {
+public class ViewArtistProfileBoundary extends BaseProfileBoundary
+        implements RootController.PageAware, RootController.LeaveAware {
 
+    private final RequestScope requests = new RequestScope();
     private List<Review> reviews = List.of();
 
     @FXML
@@ -48,14 +52,19 @@ public class ViewArtistProfileBoundary extends BaseProfileBoundary implements Ro
         this.pageRequest = handler;
     }
 
+    @Override
+    public void onLeave() {
+        requests.cancelAll();
+    }
+
     @FXML
     public void setProfile(Profile profile) {
-        try {
-            this.profile = DatabaseConnector.getFullProfile(profile);
-            loadProfile();
-        } catch (SQLException _) {
-            // Leave boundary empty if profile lookup fails.
-        }
+        // Leave boundary empty if profile lookup fails.
+        requests.track(AsyncDatabase.getFullProfile(profile))
+                .thenAcceptAsync(full -> {
+                    this.profile = full;
+                    loadProfile();
+                }, Platform::runLater);
     }
 
     private void loadProfile() {
@@ -65,15 +74,23 @@ public class ViewArtistProfileBoundary extends BaseProfileBoundary implements Ro
     }
 
     private void refreshReviews() {
+        refreshReviews(_ -> {
+        });
+    }
+
+    private void refreshReviews(Consumer<List<Review>> then) {
         if (profile == null) {
             return;
         }
-        try {
-            reviews = DatabaseConnector.loadReviews(profile.getAccountId());
-        } catch (SQLException _) {
-            reviews = List.of();
-        }
-        updateAverageRating();
+        var load = requests.track(AsyncDatabase.loadReviews(profile.getAccountId()));
+        load.whenCompleteAsync((loaded, ex) -> {
+            if (load.isCancelled()) {
+                return;
+            }
+            reviews = ex == null ? loaded : List.of();
+            updateAverageRating();
+            then.accept(reviews);
+        }, Platform::runLater);
     }
 
     private void updateAverageRating() {
@@ -115,12 +132,15 @@ public class ViewArtistProfileBoundary extends BaseProfileBoundary implements Ro
         if (profile == null) {
             return;
         }
-        refreshReviews();
+        refreshReviews(this::showReviewsDialog);
+    }
+
+    private void showReviewsDialog(List<Review> loaded) {
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/app/view/ReviewsDialog.fxml"));
             Parent root = loader.load();
             ReviewsDialogBoundary dialogController = loader.getController();
-            dialogController.setData(profile, reviews);
+            dialogController.setData(profile, loaded);
 
             Stage stage = new Stage();
             stage.setTitle("Reviews - @" + profile.getUsername());
@@ -0,0 +1,266 @@
+package app.boundary;
+
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.scene.Node;
+import javafx.scene.control.Control;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.skin.VirtualFlow;
+import javafx.scene.layout.HBox;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Tile grid on top of a {@link ListView}, so only the rows in view have nodes.
+ * Each list item is a row marker; row cells own a fixed set of tiles that are
+ * rebound to new items as the user scrolls instead of being rebuilt. The column
+ * count follows the control's width. When a row within {@code prefetchRows}
+ * of the end is shown, {@code onNearEnd} fires once per data size so the
+ * caller can append the next page.
+ * <p>
+ * After every scroll or rebind, each bound tile is told its distance in rows
+ * from the visible range (0 when on screen), and the items in the
+ * {@code prefetchRows} rows past either edge are handed to {@code onPrefetch}
+ * with theirs, so loads can be ordered viewport first.
+ */
+public final class VirtualTileGrid<T, C extends VirtualTileGrid.Tile<T>> {
+
+    /** A reusable cell body; {@link #bind} may be called many times with different items. */
+    public interface Tile<T> {
+        Node node();
+
+        void bind(T item);
+
+        void unbind();
+
+        /** Rows between this tile and the visible range; called again whenever that changes. */
+        default void prioritize(int distance) {
+        }
+    }
+
+    // Compared by identity, so replacing a marker makes the ListView rebind that row.
+    private static final class Row {
+        private final int index;
+
+        private Row(int index) {
+            this.index = index;
+        }
+    }
+
+    private static final double SCROLLBAR_ALLOWANCE = 18;
+
+    private final ListView<Row> list = new ListView<>();
+    private final List<T> data = new ArrayList<>();
+    private final List<C> tiles = new ArrayList<>();
+    private final List<RowCell> cells = new ArrayList<>();
+    private final Supplier<C> tileFactory;
+    private final double tileWidth;
+    private final double gap;
+    private final int prefetchRows;
+    private int columns = 1;
+    private int nearEndFiredAt = -1;
+    private Runnable onNearEnd = () -> { };
+    private Consumer<Map<T, Integer>> onPrefetch = items -> { };
+    private VirtualFlow<?> flow;
+    private boolean prioritizePending;
+
+    public VirtualTileGrid(Supplier<C> tileFactory, double tileWidth, double gap, int prefetchRows) {
+        this.tileFactory = tileFactory;
+        this.tileWidth = tileWidth;
+        this.gap = gap;
+        this.prefetchRows = prefetchRows;
+        list.setCellFactory(v -> new RowCell());
+        list.setFocusTraversable(false);
+        list.setStyle("-fx-background-color: transparent; -fx-padding: 12;");
+        list.widthProperty().addListener((o, a, b) -> updateColumns());
+        list.heightProperty().addListener((o, a, b) -> schedulePrioritize());
+        list.skinProperty().addListener((o, a, b) -> {
+            flow = (VirtualFlow<?>) list.lookup(".virtual-flow");
+            if (flow != null) {
+                flow.positionProperty().addListener((p, before, after) -> schedulePrioritize());
+            }
+        });
+    }
+
+    public Control getNode() {
+        return list;
+    }
+
+    public void setOnNearEnd(Runnable handler) {
+        this.onNearEnd = handler == null ? () -> { } : handler;
+    }
+
+    /** Receives the off-screen items worth loading ahead, keyed to their row distance; empty when none. */
+    public void setOnPrefetch(Consumer<Map<T, Integer>> handler) {
+        this.onPrefetch = handler == null ? items -> { } : handler;
+    }
+
+    public void setPlaceholder(Node placeholder) {
+        list.setPlaceholder(placeholder);
+    }
+
+    /** Replaces the contents and scrolls back to the top. */
+    public void setAll(Collection<? extends T> items) {
+        data.clear();
+        data.addAll(items);
+        nearEndFiredAt = -1;
+        rebuildRows();
+        list.scrollTo(0);
+    }
+
+    /** Appends items without disturbing the scroll position. */
+    public void append(Collection<? extends T> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        int before = data.size();
+        data.addAll(items);
+        List<Row> rows = list.getItems();
+        if (before % columns != 0 && !rows.isEmpty()) {
+            // The old last row was partly filled; give it a new marker so it picks up the new items.
+            rows.set(rows.size() - 1, new Row(rows.size() - 1));
+        }
+        for (int r = rows.size(); r < rowCount(); r++) {
+            rows.add(new Row(r));
+        }
+    }
+
+    public int size() {
+        return data.size();
+    }
+
+    /** Every tile created so far, bound or not. */
+    public void forEachTile(Consumer<? super C> action) {
+        tiles.forEach(action);
+    }
+
+    private void updateColumns() {
+        double usable = list.getWidth() - list.getInsets().getLeft() - list.getInsets().getRight()
+                - SCROLLBAR_ALLOWANCE;
+        int fit = Math.max(1, (int) Math.floor((usable + gap) / (tileWidth + gap)));
+        if (fit != columns) {
+            columns = fit;
+            rebuildRows();
+        }
+    }
+
+    private int rowCount() {
+        return (data.size() + columns - 1) / columns;
+    }
+
+    // Fresh markers for every row; existing cells are reused and rebound, not recreated.
+    private void rebuildRows() {
+        List<Row> rows = new ArrayList<>(rowCount());
+        for (int r = 0; r < rowCount(); r++) {
+            rows.add(new Row(r));
+        }
+        list.getItems().setAll(rows);
+    }
+
+    // Coalesces the scroll and rebind notifications of one pulse; runs after the flow has laid out its cells.
+    private void schedulePrioritize() {
+        if (!prioritizePending) {
+            prioritizePending = true;
+            Platform.runLater(this::prioritize);
+        }
+    }
+
+    private void prioritize() {
+        prioritizePending = false;
+        if (flow == null || flow.getFirstVisibleCell() == null) {
+            return;
+        }
+        int first = flow.getFirstVisibleCell().getIndex();
+        int last = flow.getLastVisibleCell().getIndex();
+        for (RowCell cell : cells) {
+            if (cell.bound >= 0) {
+                int distance = distance(cell.bound, first, last);
+                for (int i = 0; i < cell.count; i++) {
+                    cell.own.get(i).prioritize(distance);
+                }
+            }
+        }
+        Map<T, Integer> ahead = new LinkedHashMap<>();
+        for (int d = 1; d <= prefetchRows; d++) {
+            addRow(ahead, last + d, d);
+            addRow(ahead, first - d, d);
+        }
+        onPrefetch.accept(ahead);
+    }
+
+    private void addRow(Map<T, Integer> ahead, int row, int distance) {
+        int start = row * columns;
+        if (row < 0 || start >= data.size()) {
+            return;
+        }
+        for (int i = start; i < Math.min(start + columns, data.size()); i++) {
+            ahead.putIfAbsent(data.get(i), distance);
+        }
+    }
+
+    private static int distance(int row, int first, int last) {
+        return row < first ? first - row : Math.max(0, row - last);
+    }
+
+    private void maybeFireNearEnd(int row) {
+        int rows = list.getItems().size();
+        if (row >= rows - 1 - prefetchRows && nearEndFiredAt != data.size()) {
+            nearEndFiredAt = data.size();
+            onNearEnd.run();
+        }
+    }
+
+    private final class RowCell extends ListCell<Row> {
+        private final HBox box = new HBox(gap);
+        private final List<C> own = new ArrayList<>();
+        private int bound = -1;
+        private int count;
+
+        RowCell() {
+            cells.add(this);
+            box.setPadding(new Insets(0, 0, gap, 0));
+            setStyle("-fx-background-color: transparent; -fx-padding: 0;");
+        }
+
+        @Override
+        protected void updateItem(Row row, boolean empty) {
+            super.updateItem(row, empty);
+            if (empty || row == null) {
+                bound = -1;
+                count = 0;
+                own.forEach(Tile::unbind);
+                setGraphic(null);
+                return;
+            }
+            int start = row.index * columns;
+            bound = row.index;
+            count = Math.max(0, Math.min(columns, data.size() - start));
+            while (own.size() < count) {
+                C tile = tileFactory.get();
+                own.add(tile);
+                tiles.add(tile);
+            }
+            List<Node> children = new ArrayList<>(count);
+            for (int i = 0; i < own.size(); i++) {
+                C tile = own.get(i);
+                if (i < count) {
+                    tile.bind(data.get(start + i));
+                    children.add(tile.node());
+                } else {
+                    tile.unbind();
+                }
+            }
+            box.getChildren().setAll(children);
+            setGraphic(box);
+            maybeFireNearEnd(row.index);
+            schedulePrioritize();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package app.controller;
 import java.sql.*;
+import java.util.concurrent.CompletableFuture;
 
 import app.entity.*;
 
@@ -21,6 +22,11 @@ public class LoginController {
         return false;
     }
 
+    /** {@link #verifyUser} off the calling thread; completes on a background thread. */
+    public static CompletableFuture<Boolean> verifyUserAsync(String username, String password) {
+        return AsyncDatabase.submit(() -> verifyUser(username, password));
+    }
+
     public static void logout() {
         LoggedInAccount.setInstance(null);
         LoggedInProfile.setInstance(null);
@@ -1,8 +1,12 @@
 package app.controller;
 
 import java.util.function.Consumer;
+import javafx.application.Platform;
 import javafx.concurrent.Task;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -10,8 +14,10 @@ import app.entity.Profile;
 import com.gluonhq.maps.MapPoint;
 import com.gluonhq.maps.MapView;
 
+import app.controller.RootController.LeaveAware;
 import app.controller.RootController.PageAware;
 import app.controller.RootController.ProfileAware;
+import app.db.RequestScope;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
@@ -29,7 +35,7 @@ import javafx.util.Pair;
 import java.util.LinkedList;
 
 import app.entity.ProfileCell;
-import app.entity.DatabaseConnector;
+import app.entity.AsyncDatabase;
 
 import java.io.InputStreamReader;
 import java.io.BufferedReader;
@@ -38,9 +44,13 @@ import java.net.URL;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
-public class MapController implements PageAware, ProfileAware {
+public class MapController implements PageAware, ProfileAware, LeaveAware {
     private static final Logger LOGGER = LoggerFactory.getLogger(MapController.class);
     public static final String TASK_FAILED_STRING = "Task failed with an exception.";
+    // Define a search radius maybe slider later
+    private static final double CITY_SEARCH_RADIUS_KM = 50.0;
+    private static final int CITY_SEARCH_LIMIT = 200;
+    private static final ExecutorService GEOCODER = Executors.newVirtualThreadPerTaskExecutor();
 
     @FXML
     private TextField searchField;
@@ -59,6 +69,7 @@ public class MapController implements PageAware, ProfileAware {
 
     private Consumer<String> onPageRequest;
     private Consumer<Profile> profileRequest;
+    private final RequestScope requests = new RequestScope();
 
     public void setOnPageRequest(Consumer<String> handler) {
         this.onPageRequest = handler;
@@ -69,6 +80,11 @@ public class MapController implements PageAware, ProfileAware {
         this.profileRequest = provider;
     }
 
+    @Override
+    public void onLeave() {
+        requests.cancelAll();
+    }
+
     @FXML
     public void initialize() {
         map = new MapView();
@@ -108,20 +124,32 @@ public class MapController implements PageAware, ProfileAware {
         if (query == null || query.trim().isEmpty()) {
             return;
         }
-        if (query.charAt(0) == '@') {
-            usernameSearch(query.substring(1).trim());
-        }
-        populateMapAsync();
-        boolean foundCity = citySearch(query);
-        if (!foundCity) {
-            usernameSearch(query);
-            populateMapAsync();
-        } else {
-            populateMapAsync();
-        }
-        if (allResults == null || allResults.isEmpty())
+        // A newer search supersedes whatever is still running.
+        requests.cancelAll();
+        CompletableFuture<List<Profile>> search = query.charAt(0) == '@'
+                ? usernameSearch(query.substring(1).trim())
+                : citySearch(query).thenCompose(found -> found.isEmpty()
+                        ? usernameSearch(query)
+                        : CompletableFuture.completedFuture(found));
+        requests.track(search).whenCompleteAsync((profiles, ex) -> {
+            if (search.isCancelled()) {
+                return;
+            }
+            if (ex != null) {
+                LOGGER.debug(TASK_FAILED_STRING, ex);
+                return;
+            }
+            showResults(profiles);
+        }, Platform::runLater);
+    }
+
+    private void showResults(List<Profile> profiles) {
+        if (profiles.isEmpty()) {
             return;
+        }
+        allResults = new LinkedList<>(profiles);
         resultsList.getItems().setAll(allResults);
+        populateMapAsync();
     }
 
     private void populateMapAsync() {
@@ -218,38 +246,22 @@ public class MapController implements PageAware, ProfileAware {
         layers.clear();
     }
 
-    private boolean citySearch(String query) {
-        try {// Geocode city name
-
-            Pair<Double, Double> center = geocodeCity(query.trim());
-            if (center == null) {
-                return false;
-            }
-
-            double lat = center.getKey();
-            double lon = center.getValue();
-
-            // Define a search radius maybe slider later
-            double radius = 0.5;
-            double latFrom = lat - radius;
-            double latTo = lat + radius;
-            double lonFrom = lon - radius;
-            double lonTo = lon + radius;
-
-            // Query database for users within bounds
-            List<Profile> profiles = DatabaseConnector.getProfilesWithinBounds(latFrom, latTo, lonFrom, lonTo);
-            // ui update
-            if (profiles != null && !profiles.isEmpty()) {
-                // add style fitler logic here
-                allResults = new LinkedList<>(profiles);
-            } else {
-                return false;
-            }
-
-        } catch (Exception e) {
-            LOGGER.debug(TASK_FAILED_STRING, e);
-        }
-        return false;
+    private CompletableFuture<List<Profile>> citySearch(String query) {
+        // Geocode city name
+        return CompletableFuture.supplyAsync(() -> geocodeCity(query.trim()), GEOCODER)
+                .thenCompose(center -> {
+                    if (center == null) {
+                        return CompletableFuture.completedFuture(List.<Profile>of());
+                    }
+                    // Query database for artists around the city, nearest first
+                    // add style fitler logic here
+                    return requests.track(AsyncDatabase.getProfilesNear(center.getKey(), center.getValue(),
+                            CITY_SEARCH_RADIUS_KM, CITY_SEARCH_LIMIT));
+                })
+                .exceptionally(ex -> {
+                    LOGGER.debug(TASK_FAILED_STRING, ex);
+                    return List.of();
+                });
     }
 
     private Pair<Double, Double> geocodeCity(String city) {
@@ -280,21 +292,14 @@ public class MapController implements PageAware, ProfileAware {
         return null;
     }
 
-    private void usernameSearch(String query) {
-        try {
-            // Fetch all profiles whose usernames partially match the query
-            Profile profile = DatabaseConnector.getProfileByUsername(query.trim());
-
-            if (profile != null) {
-                allResults = new LinkedList<>();
-                allResults.add(profile);
-            } else {
+    private CompletableFuture<List<Profile>> usernameSearch(String query) {
+        return requests.track(AsyncDatabase.getProfileByUsername(query.trim())).thenApply(profile -> {
+            if (profile == null) {
                 LOGGER.info("No matching profiles found.");
+                return List.of();
             }
-
-        } catch (Exception e) {
-            LOGGER.debug(TASK_FAILED_STRING, e);
-        }
+            return List.of(profile);
+        });
     }
 
     @FXML
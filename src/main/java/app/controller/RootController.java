@@ -47,6 +47,7 @@ public class RootController {
             "postReview", "/app/view/PostReview.fxml",
             "register", "/app/view/Register.fxml");
     private static final Set<String> DATABASE_PAGES = Set.of("map", "explore");
+    private static final String CONTROLLER_PROPERTY = "tattui.controller";
 
     public RootController() {
         // Default constructor required for JavaFX FXML loader.
@@ -68,6 +69,11 @@ public class RootController {
         void setEditArtistProfileProvider(Consumer<Profile> provider);
     }
 
+    /** Notified when its page is replaced, e.g. to cancel queries still in flight. */
+    public interface LeaveAware {
+        void onLeave();
+    }
+
     // --- Initialization ---
 
     @FXML
@@ -122,6 +128,7 @@ public class RootController {
         taskbarContainer.setVisible(showTaskbar);
         taskbarContainer.setManaged(showTaskbar);
 
+        notifyLeaving(view);
         attachContent(workspaceContainer, view);
         // weird workspace specific issue to be fixed
         if (WORKSPACE_PAGE.equals(key) && workspaceController != null)
@@ -139,6 +146,7 @@ public class RootController {
             Parent view = loader.load();
 
             Object cntrl = loader.getController();
+            view.getProperties().put(CONTROLLER_PROPERTY, cntrl);
             if (cntrl instanceof PageAware aware)
                 aware.setOnPageRequest(this::showPage);
             if (cntrl instanceof ProfileAware aware) {
@@ -168,6 +176,14 @@ public class RootController {
         }
     }
 
+    private void notifyLeaving(Parent next) {
+        for (Node current : workspaceContainer.getChildren()) {
+            if (current != next && current.getProperties().get(CONTROLLER_PROPERTY) instanceof LeaveAware aware) {
+                aware.onLeave();
+            }
+        }
+    }
+
     // --- Stage helpers ---
 
     private void notifyWorkspaceStage(Stage s) {
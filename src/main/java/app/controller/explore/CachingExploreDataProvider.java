@@ -0,0 +1,117 @@
+package app.controller.explore;
+
+import app.db.QueryCancellation;
+import app.entity.DatabaseConnector;
+import app.util.WeightedLruCache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps recent Explore pages in memory so reopening the page or toggling the
+ * filter back does not query SQLite again. Entries are keyed by normalized
+ * query, kind and cursor, live for a fixed time, and are bounded in number
+ * (least recently used go first). Pages are dropped as soon as a write could
+ * have changed them: new posts drop completed-tattoo pages, new designs drop
+ * design pages, profile changes drop artist pages, and every write drops the
+ * mixed ALL pages. Partial and cancelled pages are never cached.
+ * <p>
+ * Only {@link #fetchPage} is cached; {@link #fetch} passes straight through.
+ */
+public final class CachingExploreDataProvider implements ExploreDataProvider {
+
+    private static final int DEFAULT_MAX_ENTRIES = Integer.getInteger("tattui.explore.cacheEntries", 256);
+    private static final Duration DEFAULT_TTL =
+            Duration.ofMillis(Long.getLong("tattui.explore.cacheTtlMs", 60_000));
+
+    private record Key(String query, ExploreControl.Kind kind, Cursor cursor) {
+    }
+
+    private record Entry(Page page, long expiresAt) {
+    }
+
+    private static final class Live {
+        static final CachingExploreDataProvider INSTANCE = create();
+
+        private static CachingExploreDataProvider create() {
+            var cache = new CachingExploreDataProvider(new MergedExploreDataProvider(), DEFAULT_MAX_ENTRIES,
+                    DEFAULT_TTL, System::nanoTime);
+            DatabaseConnector.addChangeListener(cache::invalidate);
+            return cache;
+        }
+    }
+
+    private final ExploreDataProvider delegate;
+    private final WeightedLruCache<Key, Entry> entries;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    // Bumped by every invalidation; a fetch that raced one is not stored.
+    private long generation;
+
+    public CachingExploreDataProvider(ExploreDataProvider delegate, int maxEntries, Duration ttl, LongSupplier clock) {
+        this.delegate = delegate;
+        this.entries = new WeightedLruCache<>(maxEntries, (k, v) -> 1);
+        this.ttlNanos = ttl.toNanos();
+        this.clock = clock;
+    }
+
+    /** The live database provider shared by every Explore view, kept in sync with database writes. */
+    public static ExploreDataProvider live() {
+        return Live.INSTANCE;
+    }
+
+    @Override
+    public List<ExploreControl.SearchItem> fetch(String q, ExploreControl.Kind filter) {
+        return delegate.fetch(q, filter);
+    }
+
+    @Override
+    public Page fetchPage(String q, ExploreControl.Kind filter, Cursor cursor) {
+        String query = (q == null ? "" : q).trim().toLowerCase(Locale.ROOT);
+        Key key = new Key(query, filter, cursor);
+        Entry cached = entries.get(key);
+        if (cached != null) {
+            if (clock.getAsLong() - cached.expiresAt() < 0) {
+                return cached.page();
+            }
+            entries.remove(key, cached);
+        }
+
+        long before = generation();
+        Page page = delegate.fetchPage(query, filter, cursor);
+        QueryCancellation scope = QueryCancellation.current();
+        if (!page.partial() && (scope == null || !scope.isCancelled())) {
+            store(key, new Entry(page, clock.getAsLong() + ttlNanos), before);
+        }
+        return page;
+    }
+
+    /** Drops every page that a write of this kind could have changed. */
+    public void invalidate(DatabaseConnector.Change change) {
+        ExploreControl.Kind affected = switch (change) {
+            case POSTS -> ExploreControl.Kind.COMPLETED_TATTOOS;
+            case DESIGNS -> ExploreControl.Kind.DESIGNS;
+            case PROFILES -> ExploreControl.Kind.ARTISTS;
+        };
+        synchronized (this) {
+            generation++;
+            entries.removeKeys(key -> key.kind() == affected || key.kind() == ExploreControl.Kind.ALL);
+        }
+    }
+
+    public WeightedLruCache.Stats stats() {
+        return entries.stats();
+    }
+
+    private synchronized long generation() {
+        return generation;
+    }
+
+    private synchronized void store(Key key, Entry entry, long expectedGeneration) {
+        if (generation == expectedGeneration) {
+            entries.put(key, entry);
+        }
+    }
+}
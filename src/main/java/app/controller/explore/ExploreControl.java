@@ -1,8 +1,14 @@
 package app.controller.explore;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 public final class ExploreControl {
 
@@ -10,17 +16,175 @@ public final class ExploreControl {
 
     public record SearchItem(String title, Kind kind, String thumbnail, List<String> tags, String hoverText) {}
 
-    private final List<SearchItem> allItems = mockData();
+    // Longest n-gram indexed; shorter needles are looked up by their own length.
+    private static final int GRAM = 3;
+    private static final int[] NONE = new int[0];
 
-    /** Filter logic with no JavaFX dependencies. */
+    private final List<SearchItem> allItems;
+    // Per item: lower-cased title followed by lower-cased tags, folded once up front.
+    private final String[][] folded;
+    // Posting lists (ascending item positions) per kind, per 1- to 3-gram of any title or tag.
+    private final Map<Kind, Map<String, Postings>> grams = new EnumMap<>(Kind.class);
+    private final Map<Kind, Postings> members = new EnumMap<>(Kind.class);
+
+    public ExploreControl() {
+        this(null);
+    }
+
+    /** Searches {@code items} instead of the built-in mock catalogue. */
+    public ExploreControl(List<SearchItem> items) {
+        allItems = List.copyOf(items == null ? mockData() : items);
+        folded = new String[allItems.size()][];
+        for (int id = 0; id < allItems.size(); id++) {
+            SearchItem item = allItems.get(id);
+            String[] fields = new String[item.tags().size() + 1];
+            fields[0] = item.title().toLowerCase(Locale.ROOT);
+            for (int t = 0; t < item.tags().size(); t++) {
+                fields[t + 1] = item.tags().get(t).toLowerCase(Locale.ROOT);
+            }
+            folded[id] = fields;
+            members.computeIfAbsent(item.kind(), k -> new Postings()).add(id);
+            Map<String, Postings> postings = grams.computeIfAbsent(item.kind(), k -> new HashMap<>());
+            for (String field : fields) {
+                for (int n = 1; n <= GRAM; n++) {
+                    for (int i = 0; i + n <= field.length(); i++) {
+                        postings.computeIfAbsent(field.substring(i, i + n), g -> new Postings()).add(id);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Filter logic with no JavaFX dependencies: items of {@code filter}'s kind
+     * (any kind for ALL) whose title or one of whose tags contains the query,
+     * ignoring case, in catalogue order. The n-gram index narrows the
+     * candidates; each is then checked with {@code contains}, so the result is
+     * exactly what a full scan would give.
+     */
     public List<SearchItem> filter(String q, Kind filter) {
         String needle = (q == null ? "" : q).trim().toLowerCase(Locale.ROOT);
-        return allItems.stream()
-                .filter(it -> filter == Kind.ALL || it.kind() == filter)
-                .filter(it -> needle.isEmpty()
-                        || it.title().toLowerCase(Locale.ROOT).contains(needle)
-                        || it.tags().stream().anyMatch(t -> t.toLowerCase(Locale.ROOT).contains(needle)))
-                .toList();
+        if (filter == Kind.ALL && needle.isEmpty()) {
+            return allItems;
+        }
+        int[] ids;
+        if (filter == Kind.ALL) {
+            ids = NONE;
+            for (Kind kind : members.keySet()) {
+                ids = merge(ids, match(kind, needle));
+            }
+        } else {
+            ids = match(filter, needle);
+        }
+        List<SearchItem> out = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            out.add(allItems.get(id));
+        }
+        return Collections.unmodifiableList(out);
+    }
+
+    private int[] match(Kind kind, String needle) {
+        Postings all = members.get(kind);
+        if (all == null) {
+            return NONE;
+        }
+        if (needle.isEmpty()) {
+            return all.toArray();
+        }
+        Map<String, Postings> postings = grams.get(kind);
+        if (needle.length() <= GRAM) {
+            // The needle is itself an indexed gram, so its posting list is the exact answer.
+            Postings exact = postings.get(needle);
+            return exact == null ? NONE : exact.toArray();
+        }
+        List<Postings> lists = new ArrayList<>();
+        for (int i = 0; i + GRAM <= needle.length(); i++) {
+            Postings list = postings.get(needle.substring(i, i + GRAM));
+            if (list == null) {
+                return NONE;
+            }
+            lists.add(list);
+        }
+        // Rarest gram first keeps every intersection step as small as possible.
+        lists.sort(Comparator.comparingInt(list -> list.size));
+        int[] candidates = lists.getFirst().toArray();
+        int count = candidates.length;
+        for (int l = 1; l < lists.size() && count > 0; l++) {
+            count = lists.get(l).retain(candidates, count);
+        }
+        int kept = 0;
+        for (int c = 0; c < count; c++) {
+            if (containsIn(folded[candidates[c]], needle)) {
+                candidates[kept++] = candidates[c];
+            }
+        }
+        return Arrays.copyOf(candidates, kept);
+    }
+
+    // Kinds partition the items, so the two ascending lists never share an entry.
+    private static int[] merge(int[] a, int[] b) {
+        if (a.length == 0) {
+            return b;
+        }
+        if (b.length == 0) {
+            return a;
+        }
+        int[] out = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < a.length && j < b.length) {
+            out[k++] = a[i] < b[j] ? a[i++] : b[j++];
+        }
+        System.arraycopy(a, i, out, k, a.length - i);
+        System.arraycopy(b, j, out, k + a.length - i, b.length - j);
+        return out;
+    }
+
+    private static boolean containsIn(String[] fields, String needle) {
+        for (String field : fields) {
+            if (field.contains(needle)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Growable ascending list of item positions. */
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] == id) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+
+        /** Keeps the first {@code count} entries of sorted {@code candidates} that are also here; returns the new count. */
+        int retain(int[] candidates, int count) {
+            int kept = 0;
+            int from = 0;
+            for (int c = 0; c < count && from < size; c++) {
+                // Candidates are the rarer list, so seek by binary search rather than walking this one.
+                int at = Arrays.binarySearch(ids, from, size, candidates[c]);
+                if (at >= 0) {
+                    candidates[kept++] = candidates[c];
+                    from = at + 1;
+                } else {
+                    from = -at - 1;
+                }
+            }
+            return kept;
+        }
     }
 
     private List<SearchItem> mockData() {
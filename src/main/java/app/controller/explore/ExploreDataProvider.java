@@ -1,7 +1,37 @@
 package app.controller.explore;
 
+import app.entity.SearchCursor;
+
 import java.util.List;
 
 public interface ExploreDataProvider {
     List<ExploreControl.SearchItem> fetch(String q, ExploreControl.Kind filter);
+
+    /** Where each paginated source resumes; a null component means that source is exhausted. */
+    record Cursor(SearchCursor posts, SearchCursor designs) {
+    }
+
+    /**
+     * One page of results; {@code next} is null once every source is exhausted.
+     * {@code partial} marks a page that is missing a source that failed or timed
+     * out, which is fine to show but not to cache.
+     */
+    record Page(List<ExploreControl.SearchItem> items, Cursor next, boolean partial) {
+        public Page {
+            items = List.copyOf(items);
+        }
+
+        public Page(List<ExploreControl.SearchItem> items, Cursor next) {
+            this(items, next, false);
+        }
+    }
+
+    /**
+     * Results in pages for infinite scroll. Pass null for the first page and the
+     * previous page's {@code next} afterwards. Providers without pagination
+     * return everything as a single page.
+     */
+    default Page fetchPage(String q, ExploreControl.Kind filter, Cursor cursor) {
+        return cursor == null ? new Page(fetch(q, filter), null) : new Page(List.of(), null);
+    }
 }
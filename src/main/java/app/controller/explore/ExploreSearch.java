@@ -0,0 +1,172 @@
+package app.controller.explore;
+
+import app.db.QueryCancellation;
+import app.db.SearchIndex;
+import app.entity.DatabaseConnector;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * The Explore search pipeline: at most one search is in flight, and starting a
+ * new one cancels the previous one's database reads instead of letting them
+ * finish. Answers that can be derived from the last completed search are
+ * served without a database round-trip:
+ * <ul>
+ * <li>a query with the same search terms (e.g. only punctuation or spacing
+ * changed) reuses the last first page;</li>
+ * <li>a query that refines an earlier one (same terms, each at least as long,
+ * possibly more terms) can only match a subset of it, so when the earlier
+ * search found nothing at all the refinement finds nothing either.</li>
+ * </ul>
+ * Any database write forgets the remembered search, so neither shortcut can
+ * hide rows added since. Debouncing keystrokes is left to the caller.
+ */
+public final class ExploreSearch {
+
+    private record Completed(String query, List<String> terms, ExploreControl.Kind kind,
+            ExploreDataProvider.Page page) {
+    }
+
+    private final ExploreDataProvider provider;
+    private final Executor executor;
+    private QueryCancellation current = new QueryCancellation();
+    private Completed last;
+    // Bumped by every invalidation; a search that raced one is not remembered.
+    private long generation;
+    private int providerCalls;
+
+    public ExploreSearch(ExploreDataProvider provider, Executor executor) {
+        this.provider = provider;
+        this.executor = executor;
+        // The listener list is global, so it must not keep a discarded page's search alive.
+        WeakReference<ExploreSearch> self = new WeakReference<>(this);
+        DatabaseConnector.addChangeListener(change -> {
+            ExploreSearch search = self.get();
+            if (search != null) {
+                search.invalidate(change);
+            }
+        });
+    }
+
+    /** Forgets the remembered search after a write; the next search asks the provider again. */
+    public synchronized void invalidate(DatabaseConnector.Change change) {
+        generation++;
+        last = null;
+    }
+
+    /**
+     * First page for {@code query}, cancelling whatever is still running. The
+     * future fails with a {@link CancellationException} (wrapped in a
+     * {@link java.util.concurrent.CompletionException}) if a newer search or
+     * {@link #cancel} overtakes it.
+     */
+    public synchronized CompletableFuture<ExploreDataProvider.Page> search(String query, ExploreControl.Kind kind) {
+        current.cancel();
+        current = new QueryCancellation();
+        ExploreDataProvider.Page reused = reuse(query, kind);
+        if (reused != null) {
+            return CompletableFuture.completedFuture(reused);
+        }
+        QueryCancellation token = current;
+        long before = generation;
+        return submit(token, () -> provider.fetchPage(query, kind, null))
+                .thenApply(page -> {
+                    // A partial page is missing a source that timed out or failed; never reuse it.
+                    if (!page.partial()) {
+                        remember(token, before, new Completed(query, terms(query), kind, page));
+                    }
+                    return page;
+                });
+    }
+
+    /** A later page of the current search; cancelled along with it. */
+    public synchronized CompletableFuture<ExploreDataProvider.Page> nextPage(String query, ExploreControl.Kind kind,
+            ExploreDataProvider.Cursor cursor) {
+        return submit(current, () -> provider.fetchPage(query, kind, cursor));
+    }
+
+    public synchronized void cancel() {
+        current.cancel();
+    }
+
+    /** Number of fetches handed to the provider, first pages and later pages alike. */
+    public synchronized int providerCalls() {
+        return providerCalls;
+    }
+
+    /**
+     * Whether every row matching {@code refined} also matches {@code base}: the
+     * search terms AND together and each matches by prefix, so lengthening a
+     * term or adding one can only narrow the result.
+     */
+    static boolean refines(String base, String refined) {
+        List<String> before = terms(base);
+        List<String> after = terms(refined);
+        if (before.isEmpty() || after.size() < before.size()) {
+            return false;
+        }
+        for (int i = 0; i < before.size(); i++) {
+            if (!after.get(i).startsWith(before.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private ExploreDataProvider.Page reuse(String query, ExploreControl.Kind kind) {
+        Completed previous = last;
+        if (previous == null || previous.kind() != kind) {
+            return null;
+        }
+        if (previous.terms().equals(terms(query))) {
+            return previous.page();
+        }
+        boolean exhaustedAndEmpty = previous.page().next() == null && previous.page().items().isEmpty();
+        if (exhaustedAndEmpty && refines(previous.query(), query)) {
+            return previous.page();
+        }
+        return null;
+    }
+
+    private CompletableFuture<ExploreDataProvider.Page> submit(QueryCancellation token,
+            Supplier<ExploreDataProvider.Page> work) {
+        providerCalls++;
+        return CompletableFuture.supplyAsync(() -> {
+            if (token.isCancelled()) {
+                throw new CancellationException();
+            }
+            ExploreDataProvider.Page page = token.run(work);
+            // Providers swallow SQL errors, so an interrupted read shows up as a short page; never hand that out.
+            if (token.isCancelled()) {
+                throw new CancellationException();
+            }
+            return page;
+        }, executor);
+    }
+
+    private synchronized void remember(QueryCancellation token, long before, Completed completed) {
+        if (!token.isCancelled() && generation == before) {
+            last = completed;
+        }
+    }
+
+    // Same tokenisation as the FTS match query, lower-cased as the index folds case.
+    private static List<String> terms(String query) {
+        String match = SearchIndex.toMatchQuery(query == null ? null : query.toLowerCase(Locale.ROOT));
+        if (match == null) {
+            return List.of();
+        }
+        List<String> out = new ArrayList<>();
+        for (String quoted : match.split(" ")) {
+            out.add(quoted.substring(1, quoted.length() - 2));
+        }
+        return out;
+    }
+}
@@ -2,6 +2,7 @@ package app.controller.explore;
 
 import app.entity.PostRepository;
 import app.entity.PostWithAuthor;
+import app.entity.SearchCursor;
 import app.entity.jdbc.JdbcPostRepository;
 
 import java.sql.SQLException;
@@ -16,8 +17,8 @@ public final class JdbcExploreDataProvider implements ExploreDataProvider {
     public List<ExploreControl.SearchItem> fetch(String q, ExploreControl.Kind filter) {
         try {
             List<PostWithAuthor> rows = (q == null || q.isBlank())
-                    ? repo.findLatest(30, 0)
-                    : repo.search(q.toLowerCase(Locale.ROOT), 30, 0);
+                    ? repo.findLatestBefore(0, 30)
+                    : repo.searchAfter(SearchCursor.first(q.toLowerCase(Locale.ROOT)), 30).items();
 
             List<ExploreControl.SearchItem> items = new ArrayList<>();
             for (var row : rows) {
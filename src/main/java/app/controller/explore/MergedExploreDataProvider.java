@@ -7,12 +7,22 @@ import app.entity.jdbc.JdbcDesignRepository;
 import app.entity.jdbc.JdbcPostRepository;
 import app.entity.DesignRepository;
 import app.entity.PostRepository;
+import app.entity.SearchCursor;
+import app.entity.SearchPage;
+import app.db.QueryCancellation;
+import app.db.QueryExecutor;
+import app.db.SearchIndex;
 import app.entity.DatabaseConnector;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 /**
  * Live Explore provider that merges:
@@ -22,35 +32,196 @@ import java.util.List;
  * NOTE: We intentionally do NOT modify DatabaseConnector.
  * We clean up data (e.g., de-dup styles, thumbnail fallback) here in the
  * provider.
+ *
+ * When a request spans several sources they run concurrently, each on its own
+ * pooled read connection, and are merged in source order. A source that has
+ * not answered within the per-source timeout is cancelled and left out, so a
+ * slow source costs at most the timeout instead of delaying the others.
  */
 public final class MergedExploreDataProvider implements ExploreDataProvider {
 
     private final PostRepository posts = new JdbcPostRepository();
     private final DesignRepository designs = new JdbcDesignRepository();
     private static final int FETCH_LIMIT = 60;
+    private static final int PAGE_SIZE = 30;
     private static final String DEFAULT_THUMB = "/icons/artist_raven.jpg";
     private static final String UNKNOW_STRING = "unknown";
+    private static final long SOURCE_TIMEOUT_MS = Long.getLong("tattui.explore.sourceTimeoutMs", 2_000);
+    private static final QueryExecutor FAN_OUT = new QueryExecutor();
+
+    /** One independent part of a result, and what to use in its place if it fails or times out. */
+    private record Source<T>(Supplier<T> load, T fallback) {
+    }
+
+    /**
+     * A source's share of one page; {@code next} is null once that source is
+     * exhausted, and {@code failed} marks a share lost to an error or timeout.
+     */
+    private record SourcePage(List<ExploreControl.SearchItem> items, SearchCursor next, boolean failed) {
+    }
 
     @Override
     public List<ExploreControl.SearchItem> fetch(String q, ExploreControl.Kind filter) {
         String needle = (q == null ? "" : q).trim();
-        List<ExploreControl.SearchItem> out = new ArrayList<>();
-        List<PostWithAuthor> completedRows = handlesCompleted(filter) ? queryPosts(needle) : List.of();
-        List<DesignWithAuthor> designRows = handlesDesigns(filter) ? queryDesigns(needle) : List.of();
+        List<Source<List<ExploreControl.SearchItem>>> sources = new ArrayList<>();
 
         if (handlesArtists(filter)) {
-            out.addAll(fetchArtists(needle));
+            sources.add(new Source<>(() -> fetchArtists(needle), List.of()));
         }
         if (handlesCompleted(filter)) {
-            out.addAll(fetchCompletedPosts(completedRows));
+            sources.add(new Source<>(() -> fetchCompletedPosts(needle), List.of()));
         }
         if (handlesDesigns(filter)) {
-            out.addAll(fetchDesigns(designRows));
+            sources.add(new Source<>(() -> fetchDesigns(needle), List.of()));
         }
 
+        List<ExploreControl.SearchItem> out = new ArrayList<>();
+        fanOut(sources).forEach(out::addAll);
         return out;
     }
 
+    /**
+     * Artists arrive with the first page only. Posts and designs page
+     * independently on their own keyset cursors, PAGE_SIZE rows each.
+     */
+    @Override
+    public Page fetchPage(String q, ExploreControl.Kind filter, Cursor cursor) {
+        String needle = (q == null ? "" : q).trim();
+        SearchCursor postCursor;
+        SearchCursor designCursor;
+        List<Source<SourcePage>> sources = new ArrayList<>();
+        if (cursor == null) {
+            if (handlesArtists(filter)) {
+                sources.add(new Source<>(() -> pageArtists(needle), new SourcePage(List.of(), null, true)));
+            }
+            postCursor = handlesCompleted(filter) ? SearchCursor.first(needle) : null;
+            designCursor = handlesDesigns(filter) ? SearchCursor.first(needle) : null;
+        } else {
+            postCursor = cursor.posts();
+            designCursor = cursor.designs();
+        }
+        // A source that times out keeps its cursor, so the next page retries it without skipping rows.
+        int postSlot = -1;
+        int designSlot = -1;
+        if (postCursor != null) {
+            postSlot = sources.size();
+            sources.add(new Source<>(() -> pagePosts(postCursor), new SourcePage(List.of(), postCursor, true)));
+        }
+        if (designCursor != null) {
+            designSlot = sources.size();
+            sources.add(new Source<>(() -> pageDesigns(designCursor), new SourcePage(List.of(), designCursor, true)));
+        }
+
+        List<SourcePage> pages = fanOut(sources);
+        List<ExploreControl.SearchItem> out = new ArrayList<>();
+        boolean partial = false;
+        for (SourcePage page : pages) {
+            out.addAll(page.items());
+            partial |= page.failed();
+        }
+        SearchCursor nextPosts = postSlot < 0 ? null : pages.get(postSlot).next();
+        SearchCursor nextDesigns = designSlot < 0 ? null : pages.get(designSlot).next();
+        Cursor next = nextPosts == null && nextDesigns == null ? null : new Cursor(nextPosts, nextDesigns);
+        return new Page(out, next, partial);
+    }
+
+    private SourcePage pageArtists(String needle) {
+        try {
+            return new SourcePage(loadArtists(needle), null, false);
+        } catch (SQLException _) {
+            return new SourcePage(List.of(), null, true);
+        }
+    }
+
+    private SourcePage pagePosts(SearchCursor cursor) {
+        List<ExploreControl.SearchItem> out = new ArrayList<>();
+        int[] lastId = {0};
+        try {
+            if (SearchIndex.toMatchQuery(cursor.query()) == null) {
+                int count = posts.forEachLatestBefore(cursor.lastId(), PAGE_SIZE, row -> {
+                    out.add(toItem(row));
+                    lastId[0] = row.post().getId();
+                });
+                SearchCursor next = count < PAGE_SIZE ? null : new SearchCursor(cursor.query(), 0.0, lastId[0]);
+                return new SourcePage(out, next, false);
+            }
+            SearchPage<PostWithAuthor> page = posts.searchAfter(cursor, PAGE_SIZE);
+            page.items().forEach(row -> out.add(toItem(row)));
+            return new SourcePage(out, page.next(), false);
+        } catch (SQLException _) {
+            return new SourcePage(out, resumeAfter(cursor, out, lastId[0]), true);
+        }
+    }
+
+    private SourcePage pageDesigns(SearchCursor cursor) {
+        List<ExploreControl.SearchItem> out = new ArrayList<>();
+        int[] lastId = {0};
+        try {
+            if (SearchIndex.toMatchQuery(cursor.query()) == null) {
+                int count = designs.forEachLatestBefore(cursor.lastId(), PAGE_SIZE, row -> {
+                    out.add(toItem(row));
+                    lastId[0] = row.design().id();
+                });
+                SearchCursor next = count < PAGE_SIZE ? null : new SearchCursor(cursor.query(), 0.0, lastId[0]);
+                return new SourcePage(out, next, false);
+            }
+            SearchPage<DesignWithAuthor> page = designs.searchAfter(cursor, PAGE_SIZE);
+            page.items().forEach(row -> out.add(toItem(row)));
+            return new SourcePage(out, page.next(), false);
+        } catch (SQLException _) {
+            return new SourcePage(out, resumeAfter(cursor, out, lastId[0]), true);
+        }
+    }
+
+    // Like a timeout, a failed read keeps the source alive: the next page retries from the last row delivered.
+    private static SearchCursor resumeAfter(SearchCursor cursor, List<ExploreControl.SearchItem> delivered,
+            int lastId) {
+        return delivered.isEmpty() ? cursor : new SearchCursor(cursor.query(), 0.0, lastId);
+    }
+
+    /**
+     * Loads every source and returns the results in source order. A lone source
+     * runs on the calling thread; several run concurrently, all sharing one
+     * deadline, and each runs under a child of the caller's
+     * {@link QueryCancellation} so cancelling the caller reaches them too.
+     */
+    private static <T> List<T> fanOut(List<Source<T>> sources) {
+        if (sources.size() == 1) {
+            return List.of(sources.get(0).load().get());
+        }
+        QueryCancellation parent = QueryCancellation.current();
+        List<QueryCancellation> scopes = new ArrayList<>(sources.size());
+        List<CompletableFuture<T>> futures = new ArrayList<>(sources.size());
+        for (Source<T> source : sources) {
+            QueryCancellation scope = parent == null ? new QueryCancellation() : parent.child();
+            scopes.add(scope);
+            futures.add(FAN_OUT.submit(() -> scope.run(source.load()), false));
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SOURCE_TIMEOUT_MS);
+        List<T> results = new ArrayList<>(sources.size());
+        for (int i = 0; i < sources.size(); i++) {
+            results.add(await(futures.get(i), scopes.get(i), sources.get(i).fallback(), deadline));
+        }
+        return results;
+    }
+
+    private static <T> T await(CompletableFuture<T> future, QueryCancellation scope, T fallback, long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException _) {
+            // Interrupts the slow statement so its reader connection goes back to the pool.
+            scope.cancel();
+            future.cancel(false);
+            return fallback;
+        } catch (ExecutionException _) {
+            return fallback;
+        } catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+            scope.cancel();
+            return fallback;
+        }
+    }
+
     private boolean handlesArtists(ExploreControl.Kind filter) {
         return filter == ExploreControl.Kind.ARTISTS || filter == ExploreControl.Kind.ALL;
     }
@@ -64,19 +235,23 @@ public final class MergedExploreDataProvider implements ExploreDataProvider {
     }
 
     private List<ExploreControl.SearchItem> fetchArtists(String needle) {
-        List<ExploreControl.SearchItem> items = new ArrayList<>();
         try {
-            List<Profile> profiles = DatabaseConnector.getProfilesLike(needle);
-            for (Profile p : profiles) {
-                items.add(new ExploreControl.SearchItem(
-                        p.getUsername(),
-                        ExploreControl.Kind.ARTISTS,
-                        resolveThumbnail(p),
-                        dedupeTags(p.getStylesList()),
-                        p.getBiography() == null ? "" : p.getBiography()));
-            }
+            return loadArtists(needle);
         } catch (SQLException _) {
             // Leave list empty when DB lookups fail.
+            return List.of();
+        }
+    }
+
+    private List<ExploreControl.SearchItem> loadArtists(String needle) throws SQLException {
+        List<ExploreControl.SearchItem> items = new ArrayList<>();
+        for (Profile p : DatabaseConnector.getProfileCardsLike(needle)) {
+            items.add(new ExploreControl.SearchItem(
+                    p.getUsername(),
+                    ExploreControl.Kind.ARTISTS,
+                    resolveThumbnail(p),
+                    dedupeTags(p.getStylesList()),
+                    p.getBiography() == null ? "" : p.getBiography()));
         }
         return items;
     }
@@ -94,63 +269,68 @@ public final class MergedExploreDataProvider implements ExploreDataProvider {
                 styles.stream().filter(s -> s != null && !s.isBlank()).toList()));
     }
 
-    private List<ExploreControl.SearchItem> fetchCompletedPosts(List<PostWithAuthor> rows) {
+    // The unfiltered feed streams rows straight into items; search pages are small and ranked, so they stay lists.
+    private List<ExploreControl.SearchItem> fetchCompletedPosts(String needle) {
         List<ExploreControl.SearchItem> items = new ArrayList<>();
-        for (PostWithAuthor row : rows) {
-            var post = row.post();
-            var author = row.author();
-            String authorName = author.getUsername() == null ? UNKNOW_STRING : author.getUsername();
-            String caption = post.getCaption();
-            String title = authorName + " — " + (caption == null || caption.isBlank() ? "(untitled)" : caption);
-
-            items.add(new ExploreControl.SearchItem(
-                    title,
-                    ExploreControl.Kind.COMPLETED_TATTOOS,
-                    post.getPostURL(),
-                    List.of("artist:" + authorName, "completed"),
-                    caption == null ? "" : caption));
-        }
-        return items;
-    }
-
-    private List<PostWithAuthor> queryPosts(String needle) {
         try {
-            return needle.isEmpty()
-                    ? posts.findLatest(FETCH_LIMIT, 0)
-                    : posts.search(needle, FETCH_LIMIT, 0);
+            if (needle.isEmpty()) {
+                posts.forEachLatestBefore(0, FETCH_LIMIT, row -> items.add(toItem(row)));
+            } else {
+                for (PostWithAuthor row : posts.searchAfter(SearchCursor.first(needle), FETCH_LIMIT).items()) {
+                    items.add(toItem(row));
+                }
+            }
         } catch (SQLException _) {
             return List.of();
         }
+        return items;
     }
 
-    private List<ExploreControl.SearchItem> fetchDesigns(List<DesignWithAuthor> rows) {
-        List<ExploreControl.SearchItem> items = new ArrayList<>();
-        for (DesignWithAuthor row : rows) {
-            var design = row.design();
-            var author = row.author();
-            String authorName = author.getUsername() == null ? UNKNOW_STRING : author.getUsername();
-            String title = (design.name() == null || design.name().isBlank())
-                    ? "Design by " + authorName
-                    : design.name();
-            items.add(new ExploreControl.SearchItem(
-                    title,
-                    ExploreControl.Kind.DESIGNS,
-                    resolveDesignThumbnail(design.pictureUrl()),
-                    List.of("design",
-                            "artist:" + authorName),
-                    "Design by " + authorName));
-        }
-        return items;
+    private ExploreControl.SearchItem toItem(PostWithAuthor row) {
+        var post = row.post();
+        var author = row.author();
+        String authorName = author.getUsername() == null ? UNKNOW_STRING : author.getUsername();
+        String caption = post.getCaption();
+        String title = authorName + " — " + (caption == null || caption.isBlank() ? "(untitled)" : caption);
+
+        return new ExploreControl.SearchItem(
+                title,
+                ExploreControl.Kind.COMPLETED_TATTOOS,
+                post.getPostURL(),
+                List.of("artist:" + authorName, "completed"),
+                caption == null ? "" : caption);
     }
 
-    private List<DesignWithAuthor> queryDesigns(String needle) {
+    private List<ExploreControl.SearchItem> fetchDesigns(String needle) {
+        List<ExploreControl.SearchItem> items = new ArrayList<>();
         try {
-            return needle.isEmpty()
-                    ? designs.findLatest(FETCH_LIMIT, 0)
-                    : designs.search(needle, FETCH_LIMIT, 0);
+            if (needle.isEmpty()) {
+                designs.forEachLatestBefore(0, FETCH_LIMIT, row -> items.add(toItem(row)));
+            } else {
+                for (DesignWithAuthor row : designs.searchAfter(SearchCursor.first(needle), FETCH_LIMIT).items()) {
+                    items.add(toItem(row));
+                }
+            }
         } catch (SQLException _) {
             return List.of();
         }
+        return items;
+    }
+
+    private ExploreControl.SearchItem toItem(DesignWithAuthor row) {
+        var design = row.design();
+        var author = row.author();
+        String authorName = author.getUsername() == null ? UNKNOW_STRING : author.getUsername();
+        String title = (design.name() == null || design.name().isBlank())
+                ? "Design by " + authorName
+                : design.name();
+        return new ExploreControl.SearchItem(
+                title,
+                ExploreControl.Kind.DESIGNS,
+                resolveDesignThumbnail(design.pictureUrl()),
+                List.of("design",
+                        "artist:" + authorName),
+                "Design by " + authorName);
     }
 
     private String resolveDesignThumbnail(String url) {
@@ -0,0 +1,40 @@
+package app.db;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Column label to 1-based index lookup, built once from a ResultSet's metadata
+ * so row mappers can read by position instead of by name on every row.
+ */
+public final class ColumnIndex {
+    private final Map<String, Integer> byLabel;
+
+    private ColumnIndex(Map<String, Integer> byLabel) {
+        this.byLabel = byLabel;
+    }
+
+    public static ColumnIndex of(ResultSet rs) throws SQLException {
+        ResultSetMetaData meta = rs.getMetaData();
+        int count = meta.getColumnCount();
+        Map<String, Integer> byLabel = new HashMap<>(count * 2);
+        for (int i = 1; i <= count; i++) {
+            // First occurrence wins, matching ResultSet.findColumn.
+            byLabel.putIfAbsent(meta.getColumnLabel(i).toLowerCase(Locale.ROOT), i);
+        }
+        return new ColumnIndex(byLabel);
+    }
+
+    /** Index of {@code label} (case-insensitive); fails fast if the query does not select it. */
+    public int of(String label) throws SQLException {
+        Integer index = byLabel.get(label.toLowerCase(Locale.ROOT));
+        if (index == null) {
+            throw new SQLException("Result set has no column labelled " + label);
+        }
+        return index;
+    }
+}
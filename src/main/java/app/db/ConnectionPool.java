@@ -0,0 +1,201 @@
+package app.db;
+
+import org.sqlite.SQLiteConfig;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Small SQLite pool: one writer connection plus a fixed number of read-only
+ * reader connections, all on a WAL journal so readers never wait on each other
+ * or on the writer.
+ * <p>
+ * Connections are thread-confined: a lease belongs to the calling thread for the
+ * duration of {@link #read} / {@link #write}, and nested calls on the same thread
+ * reuse the outer lease instead of taking a second connection.
+ */
+public final class ConnectionPool implements AutoCloseable {
+    private static final int BUSY_TIMEOUT_MS = 5_000;
+    private static final long ACQUIRE_TIMEOUT_MS = 10_000;
+
+    @FunctionalInterface
+    public interface SqlWork<T> {
+        T apply(PooledConnection connection) throws SQLException;
+    }
+
+    private final String url;
+    private final int readerCount;
+    private final BlockingQueue<PooledConnection> readers;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ThreadLocal<PooledConnection> leased = new ThreadLocal<>();
+    private final List<PooledConnection> all = new ArrayList<>();
+    private volatile PooledConnection writer;
+    private long generation;
+
+    public ConnectionPool(String url, int readerCount) {
+        if (readerCount < 1) {
+            throw new IllegalArgumentException("readerCount must be at least 1");
+        }
+        this.url = url;
+        this.readerCount = readerCount;
+        this.readers = new ArrayBlockingQueue<>(readerCount);
+    }
+
+    public int readerCount() {
+        return readerCount;
+    }
+
+    /** Opens (or reopens) the pool; returns {@code false} if the database is unreachable. */
+    public boolean ensureOpen() {
+        PooledConnection w = writer;
+        if (w != null && w.isUsable()) {
+            return true;
+        }
+        return reopen();
+    }
+
+    private synchronized boolean reopen() {
+        if (writer != null && writer.isUsable()) {
+            return true;
+        }
+        closeAll();
+        generation++;
+        try {
+            PooledConnection w = new PooledConnection(openWriter(), false, generation);
+            all.add(w);
+            for (int i = 0; i < readerCount; i++) {
+                PooledConnection r = new PooledConnection(openReader(), true, generation);
+                all.add(r);
+                readers.add(r);
+            }
+            writer = w;
+            return true;
+        } catch (SQLException _) {
+            closeAll();
+            return false;
+        }
+    }
+
+    public <T> T read(SqlWork<T> work) throws SQLException {
+        PooledConnection current = leased.get();
+        if (current != null) {
+            return work.apply(current);
+        }
+        PooledConnection reader = acquireReader();
+        leased.set(reader);
+        try {
+            return work.apply(reader);
+        } finally {
+            QueryCancellation.leaseEnded();
+            leased.remove();
+            release(reader);
+        }
+    }
+
+    public <T> T write(SqlWork<T> work) throws SQLException {
+        PooledConnection current = leased.get();
+        if (current != null && !current.isReadOnly()) {
+            return work.apply(current);
+        }
+        acquireWriteLock();
+        try {
+            if (!ensureOpen()) {
+                throw new SQLException("Unable to obtain database connection");
+            }
+            PooledConnection w = writer;
+            leased.set(w);
+            try {
+                return work.apply(w);
+            } finally {
+                if (current != null) {
+                    leased.set(current);
+                } else {
+                    leased.remove();
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private PooledConnection acquireReader() throws SQLException {
+        if (!ensureOpen()) {
+            throw new SQLException("Unable to obtain database connection");
+        }
+        try {
+            PooledConnection reader = readers.poll(ACQUIRE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            if (reader == null) {
+                throw new SQLException("Timed out waiting for a database connection");
+            }
+            return reader;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+    }
+
+    private void acquireWriteLock() throws SQLException {
+        try {
+            if (!writeLock.tryLock(ACQUIRE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out waiting for the database writer");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the database writer", e);
+        }
+    }
+
+    private synchronized void release(PooledConnection reader) {
+        if (reader.generation() == generation && reader.isUsable()) {
+            readers.offer(reader);
+        } else {
+            reader.close();
+        }
+    }
+
+    private Connection openWriter() throws SQLException {
+        SQLiteConfig config = new SQLiteConfig();
+        config.setJournalMode(SQLiteConfig.JournalMode.WAL);
+        config.setSynchronous(SQLiteConfig.SynchronousMode.NORMAL);
+        config.enforceForeignKeys(true);
+        config.setBusyTimeout(BUSY_TIMEOUT_MS);
+        return config.createConnection(url);
+    }
+
+    private Connection openReader() throws SQLException {
+        SQLiteConfig config = new SQLiteConfig();
+        config.setReadOnly(true);
+        config.enforceForeignKeys(true);
+        config.setBusyTimeout(BUSY_TIMEOUT_MS);
+        return config.createConnection(url);
+    }
+
+    /** Statement-cache counters summed over every live connection in the pool. */
+    public synchronized StatementCache.Stats statementStats() {
+        StatementCache.Stats total = new StatementCache.Stats(0, 0, 0);
+        for (PooledConnection c : all) {
+            total = total.plus(c.statementStats());
+        }
+        return total;
+    }
+
+    private void closeAll() {
+        readers.clear();
+        for (PooledConnection c : all) {
+            c.close();
+        }
+        all.clear();
+        writer = null;
+    }
+
+    @Override
+    public synchronized void close() {
+        closeAll();
+    }
+}
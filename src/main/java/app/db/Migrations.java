@@ -0,0 +1,106 @@
+package app.db;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Versioned schema migrations applied at startup. The applied version is kept
+ * in SQLite's {@code user_version} header field; each pending migration runs in
+ * its own transaction together with the version bump, so a failed step leaves
+ * the database at the previous version.
+ */
+public final class Migrations {
+
+    @FunctionalInterface
+    public interface Step {
+        void apply(Connection connection) throws SQLException;
+    }
+
+    public record Migration(int version, String description, Step step) {
+    }
+
+    /**
+     * Indexes for the lookups in {@code DatabaseConnector}. Accounts.username and
+     * ArtistTaggedStyles.account_id are already covered by their UNIQUE / PRIMARY
+     * KEY autoindexes. Every table uses an INTEGER PRIMARY KEY, so the row id is
+     * implicitly part of each index and the account/artist id lookups are covering.
+     */
+    private static final String[] HOT_PATH_INDEXES = {
+            "CREATE INDEX IF NOT EXISTS idx_artists_account ON Artists (account_id)",
+            "CREATE INDEX IF NOT EXISTS idx_artists_location ON Artists (work_latitude, work_longitude, account_id)",
+            "CREATE INDEX IF NOT EXISTS idx_posts_account ON Posts2 (account_id)",
+            "CREATE INDEX IF NOT EXISTS idx_designs_artist ON Designs (artist_id)",
+            "CREATE INDEX IF NOT EXISTS idx_reviews_reviewee ON Reviews (reviewee_id, rating)"
+    };
+
+    private static final List<Migration> ALL = List.of(
+            new Migration(1, "full-text search index", SearchIndex::ensure),
+            new Migration(2, "hot path indexes", c -> execute(c, HOT_PATH_INDEXES)),
+            new Migration(3, "artist location R*Tree", c -> {
+                SpatialIndex.ensure(c);
+                // Superseded by the R*Tree for bounding-box queries.
+                execute(c, new String[] {"DROP INDEX IF EXISTS idx_artists_location"});
+            }));
+
+    private Migrations() {
+    }
+
+    public static List<Migration> all() {
+        return ALL;
+    }
+
+    public static int latestVersion() {
+        return ALL.getLast().version();
+    }
+
+    /** Applies every migration newer than the database's version and returns the resulting version. */
+    public static int migrate(Connection connection) throws SQLException {
+        return migrate(connection, ALL);
+    }
+
+    static int migrate(Connection connection, List<Migration> migrations) throws SQLException {
+        int current = currentVersion(connection);
+        boolean previousAutoCommit = connection.getAutoCommit();
+        try {
+            for (Migration migration : migrations) {
+                if (migration.version() <= current) {
+                    continue;
+                }
+                connection.setAutoCommit(false);
+                try {
+                    migration.step().apply(connection);
+                    try (Statement stmt = connection.createStatement()) {
+                        stmt.execute("PRAGMA user_version = " + migration.version());
+                    }
+                    connection.commit();
+                } catch (SQLException ex) {
+                    connection.rollback();
+                    throw new SQLException("Migration " + migration.version() + " (" + migration.description()
+                            + ") failed: " + ex.getMessage(), ex);
+                }
+                current = migration.version();
+            }
+        } finally {
+            connection.setAutoCommit(previousAutoCommit);
+        }
+        return current;
+    }
+
+    public static int currentVersion(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+                ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private static void execute(Connection connection, String[] statements) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            for (String sql : statements) {
+                stmt.execute(sql);
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package app.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * A single SQLite connection owned by a {@link ConnectionPool}. Only the thread
+ * currently leasing it may touch it, so the statement cache needs no locking.
+ * Statements handed out by {@link #prepare} are owned by the cache; callers
+ * close the {@link java.sql.ResultSet}s they open but never the statement.
+ */
+public final class PooledConnection {
+    private final Connection connection;
+    private final boolean readOnly;
+    private final long generation;
+    private final StatementCache statements;
+
+    PooledConnection(Connection connection, boolean readOnly, long generation) {
+        this.connection = connection;
+        this.readOnly = readOnly;
+        this.generation = generation;
+        this.statements = new StatementCache(connection);
+    }
+
+    public Connection connection() {
+        return connection;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    long generation() {
+        return generation;
+    }
+
+    /** Returns a cached statement for {@code sql}, parsing it on first use. */
+    public PreparedStatement prepare(String sql) throws SQLException {
+        return prepare(sql, Statement.NO_GENERATED_KEYS);
+    }
+
+    public PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+        PreparedStatement stmt = statements.get(sql, autoGeneratedKeys);
+        if (readOnly) {
+            QueryCancellation.register(stmt);
+        }
+        return stmt;
+    }
+
+    StatementCache.Stats statementStats() {
+        return statements.stats();
+    }
+
+    boolean isUsable() {
+        try {
+            return !connection.isClosed();
+        } catch (SQLException _) {
+            return false;
+        }
+    }
+
+    void close() {
+        statements.closeAll();
+        try {
+            connection.close();
+        } catch (SQLException _) {
+            // Ignore
+        }
+    }
+}
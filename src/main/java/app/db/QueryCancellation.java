@@ -0,0 +1,112 @@
+package app.db;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Cancels the database reads made by one unit of work. While {@link #run}
+ * executes, every read-only statement prepared on the calling thread is
+ * recorded; {@link #cancel} interrupts the one that is running via
+ * {@link Statement#cancel} and makes any later read in the same unit fail
+ * with an {@link SQLException}. Statements are forgotten as soon as their
+ * connection goes back to the pool, so a late cancel never reaches a query
+ * that another thread has started on the same connection.
+ * <p>
+ * Work handed to other threads runs under a {@link #child}, which is
+ * cancelled with its parent but can also be cancelled on its own.
+ */
+public final class QueryCancellation {
+    private static final ThreadLocal<QueryCancellation> CURRENT = new ThreadLocal<>();
+
+    private final List<Statement> statements = new ArrayList<>();
+    private final List<QueryCancellation> children = new ArrayList<>();
+    private boolean cancelled;
+
+    /** The cancellation bound to the calling thread by {@link #run}, or null outside one. */
+    public static QueryCancellation current() {
+        return CURRENT.get();
+    }
+
+    /** A cancellation for work this one hands to another thread; already cancelled if this one is. */
+    public synchronized QueryCancellation child() {
+        QueryCancellation child = new QueryCancellation();
+        if (cancelled) {
+            child.cancelled = true;
+        } else {
+            children.add(child);
+        }
+        return child;
+    }
+
+    /** Runs {@code work} on the calling thread with its reads bound to this cancellation. */
+    public <T> T run(Supplier<T> work) {
+        QueryCancellation outer = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return work.get();
+        } finally {
+            forget();
+            if (outer == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(outer);
+            }
+        }
+    }
+
+    public void cancel() {
+        List<QueryCancellation> toCancel;
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            for (Statement stmt : statements) {
+                try {
+                    stmt.cancel();
+                } catch (SQLException _) {
+                    // Statement already finished or closed
+                }
+            }
+            statements.clear();
+            toCancel = List.copyOf(children);
+            children.clear();
+        }
+        toCancel.forEach(QueryCancellation::cancel);
+    }
+
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    /** Records {@code stmt} for the current unit of work, if any; fails once it has been cancelled. */
+    static void register(Statement stmt) throws SQLException {
+        QueryCancellation current = CURRENT.get();
+        if (current == null) {
+            return;
+        }
+        synchronized (current) {
+            if (current.cancelled) {
+                throw new SQLException("Query cancelled");
+            }
+            if (!current.statements.contains(stmt)) {
+                current.statements.add(stmt);
+            }
+        }
+    }
+
+    /** Called when the calling thread hands its connection back to the pool. */
+    static void leaseEnded() {
+        QueryCancellation current = CURRENT.get();
+        if (current != null) {
+            current.forget();
+        }
+    }
+
+    private synchronized void forget() {
+        statements.clear();
+    }
+}
@@ -0,0 +1,130 @@
+package app.db;
+
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs blocking JDBC calls off the calling thread, one virtual thread per call.
+ * <p>
+ * {@link #coalesce} shares a single execution between callers asking the same
+ * question while it is still in flight. Every caller gets its own future, so one
+ * caller cancelling does not affect the others; the underlying call is only
+ * interrupted once every caller has cancelled.
+ */
+public final class QueryExecutor implements AutoCloseable {
+
+    @FunctionalInterface
+    public interface SqlCall<T> {
+        T call() throws SQLException;
+    }
+
+    private final ExecutorService executor;
+    private final ConcurrentHashMap<Object, Shared<?>> inFlight = new ConcurrentHashMap<>();
+
+    public QueryExecutor() {
+        this(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    QueryExecutor(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Runs {@code call} asynchronously. Cancelling the returned future interrupts
+     * the call if {@code interruptible}, otherwise it only stops waiting for it.
+     */
+    public <T> CompletableFuture<T> submit(SqlCall<T> call, boolean interruptible) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> complete(result, call));
+        result.whenComplete((v, ex) -> {
+            if (result.isCancelled()) {
+                task.cancel(interruptible);
+            }
+        });
+        return result;
+    }
+
+    /** Runs {@code call}, or joins an identical call (same {@code key}) that is already running. */
+    public <T> CompletableFuture<T> coalesce(Object key, SqlCall<T> call) {
+        while (true) {
+            Shared<T> created = new Shared<>();
+            @SuppressWarnings("unchecked")
+            Shared<T> shared = (Shared<T>) inFlight.computeIfAbsent(key, k -> created);
+            if (shared != created && !shared.join()) {
+                // Lost a race with the last waiter cancelling; it is being removed.
+                inFlight.remove(key, shared);
+                continue;
+            }
+            if (shared == created) {
+                created.result.whenComplete((v, ex) -> inFlight.remove(key, created));
+                created.task = executor.submit(() -> complete(created.result, call));
+            }
+            return shared.view(key, this);
+        }
+    }
+
+    /** Number of distinct coalesced calls currently running. */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private static <T> void complete(CompletableFuture<T> result, SqlCall<T> call) {
+        if (result.isDone()) {
+            return;
+        }
+        try {
+            result.complete(call.call());
+        } catch (Throwable ex) {
+            result.completeExceptionally(ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static final class Shared<T> {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final AtomicInteger waiters = new AtomicInteger(1);
+        volatile Future<?> task;
+
+        boolean join() {
+            int n;
+            do {
+                n = waiters.get();
+                if (n <= 0) {
+                    return false;
+                }
+            } while (!waiters.compareAndSet(n, n + 1));
+            return true;
+        }
+
+        CompletableFuture<T> view(Object key, QueryExecutor owner) {
+            CompletableFuture<T> view = new CompletableFuture<>();
+            result.whenComplete((v, ex) -> {
+                if (ex == null) {
+                    view.complete(v);
+                } else {
+                    view.completeExceptionally(ex);
+                }
+            });
+            view.whenComplete((v, ex) -> {
+                if (view.isCancelled() && waiters.decrementAndGet() == 0) {
+                    owner.inFlight.remove(key, this);
+                    Future<?> running = task;
+                    if (running != null) {
+                        running.cancel(true);
+                    }
+                    result.cancel(false);
+                }
+            });
+            return view;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package app.db;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Futures started on behalf of one page. When the page is left, {@link #cancelAll}
+ * cancels whatever is still pending so its results are never applied to a view
+ * that is no longer shown.
+ */
+public final class RequestScope {
+    private final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+
+    public <T> CompletableFuture<T> track(CompletableFuture<T> future) {
+        pending.add(future);
+        future.whenComplete((v, ex) -> pending.remove(future));
+        return future;
+    }
+
+    /** Cancels every tracked future that has not completed yet. */
+    public void cancelAll() {
+        for (CompletableFuture<?> future : pending) {
+            future.cancel(true);
+        }
+        pending.clear();
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+}
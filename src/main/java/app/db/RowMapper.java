@@ -0,0 +1,44 @@
+package app.db;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Maps the current row of a ResultSet. Mappers are produced by a {@link Compiler}
+ * once per ResultSet, after column positions are known, and may keep state
+ * across rows (for example to share one instance per repeated foreign key).
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    T map(ResultSet rs) throws SQLException;
+
+    @FunctionalInterface
+    interface Compiler<T> {
+        RowMapper<T> compile(ColumnIndex columns) throws SQLException;
+    }
+
+    /**
+     * Maps each remaining row and hands it to {@code sink} without collecting
+     * them; returns the number of rows delivered. The sink runs while the
+     * ResultSet is open, so it should not block.
+     */
+    static <T> int stream(ResultSet rs, Compiler<T> compiler, Consumer<? super T> sink) throws SQLException {
+        RowMapper<T> mapper = compiler.compile(ColumnIndex.of(rs));
+        int rows = 0;
+        while (rs.next()) {
+            sink.accept(mapper.map(rs));
+            rows++;
+        }
+        return rows;
+    }
+
+    static <T> List<T> list(ResultSet rs, Compiler<T> compiler) throws SQLException {
+        List<T> rows = new ArrayList<>();
+        stream(rs, compiler, rows::add);
+        return rows;
+    }
+}
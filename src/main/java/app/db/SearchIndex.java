@@ -0,0 +1,216 @@
+package app.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * FTS5 full-text index over posts, designs and artists. The virtual tables are
+ * keyed by the source row id (post_id, design_id, account_id) and kept in sync
+ * by triggers, so search never has to scan the base tables.
+ */
+public final class SearchIndex {
+
+    private static final String TOKENIZE = "tokenize = 'unicode61 remove_diacritics 2', prefix = '2 3'";
+
+    private static final String[] TABLES = {
+            "CREATE VIRTUAL TABLE IF NOT EXISTS post_fts USING fts5(caption, keywords, username, " + TOKENIZE + ")",
+            "CREATE VIRTUAL TABLE IF NOT EXISTS design_fts USING fts5(design_name, username, " + TOKENIZE + ")",
+            "CREATE VIRTUAL TABLE IF NOT EXISTS artist_fts USING fts5(username, biography, styles, " + TOKENIZE + ")"
+    };
+
+    private static final String[] BACKFILL = {
+            """
+            INSERT INTO post_fts (rowid, caption, keywords, username)
+            SELECT p.post_id, p.caption, p.keywords, acc.username
+              FROM Posts2 p
+              LEFT JOIN Accounts acc ON acc.account_id = p.account_id
+            """,
+            """
+            INSERT INTO design_fts (rowid, design_name, username)
+            SELECT d.design_id, d.design_name, acc.username
+              FROM Designs d
+              JOIN Artists art ON art.artist_id = d.artist_id
+              LEFT JOIN Accounts acc ON acc.account_id = art.account_id
+            """,
+            """
+            INSERT INTO artist_fts (rowid, username, biography, styles)
+            SELECT art.account_id, acc.username, art.biography,
+                   (SELECT group_concat(style_name, ' ') FROM ArtistTaggedStyles s WHERE s.account_id = art.account_id)
+              FROM Artists art
+              LEFT JOIN Accounts acc ON acc.account_id = art.account_id
+             GROUP BY art.account_id
+            """
+    };
+
+    private static final String[] TRIGGERS = {
+            """
+            CREATE TRIGGER IF NOT EXISTS posts_fts_ai AFTER INSERT ON Posts2 BEGIN
+                INSERT INTO post_fts (rowid, caption, keywords, username)
+                VALUES (new.post_id, new.caption, new.keywords,
+                        (SELECT username FROM Accounts WHERE account_id = new.account_id));
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS posts_fts_au AFTER UPDATE ON Posts2 BEGIN
+                DELETE FROM post_fts WHERE rowid = old.post_id;
+                INSERT INTO post_fts (rowid, caption, keywords, username)
+                VALUES (new.post_id, new.caption, new.keywords,
+                        (SELECT username FROM Accounts WHERE account_id = new.account_id));
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS posts_fts_ad AFTER DELETE ON Posts2 BEGIN
+                DELETE FROM post_fts WHERE rowid = old.post_id;
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS designs_fts_ai AFTER INSERT ON Designs BEGIN
+                INSERT INTO design_fts (rowid, design_name, username)
+                VALUES (new.design_id, new.design_name,
+                        (SELECT acc.username FROM Artists art JOIN Accounts acc ON acc.account_id = art.account_id
+                          WHERE art.artist_id = new.artist_id));
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS designs_fts_au AFTER UPDATE ON Designs BEGIN
+                DELETE FROM design_fts WHERE rowid = old.design_id;
+                INSERT INTO design_fts (rowid, design_name, username)
+                VALUES (new.design_id, new.design_name,
+                        (SELECT acc.username FROM Artists art JOIN Accounts acc ON acc.account_id = art.account_id
+                          WHERE art.artist_id = new.artist_id));
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS designs_fts_ad AFTER DELETE ON Designs BEGIN
+                DELETE FROM design_fts WHERE rowid = old.design_id;
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS artists_fts_ai AFTER INSERT ON Artists BEGIN
+                DELETE FROM artist_fts WHERE rowid = new.account_id;
+                INSERT INTO artist_fts (rowid, username, biography, styles)
+                VALUES (new.account_id,
+                        (SELECT username FROM Accounts WHERE account_id = new.account_id),
+                        new.biography,
+                        (SELECT group_concat(style_name, ' ') FROM ArtistTaggedStyles WHERE account_id = new.account_id));
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS artists_fts_au AFTER UPDATE ON Artists BEGIN
+                DELETE FROM artist_fts WHERE rowid = old.account_id;
+                INSERT INTO artist_fts (rowid, username, biography, styles)
+                VALUES (new.account_id,
+                        (SELECT username FROM Accounts WHERE account_id = new.account_id),
+                        new.biography,
+                        (SELECT group_concat(style_name, ' ') FROM ArtistTaggedStyles WHERE account_id = new.account_id));
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS artists_fts_ad AFTER DELETE ON Artists BEGIN
+                DELETE FROM artist_fts WHERE rowid = old.account_id;
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS artist_styles_fts_ai AFTER INSERT ON ArtistTaggedStyles BEGIN
+                UPDATE artist_fts
+                   SET styles = (SELECT group_concat(style_name, ' ') FROM ArtistTaggedStyles
+                                  WHERE account_id = new.account_id)
+                 WHERE rowid = new.account_id;
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS artist_styles_fts_ad AFTER DELETE ON ArtistTaggedStyles BEGIN
+                UPDATE artist_fts
+                   SET styles = (SELECT group_concat(style_name, ' ') FROM ArtistTaggedStyles
+                                  WHERE account_id = old.account_id)
+                 WHERE rowid = old.account_id;
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS accounts_fts_au AFTER UPDATE OF username ON Accounts BEGIN
+                UPDATE post_fts SET username = new.username
+                 WHERE rowid IN (SELECT post_id FROM Posts2 WHERE account_id = new.account_id);
+                UPDATE design_fts SET username = new.username
+                 WHERE rowid IN (SELECT d.design_id FROM Designs d JOIN Artists art ON art.artist_id = d.artist_id
+                                  WHERE art.account_id = new.account_id);
+                UPDATE artist_fts SET username = new.username WHERE rowid = new.account_id;
+            END
+            """
+    };
+
+    private SearchIndex() {
+    }
+
+    /**
+     * Creates the FTS tables and triggers if they are missing and backfills any
+     * table that was just created. Safe to call on every startup. Runs inside
+     * the caller's transaction.
+     */
+    public static void ensure(Connection connection) throws SQLException {
+        boolean created = !tableExists(connection, "post_fts");
+        try (Statement stmt = connection.createStatement()) {
+            for (String ddl : TABLES) {
+                stmt.execute(ddl);
+            }
+            if (created) {
+                for (String sql : BACKFILL) {
+                    stmt.execute(sql);
+                }
+            }
+            for (String ddl : TRIGGERS) {
+                stmt.execute(ddl);
+            }
+        }
+    }
+
+    /**
+     * Turns free text into an FTS5 MATCH expression: every word becomes a quoted
+     * prefix term and all terms must match. Returns {@code null} when the input
+     * has no searchable characters.
+     */
+    public static String toMatchQuery(String raw) {
+        if (raw == null) {
+            return null;
+        }
+        List<String> terms = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < raw.length(); i++) {
+            char ch = raw.charAt(i);
+            if (Character.isLetterOrDigit(ch)) {
+                current.append(ch);
+            } else if (!current.isEmpty()) {
+                terms.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (!current.isEmpty()) {
+            terms.add(current.toString());
+        }
+        if (terms.isEmpty()) {
+            return null;
+        }
+        StringBuilder match = new StringBuilder();
+        for (String term : terms) {
+            if (!match.isEmpty()) {
+                match.append(' ');
+            }
+            match.append('"').append(term).append("\"*");
+        }
+        return match.toString();
+    }
+
+    private static boolean tableExists(Connection connection, String name) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = ?")) {
+            stmt.setString(1, name);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package app.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * R*Tree index over artist work locations, keyed by artist_id and kept in sync
+ * by triggers. Artists without coordinates are left out. The R*Tree stores
+ * 32-bit floats rounded outwards, so it may return a few extra candidates near
+ * the edge of a box; callers re-check against the exact Artists columns.
+ */
+public final class SpatialIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    private static final String TABLE =
+            "CREATE VIRTUAL TABLE IF NOT EXISTS artist_location_rtree USING rtree(id, min_lat, max_lat, min_lon, max_lon)";
+
+    private static final String BACKFILL = """
+            INSERT INTO artist_location_rtree (id, min_lat, max_lat, min_lon, max_lon)
+            SELECT artist_id, work_latitude, work_latitude, work_longitude, work_longitude
+              FROM Artists
+             WHERE work_latitude IS NOT NULL AND work_longitude IS NOT NULL
+            """;
+
+    private static final String[] TRIGGERS = {
+            """
+            CREATE TRIGGER IF NOT EXISTS artists_rtree_ai AFTER INSERT ON Artists
+            WHEN new.work_latitude IS NOT NULL AND new.work_longitude IS NOT NULL BEGIN
+                INSERT INTO artist_location_rtree (id, min_lat, max_lat, min_lon, max_lon)
+                VALUES (new.artist_id, new.work_latitude, new.work_latitude, new.work_longitude, new.work_longitude);
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS artists_rtree_au AFTER UPDATE OF artist_id, work_latitude, work_longitude ON Artists BEGIN
+                DELETE FROM artist_location_rtree WHERE id = old.artist_id;
+                INSERT INTO artist_location_rtree (id, min_lat, max_lat, min_lon, max_lon)
+                SELECT new.artist_id, new.work_latitude, new.work_latitude, new.work_longitude, new.work_longitude
+                 WHERE new.work_latitude IS NOT NULL AND new.work_longitude IS NOT NULL;
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS artists_rtree_ad AFTER DELETE ON Artists BEGIN
+                DELETE FROM artist_location_rtree WHERE id = old.artist_id;
+            END
+            """
+    };
+
+    /** Latitude/longitude rectangle in degrees. */
+    public record Box(double minLat, double maxLat, double minLon, double maxLon) {
+    }
+
+    private SpatialIndex() {
+    }
+
+    /**
+     * Creates the R*Tree and its triggers if missing and backfills it when it was
+     * just created. Runs inside the caller's transaction.
+     */
+    public static void ensure(Connection connection) throws SQLException {
+        boolean created = !tableExists(connection, "artist_location_rtree");
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute(TABLE);
+            if (created) {
+                stmt.execute(BACKFILL);
+            }
+            for (String ddl : TRIGGERS) {
+                stmt.execute(ddl);
+            }
+        }
+    }
+
+    /**
+     * Smallest box containing the circle of {@code radiusKm} around a point. Near
+     * the poles the longitude span widens to the full range; boxes are not split
+     * across the antimeridian, they are clamped to [-180, 180] instead.
+     */
+    public static Box around(double latitude, double longitude, double radiusKm) {
+        double dLat = radiusKm / KM_PER_DEGREE;
+        double minLat = Math.max(-90.0, latitude - dLat);
+        double maxLat = Math.min(90.0, latitude + dLat);
+        double cos = Math.cos(Math.toRadians(Math.max(Math.abs(minLat), Math.abs(maxLat))));
+        if (cos <= 1e-9 || maxLat >= 90.0 || minLat <= -90.0) {
+            return new Box(minLat, maxLat, -180.0, 180.0);
+        }
+        double dLon = Math.min(180.0, dLat / cos);
+        return new Box(minLat, maxLat, Math.max(-180.0, longitude - dLon), Math.min(180.0, longitude + dLon));
+    }
+
+    /** Great-circle (haversine) distance in kilometres. */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private static boolean tableExists(Connection connection, String name) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = ?")) {
+            stmt.setString(1, name);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+}
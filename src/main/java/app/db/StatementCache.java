@@ -0,0 +1,66 @@
+package app.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Prepared-statement registry for one connection, keyed by SQL text. Each
+ * statement is parsed once, then handed back with its parameters cleared.
+ * Not thread-safe; it lives inside a thread-confined {@link PooledConnection}.
+ */
+public final class StatementCache {
+
+    public record Stats(long hits, long misses, long openHandles) {
+        public Stats plus(Stats other) {
+            return new Stats(hits + other.hits, misses + other.misses, openHandles + other.openHandles);
+        }
+    }
+
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder openHandles = new LongAdder();
+
+    StatementCache(Connection connection) {
+        this.connection = connection;
+    }
+
+    PreparedStatement get(String sql, int autoGeneratedKeys) throws SQLException {
+        String key = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS ? "keys:" + sql : sql;
+        PreparedStatement stmt = statements.get(key);
+        if (stmt != null && !stmt.isClosed()) {
+            hits.increment();
+            stmt.clearParameters();
+            return stmt;
+        }
+        misses.increment();
+        stmt = connection.prepareStatement(sql, autoGeneratedKeys);
+        if (statements.put(key, stmt) == null) {
+            openHandles.increment();
+        }
+        return stmt;
+    }
+
+    /** Safe to call from any thread; only the counters are read. */
+    Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), openHandles.sum());
+    }
+
+    void closeAll() {
+        for (PreparedStatement stmt : statements.values()) {
+            try {
+                stmt.close();
+            } catch (SQLException _) {
+                // Ignore
+            }
+        }
+        statements.clear();
+        openHandles.reset();
+    }
+}
@@ -1,6 +1,6 @@
 package app.entity;
 
-import app.util.ImageResolver;
+import app.util.ImageHandle;
 import javafx.scene.image.Image;
 
 import java.util.List;
@@ -10,7 +10,7 @@ public class Account {
     private String username;
     private String password;
     private String profilePictureUrl;
-    private Image profilePicture;
+    private ImageHandle profilePicture;
     private double homeLatitude;
     private double homeLongitude;
     private List<String> stylePreferences;
@@ -24,13 +24,7 @@ public class Account {
         this.homeLatitude = homeLatitude;
         this.homeLongitude = homeLongitude;
         this.stylePreferences = stylePreferences;
-        try {
-            this.profilePicture = ImageResolver.loadAny(
-                    profilePictureUrl,
-                    "/db/db_resources/" + profilePictureUrl);
-        } catch (IllegalArgumentException _) {
-            this.profilePicture = null;
-        }
+        this.profilePicture = Profile.pictureHandle(profilePictureUrl);
     }
 
     public int getAccountId() {
@@ -50,7 +44,7 @@ public class Account {
     }
 
     public Image getprofilePicture() {
-        return profilePicture;
+        return profilePicture.get();
     }
 
     public double gethomeLatitude() {
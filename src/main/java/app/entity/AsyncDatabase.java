@@ -0,0 +1,90 @@
+package app.entity;
+
+import app.db.QueryExecutor;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking front for {@link DatabaseConnector}. Every call runs on a virtual
+ * thread and completes its future there, so UI callers hop back with
+ * {@code thenAcceptAsync(..., Platform::runLater)}.
+ * <p>
+ * Reads with identical arguments that overlap in time share one query. Writes
+ * are never coalesced, and cancelling a write only stops waiting for it; the
+ * write itself still finishes or rolls back on its own.
+ */
+public final class AsyncDatabase {
+
+    private static final QueryExecutor EXECUTOR = new QueryExecutor();
+
+    private AsyncDatabase() {
+    }
+
+    public static CompletableFuture<Profile> getFullProfile(Profile profileSkeleton) {
+        Object key = profileSkeleton.getAccountId() > 0
+                ? key("getFullProfile", profileSkeleton.getAccountId())
+                : key("getFullProfile", profileSkeleton.getUsername());
+        return EXECUTOR.coalesce(key, () -> {
+            Profile profile = DatabaseConnector.getFullProfile(profileSkeleton);
+            if (profile != null) {
+                // The profile page shows the picture right away; decode it here rather than on the FX thread.
+                profile.getProfilePicture();
+            }
+            return profile;
+        });
+    }
+
+    public static CompletableFuture<Account> getAccountByUsername(String username) {
+        return EXECUTOR.coalesce(key("getAccountByUsername", username),
+                () -> DatabaseConnector.getAccountByUsername(username));
+    }
+
+    public static CompletableFuture<Profile> getProfileByUsername(String username) {
+        return EXECUTOR.coalesce(key("getProfileByUsername", username),
+                () -> DatabaseConnector.getProfileByUsername(username));
+    }
+
+    public static CompletableFuture<List<Profile>> getProfilesLike(String pattern) {
+        return EXECUTOR.coalesce(key("getProfilesLike", pattern),
+                () -> DatabaseConnector.getProfilesLike(pattern));
+    }
+
+    public static CompletableFuture<List<Profile>> getProfilesNear(double latitude, double longitude,
+            double radiusKm, int limit) {
+        return EXECUTOR.coalesce(key("getProfilesNear", latitude, longitude, radiusKm, limit),
+                () -> DatabaseConnector.getProfilesNear(latitude, longitude, radiusKm, limit));
+    }
+
+    public static CompletableFuture<List<Review>> loadReviews(int accountId) {
+        return EXECUTOR.coalesce(key("loadReviews", accountId), () -> DatabaseConnector.loadReviews(accountId));
+    }
+
+    public static CompletableFuture<Void> modifyUser(Profile profile) {
+        return EXECUTOR.submit(() -> {
+            DatabaseConnector.modifyUser(profile);
+            return null;
+        }, false);
+    }
+
+    public static CompletableFuture<Post> addArtistPost(int accountId, String caption, String imageUrl,
+            String keywords) {
+        return EXECUTOR.submit(() -> DatabaseConnector.addArtistPost(accountId, caption, imageUrl, keywords), false);
+    }
+
+    public static CompletableFuture<Integer> addArtistDesign(int accountId, String designName,
+            String designPictureUrl) {
+        return EXECUTOR.submit(() -> DatabaseConnector.addArtistDesign(accountId, designName, designPictureUrl),
+                false);
+    }
+
+    /** Runs any other blocking database call off the caller's thread. */
+    public static <T> CompletableFuture<T> submit(QueryExecutor.SqlCall<T> call) {
+        return EXECUTOR.submit(call, false);
+    }
+
+    private static Object key(Object... parts) {
+        return Arrays.asList(parts);
+    }
+}
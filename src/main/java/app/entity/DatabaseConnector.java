@@ -1,14 +1,30 @@
 package app.entity;
 
+import app.db.ColumnIndex;
+import app.db.ConnectionPool;
+import app.db.Migrations;
+import app.db.PooledConnection;
+import app.db.RowMapper;
+import app.db.SearchIndex;
+import app.db.SpatialIndex;
+import app.db.StatementCache;
+
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 public class DatabaseConnector {
-    private static Connection conn;
     private static final String SQLITE_DB_FILENAME = "tattui.db";
     private static final String SQLITE_DB_URL = "jdbc:sqlite:" + SQLITE_DB_FILENAME;
+    private static final int READER_POOL_SIZE = Integer.getInteger("tattui.db.readers", 4);
     private static final String ACCOUNT_ID_STRING = "account_id";
     private static final String USERNAME_STRING = "username";
     private static final String PROFILE_PICTURE_URL_STRING = "profile_picture_url";
@@ -18,150 +34,356 @@ public class DatabaseConnector {
     private static final String WORK_LONGITUDE_STRING = "work_longitude";
     private static final String WORK_LATITUDE_STRING = "work_latitude";
 
+    // Lookup queries that must stay index-backed; see HotQueryPlanTest.
+    static final String ACCOUNT_BY_USERNAME_SQL = """
+            SELECT *
+            FROM Accounts AS A
+            LEFT JOIN AccountStylePreferences AS ASP ON ASP.account_id = A.account_id
+            WHERE A.username = ?;
+            """;
+
+    static final String ARTIST_BY_USERNAME_SQL = """
+            SELECT A.account_id
+              FROM Artists AS A
+              JOIN Accounts AS Acc ON Acc.account_id = A.account_id
+             WHERE Acc.username = ?
+            """;
+
+    static final String ARTISTS_IN_BOUNDS_SQL = """
+            SELECT A.account_id
+              FROM artist_location_rtree AS R
+              JOIN Artists AS A ON A.artist_id = R.id
+             WHERE R.max_lat >= ? AND R.min_lat <= ? AND R.max_lon >= ? AND R.min_lon <= ?
+               AND A.work_latitude >= ? AND A.work_latitude <= ? AND A.work_longitude >= ? AND A.work_longitude <= ?
+            """;
+
+    static final String ARTIST_LOCATIONS_IN_BOX_SQL = """
+            SELECT A.account_id, A.work_latitude, A.work_longitude
+              FROM artist_location_rtree AS R
+              JOIN Artists AS A ON A.artist_id = R.id
+             WHERE R.max_lat >= ? AND R.min_lat <= ? AND R.max_lon >= ? AND R.min_lon <= ?
+            """;
+
+    static final String PROFILE_ROWS_SQL = """
+            SELECT A.account_id, Acc.username, Acc.profile_picture_url,
+                   A.biography, A.work_address, A.work_longitude, A.work_latitude
+              FROM Artists AS A
+              JOIN Accounts AS Acc ON Acc.account_id = A.account_id
+             WHERE A.account_id IN (SELECT value FROM json_each(?))
+            """;
+
+    static final String PROFILE_STYLES_SQL = """
+            SELECT account_id, style_name
+              FROM ArtistTaggedStyles
+             WHERE account_id IN (SELECT value FROM json_each(?))
+            """;
+
+    static final String PROFILE_POSTS_SQL = """
+            SELECT post_id, account_id, caption, post_picture_url, keywords
+              FROM Posts2
+             WHERE account_id IN (SELECT value FROM json_each(?))
+             ORDER BY post_id DESC
+            """;
+
+    static final String REVIEW_SUMMARIES_SQL = """
+            SELECT a.account_id, COUNT(r.review_id), AVG(r.rating)
+              FROM Reviews r
+              JOIN Artists a ON a.artist_id = r.reviewee_id
+             WHERE a.account_id IN (SELECT value FROM json_each(?))
+             GROUP BY a.account_id
+            """;
+
+    static final String ARTIST_ID_FOR_ACCOUNT_SQL = "SELECT artist_id FROM Artists WHERE account_id = ?";
+
+    static final String REVIEWS_FOR_ARTIST_SQL = """
+            SELECT r.review_id,
+                   r.reviewer_id,
+                   r.reviewee_id,
+                   r.review_text,
+                   r.rating,
+                   r.review_picture_url,
+                   acc.username,
+                   acc.profile_picture_url
+              FROM Reviews r
+              JOIN Artists a ON a.artist_id = r.reviewee_id
+              JOIN Accounts acc ON acc.account_id = r.reviewer_id
+             WHERE a.account_id = ?
+             ORDER BY r.review_id DESC
+            """;
+
+    static final String POSTS_BEFORE_SQL = """
+            SELECT
+                p.post_id            AS id,
+                p.caption            AS caption,
+                p.post_picture_url   AS postURL,
+                acc.account_id       AS acc_id,
+                acc.username         AS username,
+                acc.profile_picture_url AS profile_picture_url,
+                art.biography        AS biography,
+                art.work_address     AS work_address,
+                art.work_longitude   AS work_longitude,
+                art.work_latitude    AS work_latitude
+            FROM Posts2 p
+            LEFT JOIN Accounts acc ON acc.account_id = p.account_id
+            LEFT JOIN Artists art  ON art.account_id = acc.account_id
+            WHERE p.post_id < ?
+            ORDER BY p.post_id DESC
+            LIMIT ?
+            """;
+
+    static final String DESIGNS_BEFORE_SQL = """
+            SELECT
+                d.design_id          AS id,
+                d.design_name        AS name,
+                d.design_picture_url AS picture_url,
+                acc.account_id       AS acc_id,
+                acc.username         AS username,
+                acc.profile_picture_url AS profile_picture_url,
+                art.biography        AS biography,
+                art.work_address     AS work_address,
+                art.work_longitude   AS work_longitude,
+                art.work_latitude    AS work_latitude
+            FROM Designs d
+            JOIN Artists art ON art.artist_id = d.artist_id
+            JOIN Accounts acc ON acc.account_id = art.account_id
+            WHERE d.design_id < ?
+            ORDER BY d.design_id DESC
+            LIMIT ?
+            """;
+
+    private static final String INSERT_POST_SQL = """
+            INSERT INTO Posts2 (account_id, caption, post_picture_url, keywords)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_DESIGN_SQL = """
+            INSERT INTO Designs (artist_id, design_name, design_picture_url)
+            VALUES (?, ?, ?)
+            """;
+
+    private static final String INSERT_REVIEW_SQL = """
+            INSERT INTO Reviews (reviewer_id, reviewee_id, review_text, rating, review_picture_url)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    static final List<String> HOT_QUERIES = List.of(
+            ACCOUNT_BY_USERNAME_SQL,
+            ARTIST_BY_USERNAME_SQL,
+            ARTISTS_IN_BOUNDS_SQL,
+            ARTIST_LOCATIONS_IN_BOX_SQL,
+            PROFILE_ROWS_SQL,
+            PROFILE_STYLES_SQL,
+            PROFILE_POSTS_SQL,
+            REVIEW_SUMMARIES_SQL,
+            ARTIST_ID_FOR_ACCOUNT_SQL,
+            REVIEWS_FOR_ARTIST_SQL,
+            POSTS_BEFORE_SQL,
+            DESIGNS_BEFORE_SQL);
+
+    private static volatile ConnectionPool pool = new ConnectionPool(SQLITE_DB_URL,
+            Math.max(1, READER_POOL_SIZE));
+
+    /** What a committed write touched; see {@link #addChangeListener}. */
+    public enum Change { POSTS, DESIGNS, PROFILES }
+
+    private static final List<Consumer<Change>> CHANGE_LISTENERS = new CopyOnWriteArrayList<>();
+
     private DatabaseConnector() {
     }
 
     static {
-        conn = openConnection();
-    }
-
-    public static synchronized boolean ensureConnection() {
-        if (isConnected()) {
-            return true;
+        if (pool.ensureOpen()) {
+            initSchema();
         }
-        closeQuietly();
-        conn = openConnection();
-        return conn != null;
     }
 
-    private static boolean isConnected() {
-        if (conn == null) {
-            return false;
-        }
+    private static void initSchema() {
         try {
-            return !conn.isClosed();
+            write(c -> {
+                Migrations.migrate(c.connection());
+                return null;
+            });
         } catch (SQLException _) {
-            return false;
+            // Queries still work without the search index or hot-path indexes, just slower.
         }
     }
 
-    private static Connection openConnection() {
-        try {
-            return createConnection();
-        } catch (SQLException _) {
-            return null;
-        }
+    public static boolean ensureConnection() {
+        return pool.ensureOpen();
     }
 
-    private static void closeQuietly() {
-        if (conn != null) {
-            try {
-                conn.close();
-            } catch (SQLException _) {
-                // Ignore
-            } finally {
-                conn = null;
-            }
-        }
+    /** Hit/miss/open-handle counters for the per-connection statement caches. */
+    public static StatementCache.Stats statementStats() {
+        return pool.statementStats();
     }
 
-    private static Connection createConnection() throws SQLException {
-        String dbUrl = SQLITE_DB_URL;
+    /**
+     * Registers {@code listener} to run on the writing thread after each committed
+     * write to posts, designs or profile data, so caches of query results can drop
+     * exactly what went stale.
+     */
+    public static void addChangeListener(Consumer<Change> listener) {
+        CHANGE_LISTENERS.add(listener);
+    }
 
-        Connection sqliteConnection = DriverManager.getConnection(dbUrl);
-        try (Statement pragmaStmt = sqliteConnection.createStatement()) {
-            pragmaStmt.execute("PRAGMA foreign_keys = ON;");
+    private static void changed(Change change) {
+        for (Consumer<Change> listener : CHANGE_LISTENERS) {
+            listener.accept(change);
         }
-        return sqliteConnection;
+    }
+
+    /** Closes every cached statement and pooled connection; the pool reopens on next use. */
+    public static void shutdown() {
+        pool.close();
+    }
+
+    /** Sends every later call to {@code replacement} and returns the pool it replaced; for tests. */
+    static ConnectionPool usePool(ConnectionPool replacement) {
+        ConnectionPool previous = pool;
+        pool = replacement;
+        return previous;
+    }
+
+    private static <T> T read(ConnectionPool.SqlWork<T> work) throws SQLException {
+        return pool.read(work);
+    }
+
+    private static <T> T write(ConnectionPool.SqlWork<T> work) throws SQLException {
+        return pool.write(work);
     }
 
     public static Profile getFullProfile(Profile profileSkeleton) throws SQLException {
-        Profile fullProfile = getProfileByUsername(profileSkeleton.getUsername());
+        int accountId = profileSkeleton.getAccountId();
+        Profile fullProfile = accountId > 0
+                ? hydrateProfiles(List.of(accountId)).stream().findFirst().orElse(null)
+                : getProfileByUsername(profileSkeleton.getUsername());
         if (fullProfile == null) {
             return profileSkeleton;
         }
-        fullProfile.setArtistPosts(loadPostsForAccount(fullProfile.getAccountId()));
         return fullProfile;
     }
 
     public static Post addArtistPost(int accountId, String caption, String imageUrl, String keywords)
             throws SQLException {
+        return addArtistPosts(accountId, List.of(new PostDraft(caption, imageUrl, keywords))).getFirst();
+    }
+
+    /**
+     * Inserts all posts for one account in a single transaction and returns them
+     * with their generated ids, in input order. Either every row is written or none.
+     */
+    public static List<Post> addArtistPosts(int accountId, List<PostDraft> drafts) throws SQLException {
         if (accountId <= 0) {
             throw new SQLException("Account id must be positive");
         }
-        if (imageUrl == null || imageUrl.isBlank()) {
-            throw new SQLException("Image URL is required");
+        for (PostDraft draft : drafts) {
+            if (draft.imageUrl() == null || draft.imageUrl().isBlank()) {
+                throw new SQLException("Image URL is required");
+            }
         }
-        if (!ensureConnection()) {
-            throw new SQLException("Unable to obtain database connection");
+        if (drafts.isEmpty()) {
+            return List.of();
         }
-        String sql = """
-                INSERT INTO Posts2 (account_id, caption, post_picture_url, keywords)
-                VALUES (?, ?, ?, ?)
-                """;
-        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            stmt.setInt(1, accountId);
-            stmt.setString(2, caption);
-            stmt.setString(3, imageUrl);
-            stmt.setString(4, keywords);
-            stmt.executeUpdate();
-            try (ResultSet keys = stmt.getGeneratedKeys()) {
-                if (keys.next()) {
-                    int postId = keys.getInt(1);
-                    return new Post(postId, caption, imageUrl, accountId, keywords);
-                }
+        List<Post> inserted = inTransaction(c -> {
+            PreparedStatement stmt = c.prepare(INSERT_POST_SQL, Statement.RETURN_GENERATED_KEYS);
+            List<Post> posts = new ArrayList<>(drafts.size());
+            for (PostDraft draft : drafts) {
+                stmt.setInt(1, accountId);
+                stmt.setString(2, draft.caption());
+                stmt.setString(3, draft.imageUrl());
+                stmt.setString(4, draft.keywords());
+                stmt.executeUpdate();
+                int postId = generatedKey(stmt, "Failed to create post record");
+                posts.add(new Post(postId, draft.caption(), draft.imageUrl(), accountId, draft.keywords()));
             }
-        }
-        throw new SQLException("Failed to create post record");
+            return posts;
+        });
+        changed(Change.POSTS);
+        return inserted;
     }
 
     public static int addArtistDesign(int accountId, String designName, String designPictureUrl) throws SQLException {
+        return addArtistDesigns(accountId, List.of(new DesignDraft(designName, designPictureUrl))).getFirst();
+    }
+
+    /**
+     * Inserts all designs for one artist account in a single transaction and
+     * returns the generated design ids in input order.
+     */
+    public static List<Integer> addArtistDesigns(int accountId, List<DesignDraft> drafts) throws SQLException {
         if (accountId <= 0) {
             throw new SQLException("Account id must be positive");
         }
-        if (designName == null || designName.isBlank()) {
-            throw new SQLException("Design name is required");
-        }
-        if (designPictureUrl == null || designPictureUrl.isBlank()) {
-            throw new SQLException("Design picture URL is required");
+        for (DesignDraft draft : drafts) {
+            if (draft.name() == null || draft.name().isBlank()) {
+                throw new SQLException("Design name is required");
+            }
+            if (draft.pictureUrl() == null || draft.pictureUrl().isBlank()) {
+                throw new SQLException("Design picture URL is required");
+            }
         }
-        if (!ensureConnection()) {
-            throw new SQLException("Unable to obtain database connection");
+        if (drafts.isEmpty()) {
+            return List.of();
         }
+        List<Integer> inserted = inTransaction(c -> {
+            Integer artistId = findArtistIdForAccount(accountId);
+            if (artistId == null) {
+                throw new SQLException("Artist profile not found for account: " + accountId);
+            }
+            PreparedStatement stmt = c.prepare(INSERT_DESIGN_SQL, Statement.RETURN_GENERATED_KEYS);
+            List<Integer> ids = new ArrayList<>(drafts.size());
+            for (DesignDraft draft : drafts) {
+                stmt.setInt(1, artistId);
+                stmt.setString(2, draft.name());
+                stmt.setString(3, draft.pictureUrl());
+                stmt.executeUpdate();
+                ids.add(generatedKey(stmt, "Failed to create design record"));
+            }
+            return ids;
+        });
+        changed(Change.DESIGNS);
+        return inserted;
+    }
 
-        Integer artistId = findArtistIdForAccount(accountId);
-        if (artistId == null) {
-            throw new SQLException("Artist profile not found for account: " + accountId);
-        }
+    /**
+     * Runs {@code work} on the writer inside one transaction: one commit (and one
+     * WAL sync) for the whole unit instead of one per statement.
+     */
+    private static <T> T inTransaction(ConnectionPool.SqlWork<T> work) throws SQLException {
+        return write(c -> {
+            Connection conn = c.connection();
+            boolean previousAutoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                T result = work.apply(c);
+                conn.commit();
+                return result;
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(previousAutoCommit);
+            }
+        });
+    }
 
-        String sql = """
-                INSERT INTO Designs (artist_id, design_name, design_picture_url)
-                VALUES (?, ?, ?)
-                """;
-        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            stmt.setInt(1, artistId);
-            stmt.setString(2, designName);
-            stmt.setString(3, designPictureUrl);
-            stmt.executeUpdate();
-            try (ResultSet keys = stmt.getGeneratedKeys()) {
-                if (keys.next()) {
-                    return keys.getInt(1);
-                }
+    private static int generatedKey(PreparedStatement stmt, String failureMessage) throws SQLException {
+        try (ResultSet keys = stmt.getGeneratedKeys()) {
+            if (keys.next()) {
+                return keys.getInt(1);
             }
         }
-        throw new SQLException("Failed to create design record");
+        throw new SQLException(failureMessage);
     }
 
     public static Account getAccountByUsername(String queryUsername) throws SQLException {
-        PreparedStatement stmt = DatabaseConnector.conn.prepareStatement("""
-                SELECT *
-                FROM Accounts AS A
-                LEFT JOIN AccountStylePreferences AS ASP ON ASP.account_id = A.account_id
-                WHERE A.username = ?;
-                """);
-        stmt.setString(1, queryUsername);
-        ResultSet rs = stmt.executeQuery();
-        return convertToAccount(rs);
+        return read(c -> {
+            PreparedStatement stmt = c.prepare(ACCOUNT_BY_USERNAME_SQL);
+            stmt.setString(1, queryUsername);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return convertToAccount(rs);
+            }
+        });
     }
 
     private static Account convertToAccount(ResultSet rs) throws SQLException {
@@ -183,157 +405,302 @@ public class DatabaseConnector {
     }
 
     public static Profile getProfileByUsername(String queryUsername) throws SQLException {
-        PreparedStatement profileQueryStatement = DatabaseConnector.conn.prepareStatement("""
-                SELECT *
-                  FROM Artists AS A
-                  LEFT JOIN ArtistTaggedStyles AS ATS ON ATS.account_id = A.account_id
-                  LEFT JOIN Accounts AS Acc ON Acc.account_id = A.account_id
-                 WHERE username = ? ;
-                """);
-        profileQueryStatement.setString(1, queryUsername);
-        ResultSet rs = profileQueryStatement.executeQuery();
-        List<Profile> artistProfilesList = convertToArtistProfiles(rs);
-        Profile profile = artistProfilesList.isEmpty() ? null : artistProfilesList.getFirst();
-        if (profile != null) {
-            profile.setArtistPosts(loadPostsForAccount(profile.getAccountId()));
+        List<Integer> ids = read(c -> {
+            PreparedStatement stmt = c.prepare(ARTIST_BY_USERNAME_SQL);
+            stmt.setString(1, queryUsername);
+            return collectAccountIds(stmt);
+        });
+        List<Profile> profiles = hydrateProfiles(ids);
+        return profiles.isEmpty() ? null : profiles.getFirst();
+    }
+
+    /** Account id of the artist with this username, or {@code null} if there is no such artist. */
+    public static Integer findArtistAccountId(String username) throws SQLException {
+        List<Integer> ids = read(c -> {
+            PreparedStatement stmt = c.prepare(ARTIST_BY_USERNAME_SQL);
+            stmt.setString(1, username);
+            return collectAccountIds(stmt);
+        });
+        return ids.isEmpty() ? null : ids.getFirst();
+    }
+
+    /**
+     * Artists whose username, biography or styles match {@code pattern}, best
+     * match first. A blank pattern returns every artist.
+     */
+    public static List<Profile> getProfilesLike(String pattern) throws SQLException {
+        return hydrateProfiles(artistIdsLike(pattern), true);
+    }
+
+    /**
+     * Same artists as {@link #getProfilesLike}, for listings such as Explore's
+     * artist cards: styles and review summary are loaded, posts are not.
+     */
+    public static List<Profile> getProfileCardsLike(String pattern) throws SQLException {
+        return hydrateProfiles(artistIdsLike(pattern), false);
+    }
+
+    private static List<Integer> artistIdsLike(String pattern) throws SQLException {
+        String match = SearchIndex.toMatchQuery(pattern);
+        return read(c -> {
+            PreparedStatement stmt;
+            if (match == null) {
+                stmt = c.prepare("SELECT account_id FROM Artists ORDER BY account_id");
+            } else {
+                stmt = c.prepare("""
+                        SELECT rowid
+                          FROM artist_fts
+                         WHERE artist_fts MATCH ?
+                         ORDER BY bm25(artist_fts, 3.0, 1.0, 2.0)
+                        """);
+                stmt.setString(1, match);
+            }
+            return collectAccountIds(stmt);
+        });
+    }
+
+    public static List<Profile> getProfilesWithinBounds(double latitudeFrom, double latitudeTo, double longitudeFrom,
+            double longitudeTo) throws SQLException {
+        List<Integer> ids = read(c -> {
+            PreparedStatement stmt = c.prepare(ARTISTS_IN_BOUNDS_SQL);
+            for (int offset : new int[] {0, 4}) {
+                stmt.setDouble(offset + 1, latitudeFrom);
+                stmt.setDouble(offset + 2, latitudeTo);
+                stmt.setDouble(offset + 3, longitudeFrom);
+                stmt.setDouble(offset + 4, longitudeTo);
+            }
+            return collectAccountIds(stmt);
+        });
+        return hydrateProfiles(ids);
+    }
+
+    /**
+     * Up to {@code limit} artists whose work location lies within {@code radiusKm}
+     * of the given point, nearest first. The R*Tree narrows the search to the
+     * bounding box of the circle; only those candidates are measured exactly.
+     */
+    public static List<Profile> getProfilesNear(double latitude, double longitude, double radiusKm, int limit)
+            throws SQLException {
+        if (radiusKm < 0 || limit <= 0) {
+            return Collections.emptyList();
         }
-        return profile;
+        SpatialIndex.Box box = SpatialIndex.around(latitude, longitude, radiusKm);
+        List<Integer> ids = read(c -> {
+            PreparedStatement stmt = c.prepare(ARTIST_LOCATIONS_IN_BOX_SQL);
+            stmt.setDouble(1, box.minLat());
+            stmt.setDouble(2, box.maxLat());
+            stmt.setDouble(3, box.minLon());
+            stmt.setDouble(4, box.maxLon());
+            List<NearbyArtist> nearby = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    double distance = SpatialIndex.distanceKm(latitude, longitude, rs.getDouble(2), rs.getDouble(3));
+                    if (distance <= radiusKm) {
+                        nearby.add(new NearbyArtist(rs.getInt(1), distance));
+                    }
+                }
+            }
+            nearby.sort(Comparator.comparingDouble(NearbyArtist::distanceKm)
+                    .thenComparingInt(NearbyArtist::accountId));
+            LinkedHashSet<Integer> nearest = new LinkedHashSet<>();
+            for (int i = 0; i < nearby.size() && nearest.size() < limit; i++) {
+                nearest.add(nearby.get(i).accountId());
+            }
+            return List.copyOf(nearest);
+        });
+        return hydrateProfiles(ids);
     }
 
-    private static List<Profile> convertToArtistProfiles(ResultSet rs) throws SQLException {
-        if (!rs.next()) {
+    private record NearbyArtist(int accountId, double distanceKm) {
+    }
+
+    /**
+     * Loads complete artist profiles (styles, posts and review summary) for many
+     * accounts at once. The cost is four set-based queries no matter how many ids
+     * are passed; ids are bound as one JSON array so each query stays cacheable.
+     * Profiles come back in the order the ids were given; unknown ids are skipped.
+     */
+    public static List<Profile> hydrateProfiles(Collection<Integer> accountIds) throws SQLException {
+        return hydrateProfiles(accountIds, true);
+    }
+
+    private static List<Profile> hydrateProfiles(Collection<Integer> accountIds, boolean withPosts)
+            throws SQLException {
+        if (accountIds == null || accountIds.isEmpty()) {
             return Collections.emptyList();
         }
-        List<Profile> artistProfiles = new ArrayList<>();
-        while (!rs.isAfterLast()) {
-            int accountId = rs.getInt(ACCOUNT_ID_STRING);
-            String username = rs.getString(USERNAME_STRING);
-            String profilePictureUrl = rs.getString(PROFILE_PICTURE_URL_STRING);
-            String biography = rs.getString(BIOGRAPHY_STRING);
-            String workAddress = rs.getString(WORK_ADDRESS_STRING);
-            double workLongitude = rs.getDouble(WORK_LONGITUDE_STRING);
-            double workLatitude = rs.getDouble(WORK_LATITUDE_STRING);
-
-            List<String> styles = new ArrayList<>();
-            String style = rs.getString(STYLE_NAME_STRING);
-            if (style != null) {
-                style = rs.getString(STYLE_NAME_STRING);
-                styles.add(style);
+        String idArray = toJsonArray(accountIds);
+        return read(c -> {
+            Map<Integer, ProfileRow> rows = loadProfileRows(c, idArray);
+            if (rows.isEmpty()) {
+                return Collections.<Profile>emptyList();
             }
-            while (rs.next()) {
-                if (rs.getInt(ACCOUNT_ID_STRING) != accountId) {
-                    break;
+            Map<Integer, List<String>> styles = loadStylesByAccount(c, idArray);
+            Map<Integer, List<Post>> posts = withPosts ? loadPostsByAccount(c, idArray) : Map.of();
+            Map<Integer, ReviewSummary> reviewSummaries = loadReviewSummaries(c, idArray);
+
+            List<Profile> profiles = new ArrayList<>(rows.size());
+            for (Integer accountId : new LinkedHashSet<>(accountIds)) {
+                ProfileRow row = rows.get(accountId);
+                if (row == null) {
+                    continue;
+                }
+                Profile profile = new Profile(row.accountId(), row.username(), row.profilePictureUrl(),
+                        row.biography(), styles.getOrDefault(accountId, List.of()), row.location());
+                if (withPosts) {
+                    profile.setArtistPosts(posts.getOrDefault(accountId, new ArrayList<>()));
                 }
-                style = rs.getString(STYLE_NAME_STRING);
-                styles.add(style);
+                ReviewSummary summary = reviewSummaries.get(accountId);
+                if (summary != null) {
+                    profile.setReviewSummary(summary.count(), summary.average());
+                }
+                profiles.add(profile);
+            }
+            return profiles;
+        });
+    }
+
+    private record ProfileRow(int accountId, String username, String profilePictureUrl, String biography,
+            Profile.WorkLocation location) {
+    }
+
+    private record ReviewSummary(int count, double average) {
+    }
+
+    private static Map<Integer, ProfileRow> loadProfileRows(PooledConnection c, String idArray) throws SQLException {
+        PreparedStatement stmt = c.prepare(PROFILE_ROWS_SQL);
+        stmt.setString(1, idArray);
+        Map<Integer, ProfileRow> rows = new HashMap<>();
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                int accountId = rs.getInt(ACCOUNT_ID_STRING);
+                rows.putIfAbsent(accountId, new ProfileRow(
+                        accountId,
+                        rs.getString(USERNAME_STRING),
+                        rs.getString(PROFILE_PICTURE_URL_STRING),
+                        rs.getString(BIOGRAPHY_STRING),
+                        new Profile.WorkLocation(
+                                rs.getString(WORK_ADDRESS_STRING),
+                                rs.getDouble(WORK_LONGITUDE_STRING),
+                                rs.getDouble(WORK_LATITUDE_STRING))));
             }
-            Profile.WorkLocation location = new Profile.WorkLocation(workAddress, workLongitude, workLatitude);
-            artistProfiles.add(new Profile(accountId, username, profilePictureUrl, biography, styles, location));
         }
-        return artistProfiles;
+        return rows;
+    }
 
+    private static Map<Integer, List<String>> loadStylesByAccount(PooledConnection c, String idArray)
+            throws SQLException {
+        PreparedStatement stmt = c.prepare(PROFILE_STYLES_SQL);
+        stmt.setString(1, idArray);
+        Map<Integer, List<String>> styles = new HashMap<>();
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                styles.computeIfAbsent(rs.getInt(1), k -> new ArrayList<>()).add(rs.getString(2));
+            }
+        }
+        return styles;
     }
 
-    public static List<Profile> getProfilesLike(String pattern) throws SQLException {
-        PreparedStatement stmt = conn.prepareStatement("""
-                SELECT *
-                  FROM Artists AS A
-                  LEFT JOIN ArtistTaggedStyles AS ATS ON ATS.account_id = A.account_id
-                  LEFT JOIN Accounts AS ACC ON ACC.account_id = A.account_id
-                 WHERE username LIKE ?
-                """);
-        stmt.setString(1, "%" + pattern + "%");
-        ResultSet rs = stmt.executeQuery();
-        return convertToArtistProfiles(rs);
+    private static Map<Integer, List<Post>> loadPostsByAccount(PooledConnection c, String idArray)
+            throws SQLException {
+        PreparedStatement stmt = c.prepare(PROFILE_POSTS_SQL);
+        stmt.setString(1, idArray);
+        Map<Integer, List<Post>> posts = new HashMap<>();
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                int accountId = rs.getInt(2);
+                posts.computeIfAbsent(accountId, k -> new ArrayList<>()).add(new Post(
+                        rs.getInt(1),
+                        rs.getString(3),
+                        rs.getString(4),
+                        accountId,
+                        rs.getString(5)));
+            }
+        }
+        return posts;
     }
 
-    public static List<Profile> getProfilesWithinBounds(double latitudeFrom, double latitudeTo, double longitudeFrom,
-            double longitudeTo) throws SQLException {
-        PreparedStatement profileQueryStatement = DatabaseConnector.conn.prepareStatement(
-                """
-                        SELECT *
-                          FROM Artists AS A
-                          LEFT JOIN ArtistTaggedStyles AS ATS ON ATS.account_id = A.account_id
-                          LEFT JOIN Accounts AS ACC ON ACC.account_id = A.account_id
-                         WHERE A.work_latitude >= ? AND A.work_latitude <= ? AND A.work_longitude >= ? AND A.work_longitude <= ?;
-                        """);
-        profileQueryStatement.setDouble(1, latitudeFrom);
-        profileQueryStatement.setDouble(2, latitudeTo);
-        profileQueryStatement.setDouble(3, longitudeFrom);
-        profileQueryStatement.setDouble(4, longitudeTo);
-        ResultSet rs = profileQueryStatement.executeQuery();
-        return convertToArtistProfiles(rs);
+    private static Map<Integer, ReviewSummary> loadReviewSummaries(PooledConnection c, String idArray)
+            throws SQLException {
+        PreparedStatement stmt = c.prepare(REVIEW_SUMMARIES_SQL);
+        stmt.setString(1, idArray);
+        Map<Integer, ReviewSummary> summaries = new HashMap<>();
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                summaries.put(rs.getInt(1), new ReviewSummary(rs.getInt(2), rs.getDouble(3)));
+            }
+        }
+        return summaries;
+    }
+
+    private static List<Integer> collectAccountIds(PreparedStatement stmt) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        }
+        return ids;
+    }
+
+    private static String toJsonArray(Collection<Integer> ids) {
+        StringBuilder json = new StringBuilder(ids.size() * 6 + 2).append('[');
+        for (Integer id : ids) {
+            if (id == null) {
+                continue;
+            }
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append(id.intValue());
+        }
+        return json.append(']').toString();
     }
 
     public static void createUser(String username, String password, boolean isArtist) throws SQLException {
-        PreparedStatement insertAccountsStmt = DatabaseConnector.conn.prepareStatement("""
-                INSERT INTO Accounts(username, password)
-                VALUES (?, ?);
-                """, Statement.RETURN_GENERATED_KEYS);
-        insertAccountsStmt.setString(1, username);
-        insertAccountsStmt.setString(2, password);
-        insertAccountsStmt.executeUpdate();
-
-        ResultSet rs = insertAccountsStmt.getGeneratedKeys();
-        if (rs.next()) {
-            int userId = rs.getInt(1);
+        write(c -> {
+            PreparedStatement insertAccountsStmt = c.prepare("""
+                    INSERT INTO Accounts(username, password)
+                    VALUES (?, ?);
+                    """, Statement.RETURN_GENERATED_KEYS);
+            insertAccountsStmt.setString(1, username);
+            insertAccountsStmt.setString(2, password);
+            insertAccountsStmt.executeUpdate();
+
+            int userId;
+            try (ResultSet rs = insertAccountsStmt.getGeneratedKeys()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                userId = rs.getInt(1);
+            }
             if (isArtist) {
-                PreparedStatement insertArtistsStmt = DatabaseConnector.conn.prepareStatement("""
+                PreparedStatement insertArtistsStmt = c.prepare("""
                         INSERT INTO Artists(account_id)
                         VALUES (?);
                         """);
                 insertArtistsStmt.setInt(1, userId);
                 insertArtistsStmt.executeUpdate();
             }
-        }
-    }
-
-    private static List<Post> loadPostsForAccount(int accountId) throws SQLException {
-        if (accountId <= 0) {
-            return Collections.emptyList();
-        }
-        if (!ensureConnection()) {
-            throw new SQLException("Unable to obtain database connection");
-        }
-        String sql = """
-                SELECT post_id, account_id, caption, post_picture_url, keywords
-                  FROM Posts2
-                 WHERE account_id = ?
-                 ORDER BY post_id DESC
-                """;
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, accountId);
-            try (ResultSet rs = stmt.executeQuery()) {
-                List<Post> posts = new ArrayList<>();
-                while (rs.next()) {
-                    posts.add(new Post(
-                            rs.getInt("post_id"),
-                            rs.getString("caption"),
-                            rs.getString("post_picture_url"),
-                            rs.getInt(ACCOUNT_ID_STRING),
-                            rs.getString("keywords")));
-                }
-                return posts;
-            }
-        }
+            return null;
+        });
+        changed(Change.PROFILES);
     }
 
     private static Integer findArtistIdForAccount(int accountId) throws SQLException {
         if (accountId <= 0) {
             return null;
         }
-        if (!ensureConnection()) {
-            throw new SQLException("Unable to obtain database connection");
-        }
-        try (PreparedStatement stmt = conn.prepareStatement("SELECT artist_id FROM Artists WHERE account_id = ?")) {
+        return read(c -> {
+            PreparedStatement stmt = c.prepare(ARTIST_ID_FOR_ACCOUNT_SQL);
             stmt.setInt(1, accountId);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
                     return rs.getInt("artist_id");
                 }
             }
-        }
-        return null;
+            return null;
+        });
     }
 
     public static void modifyUser(Profile p) throws SQLException {
@@ -347,22 +714,18 @@ public class DatabaseConnector {
         if (username == null || username.isBlank()) {
             throw new SQLException("Username is required to modify user data");
         }
-        if (!ensureConnection()) {
-            throw new SQLException("Unable to obtain database connection");
-        }
 
-        boolean previousAutoCommit = conn.getAutoCommit();
-        conn.setAutoCommit(false);
-        try (PreparedStatement updateArtist = conn.prepareStatement("""
-                    UPDATE Artists
-                       SET biography = ?, work_latitude = ?, work_longitude = ?
-                     WHERE account_id = ?
-                """);
-                PreparedStatement updateAccount = conn.prepareStatement("""
-                            UPDATE Accounts
-                               SET profile_picture_url = ?
-                             WHERE account_id = ?
-                        """);) {
+        inTransaction(c -> {
+            PreparedStatement updateArtist = c.prepare("""
+                        UPDATE Artists
+                           SET biography = ?, work_latitude = ?, work_longitude = ?
+                         WHERE account_id = ?
+                    """);
+            PreparedStatement updateAccount = c.prepare("""
+                        UPDATE Accounts
+                           SET profile_picture_url = ?
+                         WHERE account_id = ?
+                    """);
 
             updateArtist.setString(1, bio);
             updateArtist.setDouble(2, latitude);
@@ -373,75 +736,58 @@ public class DatabaseConnector {
             updateAccount.setString(1, profilePictureUrl);
             updateAccount.setInt(2, accountId);
             updateAccount.executeUpdate();
-
-            conn.commit();
-        } catch (SQLException ex) {
-            conn.rollback();
-            throw ex;
-        } finally {
-            conn.setAutoCommit(previousAutoCommit);
-        }
+            return null;
+        });
+        changed(Change.PROFILES);
     }
 
     public static Review submitReview(int reviewerId, int revieweeId, String pictureUrl, String reviewText, int rating)
             throws SQLException {
-        if (reviewerId <= 0 || revieweeId <= 0) {
-            throw new SQLException("Reviewer and reviewee ids must be positive");
-        }
-        if (rating < 0 || rating > 5) {
-            throw new SQLException("Rating must be between 0 and 5");
-        }
-        if (reviewText == null || reviewText.isBlank()) {
-            throw new SQLException("Review text is required");
-        }
-        if (!ensureConnection()) {
-            throw new SQLException("Unable to obtain database connection");
-        }
+        return submitReviews(List.of(new ReviewDraft(reviewerId, revieweeId, pictureUrl, reviewText, rating)))
+                .getFirst();
+    }
 
-        String sql = """
-                INSERT INTO Reviews (reviewer_id, reviewee_id, review_text, rating, review_picture_url)
-                VALUES (?, ?, ?, ?, ?)
-                """;
-        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            stmt.setInt(1, reviewerId);
-            stmt.setInt(2, revieweeId);
-            stmt.setString(3, reviewText);
-            stmt.setInt(4, rating);
-            stmt.setString(5, pictureUrl);
-            stmt.executeUpdate();
-            try (ResultSet keys = stmt.getGeneratedKeys()) {
-                if (keys.next()) {
-                    Review.Reviewer reviewer = new Review.Reviewer(reviewerId, null, null);
-                    return new Review(keys.getInt(1), revieweeId, pictureUrl, reviewText, rating, reviewer);
-                }
+    /** Inserts every review in a single transaction; returns them with their generated ids in input order. */
+    public static List<Review> submitReviews(List<ReviewDraft> drafts) throws SQLException {
+        for (ReviewDraft draft : drafts) {
+            if (draft.reviewerId() <= 0 || draft.revieweeId() <= 0) {
+                throw new SQLException("Reviewer and reviewee ids must be positive");
+            }
+            if (draft.rating() < 0 || draft.rating() > 5) {
+                throw new SQLException("Rating must be between 0 and 5");
             }
+            if (draft.reviewText() == null || draft.reviewText().isBlank()) {
+                throw new SQLException("Review text is required");
+            }
+        }
+        if (drafts.isEmpty()) {
+            return List.of();
         }
-        throw new SQLException("Failed to create review record");
+        return inTransaction(c -> {
+            PreparedStatement stmt = c.prepare(INSERT_REVIEW_SQL, Statement.RETURN_GENERATED_KEYS);
+            List<Review> reviews = new ArrayList<>(drafts.size());
+            for (ReviewDraft draft : drafts) {
+                stmt.setInt(1, draft.reviewerId());
+                stmt.setInt(2, draft.revieweeId());
+                stmt.setString(3, draft.reviewText());
+                stmt.setInt(4, draft.rating());
+                stmt.setString(5, draft.pictureUrl());
+                stmt.executeUpdate();
+                int reviewId = generatedKey(stmt, "Failed to create review record");
+                Review.Reviewer reviewer = new Review.Reviewer(draft.reviewerId(), null, null);
+                reviews.add(new Review(reviewId, draft.revieweeId(), draft.pictureUrl(), draft.reviewText(),
+                        draft.rating(), reviewer));
+            }
+            return reviews;
+        });
     }
 
     public static List<Review> loadReviews(int accountId) throws SQLException {
         if (accountId <= 0) {
             throw new SQLException("Account id must be positive");
         }
-        if (!ensureConnection()) {
-            throw new SQLException("Unable to obtain database connection");
-        }
-        String sql = """
-                SELECT r.review_id,
-                       r.reviewer_id,
-                       r.reviewee_id,
-                       r.review_text,
-                       r.rating,
-                       r.review_picture_url,
-                       acc.username,
-                       acc.profile_picture_url
-                  FROM Reviews r
-                  JOIN Artists a ON a.artist_id = r.reviewee_id
-                  JOIN Accounts acc ON acc.account_id = r.reviewer_id
-                 WHERE a.account_id = ?
-                 ORDER BY r.review_id DESC
-                """;
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        return read(c -> {
+            PreparedStatement stmt = c.prepare(REVIEWS_FOR_ARTIST_SQL);
             stmt.setInt(1, accountId);
             try (ResultSet rs = stmt.executeQuery()) {
                 List<Review> reviews = new ArrayList<>();
@@ -460,13 +806,10 @@ public class DatabaseConnector {
                 }
                 return reviews;
             }
-        }
+        });
     }
 
     public static List<PostWithAuthor> fetchPostsWithAuthors(int limit, int offset) throws SQLException {
-        if (!ensureConnection()) {
-            throw new SQLException("Unable to obtain database connection");
-        }
         String sql = """
                 SELECT
                     p.post_id            AS id,
@@ -485,19 +828,17 @@ public class DatabaseConnector {
                 ORDER BY p.post_id DESC
                 LIMIT ? OFFSET ?
                 """;
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        return read(c -> {
+            PreparedStatement stmt = c.prepare(sql);
             stmt.setInt(1, limit);
             stmt.setInt(2, offset);
             try (ResultSet rs = stmt.executeQuery()) {
-                return mapPostsWithAuthors(rs);
+                return RowMapper.list(rs, DatabaseConnector::postWithAuthorMapper);
             }
-        }
+        });
     }
 
     public static List<PostWithAuthor> searchPostsWithAuthors(String q, int limit, int offset) throws SQLException {
-        if (!ensureConnection()) {
-            throw new SQLException("Unable to obtain database connection");
-        }
         String sql = """
                 SELECT
                     p.post_id            AS id,
@@ -510,29 +851,109 @@ public class DatabaseConnector {
                     art.work_address     AS work_address,
                     art.work_longitude   AS work_longitude,
                     art.work_latitude    AS work_latitude
-                FROM Posts2 p
+                FROM post_fts
+                JOIN Posts2 p ON p.post_id = post_fts.rowid
                 LEFT JOIN Accounts acc ON acc.account_id = p.account_id
                 LEFT JOIN Artists art  ON art.account_id = acc.account_id
-                WHERE LOWER(p.caption) LIKE LOWER(?) OR LOWER(acc.username) LIKE LOWER(?)
-                ORDER BY p.post_id DESC
+                WHERE post_fts MATCH ?
+                ORDER BY bm25(post_fts, 2.0, 1.0, 1.0), p.post_id DESC
                 LIMIT ? OFFSET ?
                 """;
-        String like = "%" + (q == null ? "" : q) + "%";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, like);
-            stmt.setString(2, like);
-            stmt.setInt(3, limit);
-            stmt.setInt(4, offset);
+        String match = SearchIndex.toMatchQuery(q);
+        if (match == null) {
+            return fetchPostsWithAuthors(limit, offset);
+        }
+        return read(c -> {
+            PreparedStatement stmt = c.prepare(sql);
+            stmt.setString(1, match);
+            stmt.setInt(2, limit);
+            stmt.setInt(3, offset);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return RowMapper.list(rs, DatabaseConnector::postWithAuthorMapper);
+            }
+        });
+    }
+
+    /** Newest posts with an id below {@code lastId}; seeks on the primary key instead of using OFFSET. */
+    public static List<PostWithAuthor> fetchPostsWithAuthorsBefore(int lastId, int limit) throws SQLException {
+        List<PostWithAuthor> rows = new ArrayList<>();
+        streamPostsWithAuthorsBefore(lastId, limit, rows::add);
+        return rows;
+    }
+
+    /**
+     * Like {@link #fetchPostsWithAuthorsBefore} but hands each row to {@code sink}
+     * as it is read instead of building a list. Posts by the same author share
+     * one {@link Profile}. Returns the number of rows delivered.
+     */
+    public static int streamPostsWithAuthorsBefore(int lastId, int limit, Consumer<? super PostWithAuthor> sink)
+            throws SQLException {
+        return read(c -> {
+            PreparedStatement stmt = c.prepare(POSTS_BEFORE_SQL);
+            stmt.setInt(1, lastId <= 0 ? Integer.MAX_VALUE : lastId);
+            stmt.setInt(2, limit);
             try (ResultSet rs = stmt.executeQuery()) {
-                return mapPostsWithAuthors(rs);
+                return RowMapper.stream(rs, DatabaseConnector::postWithAuthorMapper, sink);
             }
+        });
+    }
+
+    /** Ranked post search that resumes strictly after {@code cursor}'s (score, id) position. */
+    public static SearchPage<PostWithAuthor> searchPostsWithAuthorsAfter(SearchCursor cursor, int limit)
+            throws SQLException {
+        String match = SearchIndex.toMatchQuery(cursor.query());
+        if (match == null) {
+            List<PostWithAuthor> rows = fetchPostsWithAuthorsBefore(cursor.lastId(), limit);
+            int lastId = rows.isEmpty() ? 0 : rows.getLast().post().getId();
+            return new SearchPage<>(rows, nextCursor(cursor.query(), 0.0, lastId, rows.size(), limit));
         }
+        String sql = """
+                SELECT
+                    p.post_id            AS id,
+                    p.caption            AS caption,
+                    p.post_picture_url   AS postURL,
+                    acc.account_id       AS acc_id,
+                    acc.username         AS username,
+                    acc.profile_picture_url AS profile_picture_url,
+                    art.biography        AS biography,
+                    art.work_address     AS work_address,
+                    art.work_longitude   AS work_longitude,
+                    art.work_latitude    AS work_latitude,
+                    bm25(post_fts, 2.0, 1.0, 1.0) AS score
+                FROM post_fts
+                JOIN Posts2 p ON p.post_id = post_fts.rowid
+                LEFT JOIN Accounts acc ON acc.account_id = p.account_id
+                LEFT JOIN Artists art  ON art.account_id = acc.account_id
+                WHERE post_fts MATCH ?
+                  AND (bm25(post_fts, 2.0, 1.0, 1.0) > ?
+                       OR (bm25(post_fts, 2.0, 1.0, 1.0) = ? AND p.post_id < ?))
+                ORDER BY score, p.post_id DESC
+                LIMIT ?
+                """;
+        return read(c -> {
+            PreparedStatement stmt = c.prepare(sql);
+            stmt.setString(1, match);
+            stmt.setDouble(2, cursor.score());
+            stmt.setDouble(3, cursor.score());
+            stmt.setInt(4, cursor.lastId());
+            stmt.setInt(5, limit);
+            List<PostWithAuthor> rows = new ArrayList<>();
+            double score = cursor.score();
+            try (ResultSet rs = stmt.executeQuery()) {
+                ColumnIndex columns = ColumnIndex.of(rs);
+                RowMapper<PostWithAuthor> mapper = postWithAuthorMapper(columns);
+                int scoreColumn = columns.of("score");
+                while (rs.next()) {
+                    rows.add(mapper.map(rs));
+                    score = rs.getDouble(scoreColumn);
+                }
+            }
+            int lastId = rows.isEmpty() ? cursor.lastId() : rows.getLast().post().getId();
+            return new SearchPage<>(rows, nextCursor(cursor.query(), score, lastId, rows.size(), limit));
+        });
     }
 
     public static List<DesignWithAuthor> fetchDesignsWithAuthors(int limit, int offset) throws SQLException {
-        if (!ensureConnection()) {
-            throw new SQLException("Unable to obtain database connection");
-        }
         String sql = """
                 SELECT
                     d.design_id          AS id,
@@ -551,19 +972,17 @@ public class DatabaseConnector {
                 ORDER BY d.design_id DESC
                 LIMIT ? OFFSET ?
                 """;
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        return read(c -> {
+            PreparedStatement stmt = c.prepare(sql);
             stmt.setInt(1, limit);
             stmt.setInt(2, offset);
             try (ResultSet rs = stmt.executeQuery()) {
-                return mapDesignsWithAuthors(rs);
+                return RowMapper.list(rs, DatabaseConnector::designWithAuthorMapper);
             }
-        }
+        });
     }
 
     public static List<DesignWithAuthor> searchDesignsWithAuthors(String q, int limit, int offset) throws SQLException {
-        if (!ensureConnection()) {
-            throw new SQLException("Unable to obtain database connection");
-        }
         String sql = """
                 SELECT
                     d.design_id          AS id,
@@ -576,74 +995,162 @@ public class DatabaseConnector {
                     art.work_address     AS work_address,
                     art.work_longitude   AS work_longitude,
                     art.work_latitude    AS work_latitude
-                FROM Designs d
+                FROM design_fts
+                JOIN Designs d ON d.design_id = design_fts.rowid
                 JOIN Artists art ON art.artist_id = d.artist_id
                 JOIN Accounts acc ON acc.account_id = art.account_id
-                WHERE LOWER(d.design_name) LIKE LOWER(?) OR LOWER(acc.username) LIKE LOWER(?)
-                ORDER BY d.design_id DESC
+                WHERE design_fts MATCH ?
+                ORDER BY bm25(design_fts, 2.0, 1.0), d.design_id DESC
                 LIMIT ? OFFSET ?
                 """;
-        String like = "%" + (q == null ? "" : q) + "%";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, like);
-            stmt.setString(2, like);
-            stmt.setInt(3, limit);
-            stmt.setInt(4, offset);
+        String match = SearchIndex.toMatchQuery(q);
+        if (match == null) {
+            return fetchDesignsWithAuthors(limit, offset);
+        }
+        return read(c -> {
+            PreparedStatement stmt = c.prepare(sql);
+            stmt.setString(1, match);
+            stmt.setInt(2, limit);
+            stmt.setInt(3, offset);
             try (ResultSet rs = stmt.executeQuery()) {
-                return mapDesignsWithAuthors(rs);
+                return RowMapper.list(rs, DatabaseConnector::designWithAuthorMapper);
             }
-        }
+        });
     }
 
-    private static List<PostWithAuthor> mapPostsWithAuthors(ResultSet rs) throws SQLException {
-        List<PostWithAuthor> posts = new ArrayList<>();
-        while (rs.next()) {
-            Post post = new Post(
-                    rs.getInt("id"),
-                    rs.getString("caption"),
-                    rs.getString("postURL"));
-
-            Profile author = new Profile(
-                    rs.getInt("acc_id"),
-                    rs.getString(USERNAME_STRING),
-                    rs.getString(PROFILE_PICTURE_URL_STRING),
-                    rs.getString(BIOGRAPHY_STRING),
-                    java.util.List.of(),
-                    new Profile.WorkLocation(
-                            rs.getString(WORK_ADDRESS_STRING),
-                            safeDouble(rs, WORK_LONGITUDE_STRING),
-                            safeDouble(rs, WORK_LATITUDE_STRING)));
-
-            posts.add(new PostWithAuthor(post, author));
-        }
-        return posts;
+    /** Newest designs with an id below {@code lastId}; seeks on the primary key instead of using OFFSET. */
+    public static List<DesignWithAuthor> fetchDesignsWithAuthorsBefore(int lastId, int limit) throws SQLException {
+        List<DesignWithAuthor> rows = new ArrayList<>();
+        streamDesignsWithAuthorsBefore(lastId, limit, rows::add);
+        return rows;
     }
 
-    private static List<DesignWithAuthor> mapDesignsWithAuthors(ResultSet rs) throws SQLException {
-        List<DesignWithAuthor> designs = new ArrayList<>();
-        while (rs.next()) {
-            Design design = new Design(
-                    rs.getInt("id"),
-                    rs.getString("name"),
-                    rs.getString("picture_url"));
-
-            Profile author = new Profile(
-                    rs.getInt("acc_id"),
-                    rs.getString(USERNAME_STRING),
-                    rs.getString(PROFILE_PICTURE_URL_STRING),
-                    rs.getString(BIOGRAPHY_STRING),
-                    java.util.List.of(),
-                    new Profile.WorkLocation(
-                            rs.getString(WORK_ADDRESS_STRING),
-                            safeDouble(rs, WORK_LONGITUDE_STRING),
-                            safeDouble(rs, WORK_LATITUDE_STRING)));
-
-            designs.add(new DesignWithAuthor(design, author));
+    /** Streaming form of {@link #fetchDesignsWithAuthorsBefore}; see {@link #streamPostsWithAuthorsBefore}. */
+    public static int streamDesignsWithAuthorsBefore(int lastId, int limit, Consumer<? super DesignWithAuthor> sink)
+            throws SQLException {
+        return read(c -> {
+            PreparedStatement stmt = c.prepare(DESIGNS_BEFORE_SQL);
+            stmt.setInt(1, lastId <= 0 ? Integer.MAX_VALUE : lastId);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return RowMapper.stream(rs, DatabaseConnector::designWithAuthorMapper, sink);
+            }
+        });
+    }
+
+    /** Ranked design search that resumes strictly after {@code cursor}'s (score, id) position. */
+    public static SearchPage<DesignWithAuthor> searchDesignsWithAuthorsAfter(SearchCursor cursor, int limit)
+            throws SQLException {
+        String match = SearchIndex.toMatchQuery(cursor.query());
+        if (match == null) {
+            List<DesignWithAuthor> rows = fetchDesignsWithAuthorsBefore(cursor.lastId(), limit);
+            int lastId = rows.isEmpty() ? 0 : rows.getLast().design().id();
+            return new SearchPage<>(rows, nextCursor(cursor.query(), 0.0, lastId, rows.size(), limit));
         }
-        return designs;
+        String sql = """
+                SELECT
+                    d.design_id          AS id,
+                    d.design_name        AS name,
+                    d.design_picture_url AS picture_url,
+                    acc.account_id       AS acc_id,
+                    acc.username         AS username,
+                    acc.profile_picture_url AS profile_picture_url,
+                    art.biography        AS biography,
+                    art.work_address     AS work_address,
+                    art.work_longitude   AS work_longitude,
+                    art.work_latitude    AS work_latitude,
+                    bm25(design_fts, 2.0, 1.0) AS score
+                FROM design_fts
+                JOIN Designs d ON d.design_id = design_fts.rowid
+                JOIN Artists art ON art.artist_id = d.artist_id
+                JOIN Accounts acc ON acc.account_id = art.account_id
+                WHERE design_fts MATCH ?
+                  AND (bm25(design_fts, 2.0, 1.0) > ?
+                       OR (bm25(design_fts, 2.0, 1.0) = ? AND d.design_id < ?))
+                ORDER BY score, d.design_id DESC
+                LIMIT ?
+                """;
+        return read(c -> {
+            PreparedStatement stmt = c.prepare(sql);
+            stmt.setString(1, match);
+            stmt.setDouble(2, cursor.score());
+            stmt.setDouble(3, cursor.score());
+            stmt.setInt(4, cursor.lastId());
+            stmt.setInt(5, limit);
+            List<DesignWithAuthor> rows = new ArrayList<>();
+            double score = cursor.score();
+            try (ResultSet rs = stmt.executeQuery()) {
+                ColumnIndex columns = ColumnIndex.of(rs);
+                RowMapper<DesignWithAuthor> mapper = designWithAuthorMapper(columns);
+                int scoreColumn = columns.of("score");
+                while (rs.next()) {
+                    rows.add(mapper.map(rs));
+                    score = rs.getDouble(scoreColumn);
+                }
+            }
+            int lastId = rows.isEmpty() ? cursor.lastId() : rows.getLast().design().id();
+            return new SearchPage<>(rows, nextCursor(cursor.query(), score, lastId, rows.size(), limit));
+        });
+    }
+
+    private static SearchCursor nextCursor(String query, double score, int lastId, int returned, int limit) {
+        return returned < limit ? null : new SearchCursor(query, score, lastId);
+    }
+
+    private static RowMapper<PostWithAuthor> postWithAuthorMapper(ColumnIndex columns) throws SQLException {
+        int id = columns.of("id");
+        int caption = columns.of("caption");
+        int url = columns.of("postURL");
+        RowMapper<Profile> author = authorMapper(columns);
+        return rs -> new PostWithAuthor(
+                new Post(rs.getInt(id), rs.getString(caption), rs.getString(url)),
+                author.map(rs));
+    }
+
+    private static RowMapper<DesignWithAuthor> designWithAuthorMapper(ColumnIndex columns) throws SQLException {
+        int id = columns.of("id");
+        int name = columns.of("name");
+        int url = columns.of("picture_url");
+        RowMapper<Profile> author = authorMapper(columns);
+        return rs -> new DesignWithAuthor(
+                new Design(rs.getInt(id), rs.getString(name), rs.getString(url)),
+                author.map(rs));
+    }
+
+    /**
+     * Author columns of the feed queries. One {@link Profile} is built per
+     * distinct account and reused for every later row by the same author.
+     */
+    private static RowMapper<Profile> authorMapper(ColumnIndex columns) throws SQLException {
+        int accountId = columns.of("acc_id");
+        int username = columns.of(USERNAME_STRING);
+        int picture = columns.of(PROFILE_PICTURE_URL_STRING);
+        int biography = columns.of(BIOGRAPHY_STRING);
+        int address = columns.of(WORK_ADDRESS_STRING);
+        int longitude = columns.of(WORK_LONGITUDE_STRING);
+        int latitude = columns.of(WORK_LATITUDE_STRING);
+        Map<Integer, Profile> authors = new HashMap<>();
+        return rs -> {
+            int id = rs.getInt(accountId);
+            Profile author = authors.get(id);
+            if (author == null) {
+                author = new Profile(
+                        id,
+                        rs.getString(username),
+                        rs.getString(picture),
+                        rs.getString(biography),
+                        List.of(),
+                        new Profile.WorkLocation(
+                                rs.getString(address),
+                                safeDouble(rs, longitude),
+                                safeDouble(rs, latitude)));
+                authors.put(id, author);
+            }
+            return author;
+        };
     }
 
-    private static double safeDouble(ResultSet rs, String column) throws SQLException {
+    private static double safeDouble(ResultSet rs, int column) throws SQLException {
         double value = rs.getDouble(column);
         return rs.wasNull() ? 0.0 : value;
     }
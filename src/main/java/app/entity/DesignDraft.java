@@ -0,0 +1,5 @@
+package app.entity;
+
+/** A design to insert; see {@link DatabaseConnector#addArtistDesigns}. */
+public record DesignDraft(String name, String pictureUrl) {
+}
@@ -2,8 +2,29 @@ package app.entity;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface DesignRepository {
     List<DesignWithAuthor> findLatest(int limit, int offset) throws SQLException;
+
+    /**
+     * Full-text search ranked by BM25 relevance; each word matches as a prefix.
+     * A query with no searchable words behaves like {@link #findLatest}.
+     */
     List<DesignWithAuthor> search(String query, int limit, int offset) throws SQLException;
+
+    /** Newest rows with an id below {@code lastId}; pass 0 for the first page. */
+    List<DesignWithAuthor> findLatestBefore(int lastId, int limit) throws SQLException;
+
+    /**
+     * Streams the same rows as {@link #findLatestBefore} to {@code sink} while
+     * the query is still open; returns the number of rows delivered.
+     */
+    int forEachLatestBefore(int lastId, int limit, Consumer<? super DesignWithAuthor> sink) throws SQLException;
+
+    /**
+     * Next page of a ranked search, resuming after {@code cursor}. Start with
+     * {@link SearchCursor#first} and follow {@link SearchPage#next()} until it is null.
+     */
+    SearchPage<DesignWithAuthor> searchAfter(SearchCursor cursor, int limit) throws SQLException;
 }
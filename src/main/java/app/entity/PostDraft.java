@@ -0,0 +1,5 @@
+package app.entity;
+
+/** A post to insert; see {@link DatabaseConnector#addArtistPosts}. */
+public record PostDraft(String caption, String imageUrl, String keywords) {
+}
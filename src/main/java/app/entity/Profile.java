@@ -1,6 +1,6 @@
 package app.entity;
 
-import app.util.ImageResolver;
+import app.util.ImageHandle;
 import javafx.scene.image.Image;
 
 import java.util.Collections;
@@ -13,12 +13,14 @@ public class Profile {
     private String username;
     private String biography;
     private String profilePictureUrl;
-    private Image profilePicture;
+    private ImageHandle profilePicture;
     private String workAddress;
     private double workLongitude;
     private double workLatitude;
     private List<String> stylesList;
     private List<Post> artistPosts;
+    private int reviewCount;
+    private double averageRating;
 
     public Profile(int accountId, String username, String profilePictureUrl, String biography,
             List<String> stylesList, WorkLocation workLocation) {
@@ -32,15 +34,11 @@ public class Profile {
         }
         this.stylesList = stylesList == null ? Collections.emptyList() : List.copyOf(stylesList);
         this.profilePictureUrl = profilePictureUrl;
-        if (!HEADLESS) {
-            try {
-                this.profilePicture = ImageResolver.loadAny(
-                        profilePictureUrl,
-                        "/db/db_resources/" + profilePictureUrl);
-            } catch (IllegalArgumentException _) {
-                this.profilePicture = null;
-            }
-        }
+        this.profilePicture = pictureHandle(profilePictureUrl);
+    }
+
+    static ImageHandle pictureHandle(String url) {
+        return ImageHandle.of(url, url, "/db/db_resources/" + url);
     }
 
     public int getAccountId() {
@@ -55,13 +53,14 @@ public class Profile {
         return profilePictureUrl;
     }
 
+    /** Decodes the picture on first call; later calls reuse the decoded image while it stays cached. */
     public Image getProfilePicture() {
-        return profilePicture;
+        return HEADLESS ? null : profilePicture.get();
     }
 
     public void setProfilePicture(String profilePictureUrl, Image image) {
         this.profilePictureUrl = profilePictureUrl;
-        this.profilePicture = image;
+        this.profilePicture = ImageHandle.of(profilePictureUrl, image);
     }
 
     public double getWorkLongitude() {
@@ -101,6 +100,19 @@ public class Profile {
         return artistPosts != null ? artistPosts : Collections.emptyList();
     }
 
+    public int getReviewCount() {
+        return reviewCount;
+    }
+
+    public double getAverageRating() {
+        return averageRating;
+    }
+
+    public void setReviewSummary(int reviewCount, double averageRating) {
+        this.reviewCount = reviewCount;
+        this.averageRating = averageRating;
+    }
+
     public String getBiography() {
         return biography;
     }
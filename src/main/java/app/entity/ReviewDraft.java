@@ -0,0 +1,5 @@
+package app.entity;
+
+/** A review to insert; see {@link DatabaseConnector#submitReviews}. */
+public record ReviewDraft(int reviewerId, int revieweeId, String pictureUrl, String reviewText, int rating) {
+}
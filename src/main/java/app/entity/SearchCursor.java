@@ -0,0 +1,13 @@
+package app.entity;
+
+/**
+ * Position in a ranked search: the query plus the relevance score and id of the
+ * last row already returned. The next page seeks past that pair instead of
+ * skipping an offset.
+ */
+public record SearchCursor(String query, double score, int lastId) {
+
+    public static SearchCursor first(String query) {
+        return new SearchCursor(query, Double.NEGATIVE_INFINITY, Integer.MAX_VALUE);
+    }
+}
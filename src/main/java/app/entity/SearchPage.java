@@ -0,0 +1,10 @@
+package app.entity;
+
+import java.util.List;
+
+/** One page of search results; {@code next} is {@code null} once the results are exhausted. */
+public record SearchPage<T>(List<T> items, SearchCursor next) {
+    public SearchPage {
+        items = List.copyOf(items);
+    }
+}
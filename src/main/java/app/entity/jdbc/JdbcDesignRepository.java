@@ -3,9 +3,12 @@ package app.entity.jdbc;
 import app.entity.DatabaseConnector;
 import app.entity.DesignRepository;
 import app.entity.DesignWithAuthor;
+import app.entity.SearchCursor;
+import app.entity.SearchPage;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.function.Consumer;
 
 public final class JdbcDesignRepository implements DesignRepository {
 
@@ -18,4 +21,20 @@ public final class JdbcDesignRepository implements DesignRepository {
     public List<DesignWithAuthor> search(String query, int limit, int offset) throws SQLException {
         return DatabaseConnector.searchDesignsWithAuthors(query, limit, offset);
     }
+
+    @Override
+    public List<DesignWithAuthor> findLatestBefore(int lastId, int limit) throws SQLException {
+        return DatabaseConnector.fetchDesignsWithAuthorsBefore(lastId, limit);
+    }
+
+    @Override
+    public int forEachLatestBefore(int lastId, int limit, Consumer<? super DesignWithAuthor> sink)
+            throws SQLException {
+        return DatabaseConnector.streamDesignsWithAuthorsBefore(lastId, limit, sink);
+    }
+
+    @Override
+    public SearchPage<DesignWithAuthor> searchAfter(SearchCursor cursor, int limit) throws SQLException {
+        return DatabaseConnector.searchDesignsWithAuthorsAfter(cursor, limit);
+    }
 }
@@ -3,9 +3,12 @@ package app.entity.jdbc;
 import app.entity.DatabaseConnector;
 import app.entity.PostRepository;
 import app.entity.PostWithAuthor;
+import app.entity.SearchCursor;
+import app.entity.SearchPage;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.function.Consumer;
 
 public final class JdbcPostRepository implements PostRepository {
 
@@ -18,4 +21,20 @@ public final class JdbcPostRepository implements PostRepository {
     public List<PostWithAuthor> search(String q, int limit, int offset) throws SQLException {
         return DatabaseConnector.searchPostsWithAuthors(q, limit, offset);
     }
+
+    @Override
+    public List<PostWithAuthor> findLatestBefore(int lastId, int limit) throws SQLException {
+        return DatabaseConnector.fetchPostsWithAuthorsBefore(lastId, limit);
+    }
+
+    @Override
+    public int forEachLatestBefore(int lastId, int limit, Consumer<? super PostWithAuthor> sink)
+            throws SQLException {
+        return DatabaseConnector.streamPostsWithAuthorsBefore(lastId, limit, sink);
+    }
+
+    @Override
+    public SearchPage<PostWithAuthor> searchAfter(SearchCursor cursor, int limit) throws SQLException {
+        return DatabaseConnector.searchPostsWithAuthorsAfter(cursor, limit);
+    }
 }
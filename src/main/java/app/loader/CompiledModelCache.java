@@ -0,0 +1,274 @@
+package app.loader;
+
+import app.util.CacheDirs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Keeps parsed OBJ models as compact binary files so a model only goes
+ * through the text parser the first time its exact bytes are seen. Files
+ * are named by the SHA-256 of the OBJ, so the bundled model's temporary
+ * copy and re-extracted project archives still hit.
+ * <p>
+ * Layout, all little-endian: magic {@code TTMB}, format version, flags
+ * (bit 0: likely Z-up), the lengths of the point, texture coordinate and
+ * face arrays, the {@code mtllib} names (length-prefixed UTF-8), padding
+ * to four bytes, then the three arrays as raw floats and ints. Reading maps
+ * the file and bulk-copies each array out; a file with the wrong magic,
+ * version or size, or with a face index out of range, counts as a miss and
+ * is rewritten. Only the most recently used {@link #DEFAULT_MAX_MODELS}
+ * files are kept.
+ */
+final class CompiledModelCache {
+
+    record Stats(long hits, long misses) {
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompiledModelCache.class);
+    private static final int MAGIC = 0x424D5454; // "TTMB" read as a little-endian int
+    private static final int VERSION = 1;
+    private static final int FLAG_Z_UP = 1;
+    private static final String SUFFIX = ".mesh";
+    static final int DEFAULT_MAX_MODELS = Integer.getInteger("tattui.modelCache.maxModels", 16);
+
+    private final Path root;
+    private final int maxModels;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    CompiledModelCache(Path root, int maxModels) {
+        this.root = root;
+        this.maxModels = maxModels;
+    }
+
+    /** {@code tattui.modelCache.dir} if set, otherwise {@code models} in the per-user cache directory. */
+    static Path defaultRoot() {
+        String override = System.getProperty("tattui.modelCache.dir");
+        if (override != null && !override.isBlank()) {
+            return Path.of(override);
+        }
+        return CacheDirs.userCacheRoot().resolve("models");
+    }
+
+    /**
+     * The model in {@code objPath}, from the cache when its bytes have been
+     * compiled before, otherwise parsed and then stored. Failing to read or
+     * write the cache never fails the load.
+     */
+    ObjParser.Result load(Path objPath) throws IOException {
+        try (FileChannel channel = FileChannel.open(objPath, StandardOpenOption.READ)) {
+            MappedByteBuffer source = ObjParser.map(channel, objPath);
+            Path compiled = root.resolve(key(source) + SUFFIX);
+            ObjParser.Result cached = read(compiled);
+            if (cached != null) {
+                hits.increment();
+                touch(compiled);
+                return cached;
+            }
+            misses.increment();
+            ObjParser.Result parsed = ObjParser.parse(objPath, source);
+            try {
+                write(compiled, parsed);
+                prune();
+            } catch (IOException e) {
+                LOGGER.warn("Could not cache compiled model {}: {}", objPath.getFileName(), e.getMessage());
+            }
+            return parsed;
+        }
+    }
+
+    Stats stats() {
+        return new Stats(hits.sum(), misses.sum());
+    }
+
+    static ObjParser.Result read(Path compiled) {
+        if (!Files.isRegularFile(compiled)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(compiled, StandardOpenOption.READ)) {
+            ByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (buf.remaining() < 28 || buf.getInt() != MAGIC || buf.getInt() != VERSION) {
+                return null;
+            }
+            int flags = buf.getInt();
+            int pointFloats = buf.getInt();
+            int texFloats = buf.getInt();
+            int faceInts = buf.getInt();
+            int libraryCount = buf.getInt();
+            if (pointFloats < 0 || texFloats < 0 || faceInts < 0 || libraryCount < 0) {
+                return null;
+            }
+            List<String> libraries = new ArrayList<>(Math.min(libraryCount, 16));
+            for (int i = 0; i < libraryCount; i++) {
+                int length = buf.getInt();
+                byte[] name = new byte[length];
+                buf.get(name);
+                libraries.add(new String(name, StandardCharsets.UTF_8));
+            }
+            buf.position(align(buf.position()));
+            if ((long) buf.remaining() != 4L * pointFloats + 4L * texFloats + 4L * faceInts) {
+                return null;
+            }
+            float[] points = new float[pointFloats];
+            float[] texCoords = new float[texFloats];
+            int[] faces = new int[faceInts];
+            buf.asFloatBuffer().get(points);
+            buf.position(buf.position() + 4 * pointFloats);
+            buf.asFloatBuffer().get(texCoords);
+            buf.position(buf.position() + 4 * texFloats);
+            buf.asIntBuffer().get(faces);
+            if (!facesInRange(faces, pointFloats / 3, texFloats / 2)) {
+                return null;
+            }
+            return new ObjParser.Result(new MeshData(points, texCoords, faces), libraries,
+                    (flags & FLAG_Z_UP) != 0);
+        } catch (IOException | RuntimeException _) {
+            // Truncated or otherwise unreadable; treat it like a miss and compile again
+            return null;
+        }
+    }
+
+    static void write(Path compiled, ObjParser.Result result) throws IOException {
+        Files.createDirectories(compiled.getParent());
+        MeshData mesh = result.mesh();
+        List<byte[]> libraries = result.materialLibraries().stream()
+                .map(name -> name.getBytes(StandardCharsets.UTF_8))
+                .toList();
+        int headerSize = 28;
+        for (byte[] name : libraries) {
+            headerSize += 4 + name.length;
+        }
+        ByteBuffer header = ByteBuffer.allocate(align(headerSize)).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(result.likelyZUp() ? FLAG_Z_UP : 0)
+                .putInt(mesh.points().length)
+                .putInt(mesh.texCoords().length)
+                .putInt(mesh.faces().length)
+                .putInt(libraries.size());
+        for (byte[] name : libraries) {
+            header.putInt(name.length).put(name);
+        }
+        header.position(header.capacity()).flip();
+
+        Path tmp = Files.createTempFile(compiled.getParent(), "model", ".tmp");
+        try {
+            try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                writeFully(out, header);
+                ByteBuffer block = ByteBuffer.allocate(64 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+                writeFloats(out, block, mesh.points());
+                writeFloats(out, block, mesh.texCoords());
+                writeInts(out, block, mesh.faces());
+            }
+            Files.move(tmp, compiled, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static void writeFloats(FileChannel out, ByteBuffer block, float[] values) throws IOException {
+        int perBlock = block.capacity() / 4;
+        for (int from = 0; from < values.length; from += perBlock) {
+            int count = Math.min(perBlock, values.length - from);
+            block.clear();
+            block.asFloatBuffer().put(values, from, count);
+            block.limit(count * 4);
+            writeFully(out, block);
+        }
+    }
+
+    private static void writeInts(FileChannel out, ByteBuffer block, int[] values) throws IOException {
+        int perBlock = block.capacity() / 4;
+        for (int from = 0; from < values.length; from += perBlock) {
+            int count = Math.min(perBlock, values.length - from);
+            block.clear();
+            block.asIntBuffer().put(values, from, count);
+            block.limit(count * 4);
+            writeFully(out, block);
+        }
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) {
+            out.write(buf);
+        }
+    }
+
+    private static boolean facesInRange(int[] faces, int pointCount, int texCoordCount) {
+        if (faces.length % 6 != 0) {
+            return false;
+        }
+        for (int i = 0; i < faces.length; i += 2) {
+            if (faces[i] < 0 || faces[i] >= pointCount || faces[i + 1] < 0 || faces[i + 1] >= texCoordCount) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int align(int offset) {
+        return (offset + 3) & ~3;
+    }
+
+    private static void touch(Path compiled) {
+        try {
+            Files.setLastModifiedTime(compiled, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException _) {
+            // Only affects which files are pruned first
+        }
+    }
+
+    // Drops the least recently used compiled models beyond the limit.
+    private void prune() {
+        try (Stream<Path> files = Files.list(root)) {
+            List<Path> compiled = files.filter(p -> p.getFileName().toString().endsWith(SUFFIX))
+                    .sorted(Comparator.comparing(CompiledModelCache::lastModified).reversed())
+                    .toList();
+            for (Path stale : compiled.subList(Math.min(maxModels, compiled.size()), compiled.size())) {
+                Files.deleteIfExists(stale);
+            }
+        } catch (IOException _) {
+            // A file still mapped elsewhere (Windows) or already gone; try again next time
+        }
+    }
+
+    private static FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException _) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static String key(ByteBuffer source) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(source.duplicate());
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -0,0 +1,38 @@
+package app.loader;
+
+import javafx.scene.shape.TriangleMesh;
+
+import java.util.Arrays;
+
+/**
+ * Flat mesh arrays in {@link TriangleMesh} layout: three floats per point, two
+ * per texture coordinate, and six ints per triangle (point and texture index
+ * for each corner). Built once by the loader and handed to the mesh without
+ * further copies on our side.
+ */
+public record MeshData(float[] points, float[] texCoords, int[] faces) {
+
+    public int pointCount() {
+        return points.length / 3;
+    }
+
+    public int texCoordCount() {
+        return texCoords.length / 2;
+    }
+
+    public int faceCount() {
+        return faces.length / 6;
+    }
+
+    /** A mesh holding these arrays, one {@code setAll} each, with every face in the same smoothing group. */
+    public TriangleMesh toTriangleMesh() {
+        TriangleMesh mesh = new TriangleMesh();
+        mesh.getPoints().setAll(points);
+        mesh.getTexCoords().setAll(texCoords.length == 0 ? new float[] {0f, 0f} : texCoords);
+        mesh.getFaces().setAll(faces);
+        int[] groups = new int[faceCount()];
+        Arrays.fill(groups, 0x00000001);
+        mesh.getFaceSmoothingGroups().setAll(groups);
+        return mesh;
+    }
+}
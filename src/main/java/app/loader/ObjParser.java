@@ -0,0 +1,680 @@
+package app.loader;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.IntStream;
+
+/**
+ * Reads an OBJ file from a memory-mapped buffer and builds the welded
+ * {@link MeshData}. Numbers are parsed straight from the bytes; the only
+ * strings created are {@code mtllib} names and the odd number the fast path
+ * cannot convert exactly.
+ * <p>
+ * Files larger than one chunk are split at line boundaries and the chunks
+ * are parsed in parallel on the common fork-join pool, each into its own
+ * primitive buffers. Prefix sums of the chunks' vertex and texture
+ * coordinate counts then turn chunk-local indices into file-wide ones. The
+ * up-axis heuristic runs per chunk; welding makes one final pass in file
+ * order, so the result does not depend on how the file was split.
+ * <p>
+ * Understands {@code v}, {@code vt}, {@code f} (any of {@code v},
+ * {@code v/vt}, {@code v//vn}, {@code v/vt/vn}, with negative relative
+ * indices) and {@code mtllib}; every other statement is skipped.
+ */
+final class ObjParser {
+
+    /** Parse result: the welded mesh, the {@code mtllib} names in file order, and whether the model looks Z-up. */
+    record Result(MeshData mesh, List<String> materialLibraries, boolean likelyZUp) {
+        Result {
+            materialLibraries = List.copyOf(materialLibraries);
+        }
+    }
+
+    private static final int CHUNK_BYTES = Integer.getInteger("tattui.obj.chunkBytes", 1 << 20);
+    private static final byte[] MTLLIB = "mtllib".getBytes(StandardCharsets.US_ASCII);
+    // Marks a corner without a texture coordinate index.
+    private static final int NO_TEX = Integer.MIN_VALUE;
+    // Powers of ten that are exact doubles.
+    private static final double[] POW10 = new double[23];
+    // Fast-path mantissas stay below 2^53 so they convert to double exactly.
+    private static final int MAX_FAST_DIGITS = 15;
+
+    static {
+        POW10[0] = 1;
+        for (int i = 1; i < POW10.length; i++) {
+            POW10[i] = POW10[i - 1] * 10;
+        }
+    }
+
+    private ObjParser() {}
+
+    static Result parse(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return parse(path, map(channel, path));
+        }
+    }
+
+    /** Parses an OBJ already mapped by {@link #map}, naming {@code path} in errors. */
+    static Result parse(Path path, MappedByteBuffer mapped) throws IOException {
+        try {
+            return parse(mapped);
+        } catch (IOException e) {
+            throw new IOException(path.getFileName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    static MappedByteBuffer map(FileChannel channel, Path path) throws IOException {
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("OBJ file too large to map: " + path);
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+
+    /** Parses the remaining bytes of {@code buf}; its position is left untouched. */
+    static Result parse(ByteBuffer buf) throws IOException {
+        return parse(buf, CHUNK_BYTES);
+    }
+
+    static Result parse(ByteBuffer buf, int chunkBytes) throws IOException {
+        try {
+            List<Chunk> chunks;
+            if (buf.remaining() <= chunkBytes) {
+                Chunk only = new Chunk(buf, buf.position(), buf.limit());
+                only.parse();
+                chunks = List.of(only);
+            } else {
+                chunks = ForkJoinPool.commonPool().invoke(new Split(buf, buf.position(), buf.limit(), chunkBytes));
+            }
+            return stitch(chunks);
+        } catch (UncheckedIOException e) {
+            // Fork-join may rethrow a copy of the worker's exception; the parse error is further down the chain.
+            Throwable cause = e;
+            while (cause != null && !(cause.getCause() instanceof IOException)) {
+                cause = cause.getCause();
+            }
+            throw cause == null ? new IOException(e) : (IOException) cause.getCause();
+        }
+    }
+
+    private static Result stitch(List<Chunk> chunks) {
+        int n = chunks.size();
+        int[] vertexBase = new int[n + 1];
+        int[] texBase = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            vertexBase[i + 1] = vertexBase[i] + chunks.get(i).vertices.size() / 3;
+            texBase[i + 1] = texBase[i] + chunks.get(i).texCoords.size() / 2;
+        }
+        float[] vertices = new float[vertexBase[n] * 3];
+        float[] texCoords = new float[texBase[n] * 2];
+        IntStream.range(0, n).parallel().forEach(i ->
+                chunks.get(i).resolve(vertices, vertexBase[i], texCoords, texBase[i]));
+        int zUpFaces = IntStream.range(0, n).parallel().map(i -> chunks.get(i).countZUp(vertices)).sum();
+
+        int faceStatements = 0;
+        List<String> materialLibraries = new ArrayList<>();
+        for (Chunk chunk : chunks) {
+            faceStatements += chunk.faceCorners.size();
+            materialLibraries.addAll(chunk.materialLibraries);
+        }
+        MeshData mesh = weld(chunks, vertices, texCoords);
+        return new Result(mesh, materialLibraries, zUpFaces > faceStatements * 0.6);
+    }
+
+    /**
+     * Fans every polygon into triangles, giving each source vertex and texture
+     * coordinate one mesh entry shared by all corners that use it, in
+     * first-use order. Corners without a usable texture coordinate share a
+     * single (0, 0) entry.
+     */
+    private static MeshData weld(List<Chunk> chunks, float[] vertices, float[] sourceTexCoords) {
+        int triangles = 0;
+        for (Chunk chunk : chunks) {
+            triangles += chunk.triangles;
+        }
+        int texCount = sourceTexCoords.length / 2;
+        int[] pointFor = new int[vertices.length / 3];
+        int[] texFor = new int[texCount];
+        Arrays.fill(pointFor, -1);
+        Arrays.fill(texFor, -1);
+        float[] points = new float[vertices.length];
+        float[] texCoords = new float[sourceTexCoords.length + 2];
+        int pointsUsed = 0;
+        int texUsed = 0;
+        int missingTex = -1;
+
+        int[] faces = new int[triangles * 6];
+        int[] cornerPoint = new int[8];
+        int[] cornerTex = new int[8];
+        int out = 0;
+        for (Chunk chunk : chunks) {
+            int[] cornerVertex = chunk.cornerVertex.values;
+            int[] cornerTexIndex = chunk.cornerTex.values;
+            int first = 0;
+            for (int f = 0; f < chunk.faceCorners.size(); f++) {
+                int n = chunk.faceCorners.get(f);
+                if (n >= 3) {
+                    if (n > cornerPoint.length) {
+                        cornerPoint = new int[n];
+                        cornerTex = new int[n];
+                    }
+                    for (int i = 0; i < n; i++) {
+                        int v = cornerVertex[first + i];
+                        if (pointFor[v] < 0) {
+                            System.arraycopy(vertices, v * 3, points, pointsUsed * 3, 3);
+                            pointFor[v] = pointsUsed++;
+                        }
+                        cornerPoint[i] = pointFor[v];
+
+                        int vt = cornerTexIndex[first + i];
+                        if (vt >= 0 && vt < texCount) {
+                            if (texFor[vt] < 0) {
+                                texCoords[texUsed * 2] = sourceTexCoords[vt * 2];
+                                texCoords[texUsed * 2 + 1] = 1f - sourceTexCoords[vt * 2 + 1];
+                                texFor[vt] = texUsed++;
+                            }
+                            cornerTex[i] = texFor[vt];
+                        } else {
+                            if (missingTex < 0) {
+                                missingTex = texUsed++;
+                            }
+                            cornerTex[i] = missingTex;
+                        }
+                    }
+                    for (int i = 1; i + 1 < n; i++) {
+                        faces[out++] = cornerPoint[0];
+                        faces[out++] = cornerTex[0];
+                        faces[out++] = cornerPoint[i];
+                        faces[out++] = cornerTex[i];
+                        faces[out++] = cornerPoint[i + 1];
+                        faces[out++] = cornerTex[i + 1];
+                    }
+                }
+                first += n;
+            }
+        }
+        return new MeshData(
+                pointsUsed * 3 == points.length ? points : Arrays.copyOf(points, pointsUsed * 3),
+                texUsed * 2 == texCoords.length ? texCoords : Arrays.copyOf(texCoords, texUsed * 2),
+                faces);
+    }
+
+    // Halves the byte range at a line start until the pieces fit in one chunk.
+    private static final class Split extends RecursiveTask<List<Chunk>> {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        // Tasks never leave the process, so the mapped buffer is not serialized.
+        private final transient ByteBuffer buf;
+        private final int start;
+        private final int end;
+        private final int chunkBytes;
+
+        Split(ByteBuffer buf, int start, int end, int chunkBytes) {
+            this.buf = buf;
+            this.start = start;
+            this.end = end;
+            this.chunkBytes = chunkBytes;
+        }
+
+        @Override
+        protected List<Chunk> compute() {
+            if (end - start > chunkBytes) {
+                int mid = start + (end - start) / 2;
+                while (mid < end && buf.get(mid - 1) != '\n') {
+                    mid++;
+                }
+                if (mid < end) {
+                    Split left = new Split(buf, start, mid, chunkBytes);
+                    left.fork();
+                    List<Chunk> right = new Split(buf, mid, end, chunkBytes).compute();
+                    List<Chunk> all = new ArrayList<>(left.join());
+                    all.addAll(right);
+                    return all;
+                }
+            }
+            Chunk chunk = new Chunk(buf, start, end);
+            try {
+                chunk.parse();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return List.of(chunk);
+        }
+    }
+
+    /**
+     * A run of whole lines, parsed into its own buffers. Indices are stored
+     * zero-based; negative (relative) ones are kept relative to the chunk's
+     * first vertex or texture coordinate until {@link #resolve} knows where
+     * the chunk starts.
+     */
+    private static final class Chunk {
+        private final ByteBuffer buf;
+        private final int limit;
+        private int pos;
+
+        final FloatArray vertices = new FloatArray(3 * 1024);
+        final FloatArray texCoords = new FloatArray(2 * 1024);
+        final IntArray cornerVertex = new IntArray(4 * 1024);
+        final IntArray cornerTex = new IntArray(4 * 1024);
+        final IntArray faceCorners = new IntArray(1024);
+        final IntArray faceOffsets = new IntArray(1024);
+        // Positions in cornerVertex / cornerTex that still need the chunk's base added.
+        final IntArray relativeVertex = new IntArray(16);
+        final IntArray relativeTex = new IntArray(16);
+        final List<String> materialLibraries = new ArrayList<>();
+        int triangles;
+
+        Chunk(ByteBuffer buf, int start, int end) {
+            this.buf = buf;
+            this.pos = start;
+            this.limit = end;
+        }
+
+        void parse() throws IOException {
+            while (pos < limit) {
+                skipBlanks();
+                if (pos < limit) {
+                    statement();
+                }
+                skipLine();
+            }
+        }
+
+        /**
+         * Copies this chunk's coordinates into the file-wide arrays and makes
+         * its corner indices file-wide. Out-of-range texture coordinate
+         * indices are left for the weld to treat as missing.
+         */
+        void resolve(float[] allVertices, int vertexBase, float[] allTexCoords, int texBase) {
+            System.arraycopy(vertices.values, 0, allVertices, vertexBase * 3, vertices.size());
+            System.arraycopy(texCoords.values, 0, allTexCoords, texBase * 2, texCoords.size());
+            int[] corners = cornerVertex.values;
+            for (int i = 0; i < relativeVertex.size(); i++) {
+                corners[relativeVertex.get(i)] += vertexBase;
+            }
+            int[] tex = cornerTex.values;
+            for (int i = 0; i < relativeTex.size(); i++) {
+                tex[relativeTex.get(i)] += texBase;
+            }
+            int vertexCount = allVertices.length / 3;
+            int first = 0;
+            for (int f = 0; f < faceCorners.size(); f++) {
+                int n = faceCorners.get(f);
+                for (int i = first; i < first + n; i++) {
+                    if (corners[i] < 0 || corners[i] >= vertexCount) {
+                        throw new UncheckedIOException(error(buf, faceOffsets.get(f), "vertex index out of range"));
+                    }
+                }
+                first += n;
+            }
+        }
+
+        // Faces whose normal through their first three vertices points mostly along Z.
+        int countZUp(float[] allVertices) {
+            int[] corners = cornerVertex.values;
+            int count = 0;
+            int first = 0;
+            for (int f = 0; f < faceCorners.size(); f++) {
+                int n = faceCorners.get(f);
+                if (n >= 3 && facesZ(allVertices, corners[first] * 3, corners[first + 1] * 3,
+                        corners[first + 2] * 3)) {
+                    count++;
+                }
+                first += n;
+            }
+            return count;
+        }
+
+        private void statement() throws IOException {
+            byte first = buf.get(pos);
+            byte second = pos + 1 < limit ? buf.get(pos + 1) : (byte) '\n';
+            if (first == 'v' && isBlank(second)) {
+                pos++;
+                vertex();
+            } else if (first == 'v' && second == 't' && (pos + 2 >= limit || isBlank(buf.get(pos + 2)))) {
+                pos += 2;
+                texCoord();
+            } else if (first == 'f' && isBlank(second)) {
+                int offset = pos;
+                pos++;
+                face(offset);
+            } else if (keyword(MTLLIB)) {
+                pos += MTLLIB.length;
+                materialLibrary();
+            }
+        }
+
+        private void vertex() throws IOException {
+            float x = parseFloat();
+            float y = parseFloat();
+            float z = parseFloat();
+            vertices.add(x);
+            vertices.add(y);
+            vertices.add(z);
+        }
+
+        private void texCoord() throws IOException {
+            float u = parseFloat();
+            skipBlanks();
+            float v = atLineEnd() ? 0f : parseFloat();
+            texCoords.add(u);
+            texCoords.add(v);
+        }
+
+        private void face(int offset) throws IOException {
+            int n = 0;
+            while (true) {
+                skipBlanks();
+                if (atLineEnd()) {
+                    break;
+                }
+                int v = parseInt();
+                if (v == 0) {
+                    throw error(buf, offset, "vertex index out of range");
+                }
+                if (v < 0) {
+                    relativeVertex.add(cornerVertex.size());
+                }
+                cornerVertex.add(v > 0 ? v - 1 : vertices.size() / 3 + v);
+
+                int vt = NO_TEX;
+                if (pos < limit && buf.get(pos) == '/') {
+                    pos++;
+                    if (pos < limit && buf.get(pos) != '/') {
+                        int index = parseInt();
+                        if (index < 0) {
+                            relativeTex.add(cornerTex.size());
+                            vt = texCoords.size() / 2 + index;
+                        } else if (index > 0) {
+                            vt = index - 1;
+                        }
+                    }
+                    if (pos < limit && buf.get(pos) == '/') {
+                        pos++;
+                        parseInt(); // normal index; the mesh computes its own shading
+                    }
+                }
+                cornerTex.add(vt);
+                n++;
+            }
+            faceCorners.add(n);
+            faceOffsets.add(offset);
+            if (n >= 3) {
+                triangles += n - 2;
+            }
+        }
+
+        private void materialLibrary() {
+            skipBlanks();
+            int start = pos;
+            int end = start;
+            while (pos < limit && !isLineEnd(buf.get(pos))) {
+                if (!isBlank(buf.get(pos))) {
+                    end = pos + 1;
+                }
+                pos++;
+            }
+            if (end > start) {
+                byte[] name = new byte[end - start];
+                buf.get(start, name);
+                materialLibraries.add(new String(name, StandardCharsets.UTF_8));
+            }
+        }
+
+        private int parseInt() throws IOException {
+            boolean negative = false;
+            if (pos < limit && (buf.get(pos) == '-' || buf.get(pos) == '+')) {
+                negative = buf.get(pos) == '-';
+                pos++;
+            }
+            int start = pos;
+            long value = 0;
+            while (pos < limit) {
+                int digit = buf.get(pos) - '0';
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+                value = value * 10 + digit;
+                if (value > Integer.MAX_VALUE) {
+                    throw error(buf, start, "index too large");
+                }
+                pos++;
+            }
+            if (pos == start) {
+                throw error(buf, pos, "expected an index");
+            }
+            return (int) (negative ? -value : value);
+        }
+
+        /**
+         * Decimal to float without a String for the usual OBJ number: up to 15
+         * significant digits and a small exponent are exact in a double, and the
+         * narrowing to float is correctly rounded unless the double sits exactly
+         * halfway between two floats. Anything else goes through
+         * {@link Float#parseFloat}.
+         */
+        private float parseFloat() throws IOException {
+            skipBlanks();
+            int start = pos;
+            boolean negative = false;
+            if (pos < limit && (buf.get(pos) == '-' || buf.get(pos) == '+')) {
+                negative = buf.get(pos) == '-';
+                pos++;
+            }
+            long mantissa = 0;
+            int digits = 0;
+            int exponent = 0;
+            boolean any = false;
+            boolean exact = true;
+            byte c;
+            while (pos < limit && isDigit(c = buf.get(pos))) {
+                any = true;
+                if (digits < MAX_FAST_DIGITS) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (mantissa != 0) {
+                        digits++;
+                    }
+                } else {
+                    exponent++;
+                    exact &= c == '0';
+                }
+                pos++;
+            }
+            if (pos < limit && buf.get(pos) == '.') {
+                pos++;
+                while (pos < limit && isDigit(c = buf.get(pos))) {
+                    any = true;
+                    if (digits < MAX_FAST_DIGITS) {
+                        mantissa = mantissa * 10 + (c - '0');
+                        exponent--;
+                        if (mantissa != 0) {
+                            digits++;
+                        }
+                    } else {
+                        exact &= c == '0';
+                    }
+                    pos++;
+                }
+            }
+            if (any && pos < limit && (buf.get(pos) == 'e' || buf.get(pos) == 'E')) {
+                pos++;
+                boolean negativeExponent = false;
+                if (pos < limit && (buf.get(pos) == '-' || buf.get(pos) == '+')) {
+                    negativeExponent = buf.get(pos) == '-';
+                    pos++;
+                }
+                int value = 0;
+                boolean expDigits = false;
+                while (pos < limit && isDigit(c = buf.get(pos))) {
+                    expDigits = true;
+                    value = Math.min(value * 10 + (c - '0'), 10_000);
+                    pos++;
+                }
+                if (!expDigits) {
+                    return slowFloat(start);
+                }
+                exponent += negativeExponent ? -value : value;
+            }
+            if (!any || (pos < limit && !isSeparator(buf.get(pos)))) {
+                return slowFloat(start);
+            }
+            if (!exact || exponent < -22 || exponent > 22) {
+                return slowFloat(start);
+            }
+            double value = exponent >= 0 ? mantissa * POW10[exponent] : mantissa / POW10[-exponent];
+            double magnitude = Math.abs(value);
+            long bits = Double.doubleToRawLongBits(value);
+            if ((bits & 0x1FFF_FFFFL) == 0x1000_0000L
+                    || (magnitude != 0 && magnitude < Float.MIN_NORMAL) || magnitude > Float.MAX_VALUE) {
+                return slowFloat(start);
+            }
+            float result = (float) value;
+            return negative ? -result : result;
+        }
+
+        private float slowFloat(int start) throws IOException {
+            pos = start;
+            while (pos < limit && !isSeparator(buf.get(pos))) {
+                pos++;
+            }
+            if (pos == start) {
+                throw error(buf, start, "expected a number");
+            }
+            byte[] token = new byte[pos - start];
+            buf.get(start, token);
+            try {
+                return Float.parseFloat(new String(token, StandardCharsets.US_ASCII));
+            } catch (NumberFormatException _) {
+                throw error(buf, start, "bad number '" + new String(token, StandardCharsets.US_ASCII) + "'");
+            }
+        }
+
+        private boolean keyword(byte[] word) {
+            if (pos + word.length > limit) {
+                return false;
+            }
+            for (int i = 0; i < word.length; i++) {
+                if ((buf.get(pos + i) | 0x20) != word[i]) {
+                    return false;
+                }
+            }
+            return pos + word.length == limit || isSeparator(buf.get(pos + word.length));
+        }
+
+        private void skipBlanks() {
+            while (pos < limit && isBlank(buf.get(pos))) {
+                pos++;
+            }
+        }
+
+        private void skipLine() {
+            while (pos < limit && buf.get(pos++) != '\n') {
+                // to the start of the next line
+            }
+        }
+
+        private boolean atLineEnd() {
+            return pos >= limit || isLineEnd(buf.get(pos));
+        }
+    }
+
+    // Differences in float, as the vertices are stored.
+    private static boolean facesZ(float[] vertices, int a, int b, int c) {
+        double abx = vertices[b] - vertices[a];
+        double aby = vertices[b + 1] - vertices[a + 1];
+        double abz = vertices[b + 2] - vertices[a + 2];
+        double acx = vertices[c] - vertices[a];
+        double acy = vertices[c + 1] - vertices[a + 1];
+        double acz = vertices[c + 2] - vertices[a + 2];
+        double nx = aby * acz - abz * acy;
+        double ny = abz * acx - abx * acz;
+        double nz = abx * acy - aby * acx;
+        return Math.abs(nz) > Math.abs(ny) && Math.abs(nz) > Math.abs(nx);
+    }
+
+    // Line numbers are only needed for errors, so they are counted on demand.
+    private static IOException error(ByteBuffer buf, int offset, String message) {
+        int line = 1;
+        for (int i = 0; i < offset; i++) {
+            if (buf.get(i) == '\n') {
+                line++;
+            }
+        }
+        return new IOException("line " + line + ": " + message);
+    }
+
+    private static boolean isDigit(byte c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isBlank(byte c) {
+        return c == ' ' || c == '\t';
+    }
+
+    // A comment also ends a statement.
+    private static boolean isLineEnd(byte c) {
+        return c == '\n' || c == '\r' || c == '#';
+    }
+
+    private static boolean isSeparator(byte c) {
+        return isBlank(c) || isLineEnd(c) || c == '/';
+    }
+
+    private static final class FloatArray {
+        private float[] values;
+        private int size;
+
+        FloatArray(int capacity) {
+            values = new float[capacity];
+        }
+
+        void add(float value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int size() {
+            return size;
+        }
+    }
+
+    private static final class IntArray {
+        private int[] values;
+        private int size;
+
+        IntArray(int capacity) {
+            values = new int[capacity];
+        }
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
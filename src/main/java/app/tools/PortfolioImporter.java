@@ -0,0 +1,200 @@
+package app.tools;
+
+import app.entity.DatabaseConnector;
+import app.entity.DesignDraft;
+import app.entity.PostDraft;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Bulk-loads artist portfolios into tattui.db. Layout, one directory per artist
+ * named after the username:
+ * <pre>
+ * portfolio/
+ *   hidden_hand/
+ *     posts.tsv      image_url [TAB caption [TAB keywords]]
+ *     designs.tsv    picture_url TAB design name
+ *     posts/*.jpg    one post per image, captioned with the file name
+ *     designs/*.png  one design per image, named after the file
+ * </pre>
+ * Blank lines and lines starting with {@code #} are ignored. Rows the database
+ * would reject (a post without a URL, a design without a URL or name) are
+ * reported as skipped while scanning, before anything is written. Rows are
+ * written through the batch API, {@value #BATCH_SIZE} per transaction; importing
+ * the same directory twice adds its rows twice.
+ * <p>
+ * Run with {@code ./gradlew importPortfolio -Pdir=path/to/portfolio}.
+ */
+public final class PortfolioImporter {
+
+    static final int BATCH_SIZE = 1_000;
+    private static final Set<String> IMAGE_EXTENSIONS = Set.of("jpg", "jpeg", "png", "gif", "bmp", "webp");
+
+    record ArtistPortfolio(String username, List<PostDraft> posts, List<DesignDraft> designs,
+            List<String> skipped) {
+    }
+
+    private record TsvRow(int line, String[] columns) {
+    }
+
+    public record Result(int artists, int posts, int designs, List<String> skipped, long elapsedNanos) {
+        public double rowsPerSecond() {
+            return elapsedNanos == 0 ? 0 : (posts + designs) * 1e9 / elapsedNanos;
+        }
+    }
+
+    private PortfolioImporter() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 1) {
+            System.err.println("usage: PortfolioImporter <portfolio-directory>");
+            System.exit(2);
+        }
+        try {
+            Result result = importAll(Path.of(args[0]));
+            System.out.printf(Locale.ROOT, "Imported %d posts and %d designs for %d artists in %.2fs (%.0f rows/s)%n",
+                    result.posts(), result.designs(), result.artists(), result.elapsedNanos() / 1e9,
+                    result.rowsPerSecond());
+            result.skipped().forEach(reason -> System.out.println("Skipped " + reason));
+        } finally {
+            DatabaseConnector.shutdown();
+        }
+    }
+
+    public static Result importAll(Path root) throws IOException, SQLException {
+        long start = System.nanoTime();
+        int artists = 0;
+        int posts = 0;
+        int designs = 0;
+        List<String> skipped = new ArrayList<>();
+        for (ArtistPortfolio portfolio : scan(root)) {
+            skipped.addAll(portfolio.skipped());
+            Integer accountId = DatabaseConnector.findArtistAccountId(portfolio.username());
+            if (accountId == null) {
+                skipped.add(portfolio.username() + ": no artist account with that username");
+                continue;
+            }
+            for (List<PostDraft> batch : chunks(portfolio.posts())) {
+                posts += DatabaseConnector.addArtistPosts(accountId, batch).size();
+            }
+            for (List<DesignDraft> batch : chunks(portfolio.designs())) {
+                designs += DatabaseConnector.addArtistDesigns(accountId, batch).size();
+            }
+            artists++;
+        }
+        return new Result(artists, posts, designs, skipped, System.nanoTime() - start);
+    }
+
+    /**
+     * Reads every artist directory under {@code root}, sorted by name; nothing is
+     * written. Invalid manifest rows are left out and listed in {@code skipped}.
+     */
+    static List<ArtistPortfolio> scan(Path root) throws IOException {
+        List<ArtistPortfolio> portfolios = new ArrayList<>();
+        for (Path dir : sortedChildren(root)) {
+            if (!Files.isDirectory(dir)) {
+                continue;
+            }
+            String username = dir.getFileName().toString();
+            List<String> skipped = new ArrayList<>();
+            List<PostDraft> posts = new ArrayList<>();
+            for (TsvRow row : readTsv(dir.resolve("posts.tsv"))) {
+                String url = column(row.columns(), 0);
+                if (url == null) {
+                    skipped.add(username + "/posts.tsv line " + row.line() + ": image URL is required");
+                    continue;
+                }
+                posts.add(new PostDraft(column(row.columns(), 1), url, column(row.columns(), 2)));
+            }
+            for (Path image : images(dir.resolve("posts"))) {
+                posts.add(new PostDraft(baseName(image), image.toUri().toString(), null));
+            }
+            List<DesignDraft> designs = new ArrayList<>();
+            for (TsvRow row : readTsv(dir.resolve("designs.tsv"))) {
+                String url = column(row.columns(), 0);
+                String name = column(row.columns(), 1);
+                if (url == null || name == null) {
+                    skipped.add(username + "/designs.tsv line " + row.line() + ": "
+                            + (url == null ? "picture URL" : "design name") + " is required");
+                    continue;
+                }
+                designs.add(new DesignDraft(name, url));
+            }
+            for (Path image : images(dir.resolve("designs"))) {
+                designs.add(new DesignDraft(baseName(image), image.toUri().toString()));
+            }
+            portfolios.add(new ArtistPortfolio(username, posts, designs, skipped));
+        }
+        return portfolios;
+    }
+
+    static <T> List<List<T>> chunks(List<T> rows) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i += BATCH_SIZE) {
+            chunks.add(rows.subList(i, Math.min(rows.size(), i + BATCH_SIZE)));
+        }
+        return chunks;
+    }
+
+    private static List<TsvRow> readTsv(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return List.of();
+        }
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        List<TsvRow> rows = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            rows.add(new TsvRow(i + 1, line.split("\t", -1)));
+        }
+        return rows;
+    }
+
+    private static String column(String[] row, int index) {
+        if (index >= row.length) {
+            return null;
+        }
+        String value = row[index].trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static List<Path> images(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        List<Path> images = new ArrayList<>();
+        for (Path file : sortedChildren(dir)) {
+            String name = file.getFileName().toString();
+            int dot = name.lastIndexOf('.');
+            if (dot > 0 && IMAGE_EXTENSIONS.contains(name.substring(dot + 1).toLowerCase(Locale.ROOT))
+                    && Files.isRegularFile(file)) {
+                images.add(file);
+            }
+        }
+        return images;
+    }
+
+    private static List<Path> sortedChildren(Path dir) throws IOException {
+        try (Stream<Path> children = Files.list(dir)) {
+            return children.sorted().toList();
+        }
+    }
+
+    private static String baseName(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+}
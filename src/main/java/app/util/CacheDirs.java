@@ -0,0 +1,30 @@
+package app.util;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Where tattui keeps data it can always rebuild.
+ */
+public final class CacheDirs {
+
+    private CacheDirs() {
+    }
+
+    /** {@code tattui} under the platform's per-user cache directory. */
+    public static Path userCacheRoot() {
+        String home = System.getProperty("user.home", ".");
+        String os = System.getProperty("os.name", "").toLowerCase(Locale.ROOT);
+        Path base;
+        if (os.contains("win") && System.getenv("LOCALAPPDATA") != null) {
+            base = Path.of(System.getenv("LOCALAPPDATA"));
+        } else if (os.contains("mac")) {
+            base = Path.of(home, "Library", "Caches");
+        } else if (System.getenv("XDG_CACHE_HOME") != null) {
+            base = Path.of(System.getenv("XDG_CACHE_HOME"));
+        } else {
+            base = Path.of(home, ".cache");
+        }
+        return base.resolve("tattui");
+    }
+}
@@ -0,0 +1,337 @@
+package app.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * On-disk tier for remote images. Bodies are stored once under
+ * {@code blobs/<sha-256 of content>}; {@code index/<sha-256 of url>} records
+ * which blob a URL points at, its ETag and when it goes stale (from
+ * {@code Cache-Control: max-age}). Stale entries are revalidated with
+ * {@code If-None-Match}, and a stale copy is still served when the network fails.
+ * <p>
+ * Blobs are capped by total size: after each download the least recently used
+ * blobs beyond the cap are deleted, together with the index entries that
+ * pointed at them.
+ */
+final class ImageDiskCache {
+
+    record Stats(long hits, long misses, long revalidations) {
+    }
+
+    private record Entry(String blob, String etag, long expiresAt) {
+    }
+
+    private static final Duration DEFAULT_MAX_AGE = Duration.ofDays(1);
+    static final long DEFAULT_MAX_BYTES = Long.getLong("tattui.imageCache.diskBytes", 256L * 1024 * 1024);
+    private static final Duration TIMEOUT = Duration.ofSeconds(20);
+
+    private final Path blobs;
+    private final Path index;
+    private final long maxBytes;
+    private final HttpClient http;
+    private final ExecutorService background = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+
+    ImageDiskCache(Path root) {
+        this(root, DEFAULT_MAX_BYTES);
+    }
+
+    ImageDiskCache(Path root, long maxBytes) {
+        this.blobs = root.resolve("blobs");
+        this.index = root.resolve("index");
+        this.maxBytes = maxBytes;
+        this.http = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    /** {@code tattui.cache.dir} if set, otherwise the platform's per-user cache directory. */
+    static Path defaultRoot() {
+        String override = System.getProperty("tattui.cache.dir");
+        if (override != null && !override.isBlank()) {
+            return Path.of(override);
+        }
+        return CacheDirs.userCacheRoot().resolve("images");
+    }
+
+    /**
+     * Returns a {@code file:} URI for {@code url}'s cached body, fetching or
+     * revalidating it first when {@code blocking}. When not blocking, a missing
+     * or stale entry is refreshed in the background and the caller gets the
+     * original URL (or the stale copy) right away.
+     */
+    String localize(String url, boolean blocking) {
+        Entry entry = readEntry(url);
+        Path blob = entry == null ? null : blobs.resolve(entry.blob());
+        boolean present = blob != null && Files.isRegularFile(blob);
+        if (present && System.currentTimeMillis() < entry.expiresAt()) {
+            hits.increment();
+            touch(blob);
+            return blob.toUri().toString();
+        }
+        if (present) {
+            hits.increment();
+            touch(blob);
+        } else {
+            misses.increment();
+        }
+        if (!blocking) {
+            refreshLater(url);
+            return present ? blob.toUri().toString() : url;
+        }
+        Path fetched = fetch(url, present ? entry : null);
+        if (fetched != null) {
+            return fetched.toUri().toString();
+        }
+        return present ? blob.toUri().toString() : url;
+    }
+
+    Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), revalidations.sum());
+    }
+
+    private void refreshLater(String url) {
+        if (!inFlight.add(url)) {
+            return;
+        }
+        background.execute(() -> {
+            try {
+                Entry entry = readEntry(url);
+                boolean present = entry != null && Files.isRegularFile(blobs.resolve(entry.blob()));
+                fetch(url, present ? entry : null);
+            } finally {
+                inFlight.remove(url);
+            }
+        });
+    }
+
+    /** Downloads or revalidates {@code url}; returns the blob path, or null if nothing usable came back. */
+    private Path fetch(String url, Entry stale) {
+        try {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url)).timeout(TIMEOUT).GET();
+            if (stale != null && stale.etag() != null) {
+                request.header("If-None-Match", stale.etag());
+            }
+            HttpResponse<InputStream> response = http.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+            String cacheControl = response.headers().firstValue("Cache-Control").orElse("");
+            long expiresAt = System.currentTimeMillis() + maxAge(cacheControl).toMillis();
+            try (InputStream body = response.body()) {
+                if (response.statusCode() == 304 && stale != null) {
+                    revalidations.increment();
+                    writeEntry(url, new Entry(stale.blob(), stale.etag(), expiresAt));
+                    return blobs.resolve(stale.blob());
+                }
+                if (response.statusCode() != 200 || cacheControl.toLowerCase(Locale.ROOT).contains("no-store")) {
+                    return null;
+                }
+                String blob = storeBlob(body);
+                writeEntry(url, new Entry(blob, response.headers().firstValue("ETag").orElse(null), expiresAt));
+                prune(blob);
+                return blobs.resolve(blob);
+            }
+        } catch (IOException | IllegalArgumentException _) {
+            return null;
+        } catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    static Duration maxAge(String cacheControl) {
+        for (String directive : cacheControl.toLowerCase(Locale.ROOT).split(",")) {
+            String d = directive.trim();
+            if (d.equals("no-cache")) {
+                return Duration.ZERO;
+            }
+            if (d.startsWith("max-age=")) {
+                try {
+                    return Duration.ofSeconds(Math.max(0, Long.parseLong(d.substring(8).trim())));
+                } catch (NumberFormatException _) {
+                    return DEFAULT_MAX_AGE;
+                }
+            }
+        }
+        return DEFAULT_MAX_AGE;
+    }
+
+    private String storeBlob(InputStream body) throws IOException {
+        Files.createDirectories(blobs);
+        Path tmp = Files.createTempFile(blobs, "dl", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                byte[] buf = new byte[16 * 1024];
+                int n;
+                while ((n = body.read(buf)) > 0) {
+                    digest.update(buf, 0, n);
+                    out.write(buf, 0, n);
+                }
+            }
+            String name = HexFormat.of().formatHex(digest.digest());
+            Path target = blobs.resolve(name);
+            if (!Files.exists(target)) {
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return name;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Deletes the least recently used blobs until the rest fit in the cap, then
+     * drops index entries pointing at deleted blobs. {@code keep} is never
+     * deleted, so the blob just downloaded is always served.
+     */
+    private synchronized void prune(String keep) {
+        List<Path> all;
+        try (Stream<Path> files = Files.list(blobs)) {
+            all = files.filter(p -> !p.getFileName().toString().endsWith(".tmp"))
+                    .sorted(Comparator.comparing(ImageDiskCache::lastModified).reversed())
+                    .toList();
+        } catch (IOException _) {
+            return;
+        }
+        long total = 0;
+        Set<String> deleted = new HashSet<>();
+        for (Path blob : all) {
+            long size = sizeOf(blob);
+            String name = blob.getFileName().toString();
+            if (total + size <= maxBytes || name.equals(keep)) {
+                total += size;
+                continue;
+            }
+            try {
+                Files.deleteIfExists(blob);
+                deleted.add(name);
+            } catch (IOException _) {
+                // Still open elsewhere; try again after the next download
+            }
+        }
+        if (deleted.isEmpty()) {
+            return;
+        }
+        try (Stream<Path> entries = Files.list(index)) {
+            for (Path file : entries.toList()) {
+                String blob = readBlobName(file);
+                if (blob == null || deleted.contains(blob)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException _) {
+            // Orphaned entries only cost a miss
+        }
+    }
+
+    private static String readBlobName(Path file) {
+        Properties p = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            p.load(in);
+            return p.getProperty("blob");
+        } catch (IOException _) {
+            return null;
+        }
+    }
+
+    private static void touch(Path blob) {
+        try {
+            Files.setLastModifiedTime(blob, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException _) {
+            // Only affects which blobs are pruned first
+        }
+    }
+
+    private static FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException _) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static long sizeOf(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException _) {
+            return 0;
+        }
+    }
+
+    private Entry readEntry(String url) {
+        Path file = index.resolve(key(url));
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        Properties p = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            p.load(in);
+            return new Entry(p.getProperty("blob"), p.getProperty("etag"),
+                    Long.parseLong(p.getProperty("expiresAt", "0")));
+        } catch (IOException | NumberFormatException _) {
+            return null;
+        }
+    }
+
+    private void writeEntry(String url, Entry entry) throws IOException {
+        Files.createDirectories(index);
+        Properties p = new Properties();
+        p.setProperty("url", url);
+        p.setProperty("blob", entry.blob());
+        p.setProperty("expiresAt", Long.toString(entry.expiresAt()));
+        if (entry.etag() != null) {
+            p.setProperty("etag", entry.etag());
+        }
+        Path tmp = Files.createTempFile(index, "entry", ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                p.store(out, null);
+            }
+            Files.move(tmp, index.resolve(key(url)), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static String key(String url) {
+        return HexFormat.of().formatHex(sha256().digest(url.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
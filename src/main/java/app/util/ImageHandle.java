@@ -0,0 +1,117 @@
+package app.util;
+
+import javafx.scene.image.Image;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Lazily decoded image shared by everything that refers to the same source.
+ * Entities hold a handle instead of an {@link Image}, so mapping rows never
+ * touches the disk or the network. {@link #get()} goes through
+ * {@link ImageResolver}, whose bounded memory tier decides how long the decoded
+ * image stays around; the handle itself only keeps images that were published
+ * to it with {@link #of(String, Image)}. A source that fails to load is tried
+ * again on the next {@code get()}.
+ * <p>
+ * Handles are shared per key only while something still refers to them.
+ */
+public final class ImageHandle {
+
+    private static final ImageHandle EMPTY = new ImageHandle(null, () -> null);
+    private static final Map<String, KeyedReference> SHARED = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<ImageHandle> CLEARED = new ReferenceQueue<>();
+
+    private static final class KeyedReference extends WeakReference<ImageHandle> {
+        private final String key;
+
+        KeyedReference(ImageHandle handle) {
+            super(handle, CLEARED);
+            this.key = handle.key;
+        }
+    }
+
+    private final String key;
+    private final Supplier<Image> loader;
+    private volatile boolean loaded;
+    private volatile Image published;
+
+    ImageHandle(String key, Supplier<Image> loader) {
+        this.key = key;
+        this.loader = loader;
+    }
+
+    /**
+     * Returns the shared handle for {@code key}. The candidates are tried in
+     * order, as in {@link ImageResolver#loadAny}, on access.
+     */
+    public static ImageHandle of(String key, String... candidates) {
+        if (key == null || key.isBlank()) {
+            return EMPTY;
+        }
+        return shared(key, () -> {
+            try {
+                return ImageResolver.loadAny(candidates);
+            } catch (IllegalArgumentException _) {
+                return null;
+            }
+        });
+    }
+
+    /** Publishes an image that was already decoded elsewhere under {@code key}. */
+    public static ImageHandle of(String key, Image image) {
+        if (key == null || key.isBlank()) {
+            return EMPTY;
+        }
+        ImageHandle handle = shared(key, () -> null);
+        handle.published = image;
+        handle.loaded = image != null;
+        return handle;
+    }
+
+    private static ImageHandle shared(String key, Supplier<Image> loader) {
+        expungeCleared();
+        while (true) {
+            KeyedReference ref = SHARED.get(key);
+            ImageHandle existing = ref == null ? null : ref.get();
+            if (existing != null) {
+                return existing;
+            }
+            ImageHandle created = new ImageHandle(key, loader);
+            KeyedReference fresh = new KeyedReference(created);
+            boolean stored = ref == null ? SHARED.putIfAbsent(key, fresh) == null : SHARED.replace(key, ref, fresh);
+            if (stored) {
+                return created;
+            }
+        }
+    }
+
+    private static void expungeCleared() {
+        for (var ref = CLEARED.poll(); ref != null; ref = CLEARED.poll()) {
+            KeyedReference cleared = (KeyedReference) ref;
+            SHARED.remove(cleared.key, cleared);
+        }
+    }
+
+    public String key() {
+        return key;
+    }
+
+    /** Whether the last {@link #get()} (or a publish) produced an image. */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /** The decoded image, or {@code null} if the source could not be loaded this time. */
+    public Image get() {
+        Image image = published;
+        if (image == null) {
+            image = loader.get();
+        }
+        loaded = image != null;
+        return image;
+    }
+}
@@ -7,6 +7,7 @@ import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
 import java.util.Locale;
 
 /**
@@ -17,9 +18,54 @@ import java.util.Locale;
  * {@code ~/}-relative paths, and hostnames without schemes. Backslashes are
  * normalized
  * so strings such as {@code src\main\resources\...} work on every platform.
+ * <p>
+ * Loaded images are cached in two tiers. Decoded images are kept in memory,
+ * keyed by resolved URL plus requested size and bounded by their pixel bytes.
+ * Remote bodies are also kept on disk ({@link ImageDiskCache}), so a restart
+ * or a memory eviction costs a decode, not a download. Sized requests up to
+ * 512px are served from pre-scaled renditions ({@link ThumbnailService}) once
+ * those exist, so list cells and cards never decode a full-resolution original.
  */
 public final class ImageResolver {
 
+    /** Hit and size counters for both cache tiers. */
+    public record CacheStats(long memoryHits, long memoryMisses, long memoryEvictions, long memoryBytes,
+            long diskHits, long diskMisses, long diskRevalidations,
+            long thumbnailHits, long thumbnailMisses, long thumbnailsGenerated) {
+
+        public double memoryHitRatio() {
+            return ratio(memoryHits, memoryMisses);
+        }
+
+        public double diskHitRatio() {
+            return ratio(diskHits, diskMisses);
+        }
+
+        public double thumbnailHitRatio() {
+            return ratio(thumbnailHits, thumbnailMisses);
+        }
+
+        private static double ratio(long hits, long misses) {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+
+    private record Key(String url, double width, double height, boolean preserveRatio, boolean smooth) {
+    }
+
+    private static final long MEMORY_BUDGET_BYTES = Long.getLong("tattui.imageCache.bytes", 96L * 1024 * 1024);
+    // Charged for images whose size is not known yet; corrected once they finish loading.
+    private static final long UNKNOWN_IMAGE_BYTES = 512L * 512 * 4;
+
+    private static final WeightedLruCache<Key, Image> MEMORY =
+            new WeightedLruCache<>(MEMORY_BUDGET_BYTES, ImageResolver::pixelBytes);
+    private static final ImageDiskCache DISK = new ImageDiskCache(ImageDiskCache.defaultRoot());
+    private static final ThumbnailService THUMBNAILS = new ThumbnailService(
+            ImageDiskCache.defaultRoot().resolve("thumbs"), ThumbnailService.defaultPool(),
+            url -> isRemote(url) ? DISK.localize(url, true) : url);
+    private static final ResolutionCache RESOLUTIONS = new ResolutionCache(4096, ImageResolver::resolveUncached);
+
     private ImageResolver() {
     }
 
@@ -57,7 +103,73 @@ public final class ImageResolver {
         if (resolved == null) {
             throw new IllegalArgumentException("Unable to resolve image from provided sources.");
         }
-        return new Image(resolved, width, height, preserveRatio, smooth, backgroundLoading);
+        Key key = new Key(resolved, width, height, preserveRatio, smooth);
+        Image cached = MEMORY.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        String source = null;
+        int rendition = ThumbnailService.renditionFor(width, height);
+        if (rendition > 0) {
+            source = THUMBNAILS.lookup(resolved, rendition);
+        }
+        if (source == null) {
+            source = isRemote(resolved) ? DISK.localize(resolved, !backgroundLoading) : resolved;
+        }
+        Image image = new Image(source, width, height, preserveRatio, smooth, backgroundLoading);
+        if (image.isError()) {
+            return image;
+        }
+        MEMORY.put(key, image);
+        if (image.getProgress() < 1.0) {
+            image.progressProperty().addListener((obs, old, progress) -> settle(key, image));
+            // A load that finished before the listener was added never fires it.
+            settle(key, image);
+        }
+        return image;
+    }
+
+    // Drops a failed background load, or re-weighs a finished one now that its size is known.
+    private static void settle(Key key, Image image) {
+        if (image.isError()) {
+            MEMORY.remove(key, image);
+        } else if (image.getProgress() >= 1.0) {
+            MEMORY.refresh(key, image);
+        }
+    }
+
+    /**
+     * The image a matching {@code load} would return if it is already decoded in
+     * memory, or null. Never downloads or decodes, so it is cheap enough for
+     * the FX thread.
+     */
+    public static Image peek(String candidate, double width, double height, boolean preserveRatio, boolean smooth) {
+        String resolved = resolve(candidate);
+        return resolved == null ? null : MEMORY.peek(new Key(resolved, width, height, preserveRatio, smooth));
+    }
+
+    public static CacheStats cacheStats() {
+        WeightedLruCache.Stats memory = MEMORY.stats();
+        ImageDiskCache.Stats disk = DISK.stats();
+        ThumbnailService.Stats thumbs = THUMBNAILS.stats();
+        return new CacheStats(memory.hits(), memory.misses(), memory.evictions(), memory.weight(),
+                disk.hits(), disk.misses(), disk.revalidations(),
+                thumbs.hits(), thumbs.misses(), thumbs.generated());
+    }
+
+    private static long pixelBytes(Key key, Image image) {
+        double w = image.getWidth();
+        double h = image.getHeight();
+        if (w <= 0 || h <= 0) {
+            w = key.width();
+            h = key.height();
+        }
+        return w > 0 && h > 0 ? (long) (w * h * 4) : UNKNOWN_IMAGE_BYTES;
+    }
+
+    private static boolean isRemote(String resolved) {
+        String lower = resolved.toLowerCase(Locale.ROOT);
+        return lower.startsWith("http://") || lower.startsWith("https://");
     }
 
     public static String resolveAny(String... candidates) {
@@ -73,10 +185,16 @@ public final class ImageResolver {
         return null;
     }
 
+    /**
+     * Resolves one candidate to a loadable URL, or null. Results (including
+     * misses) are memoized; see {@link ResolutionCache} for when local-path
+     * results are invalidated.
+     */
     public static String resolve(String raw) {
-        if (raw == null) {
-            return null;
-        }
+        return raw == null ? null : RESOLUTIONS.resolve(raw);
+    }
+
+    private static String resolveUncached(String raw, List<Path> probed) {
         String trimmed = raw.trim();
         if (trimmed.isEmpty()) {
             return null;
@@ -88,7 +206,7 @@ public final class ImageResolver {
             return normalized;
         }
 
-        Path filePath = resolveFilePath(normalized);
+        Path filePath = resolveFilePath(normalized, probed);
         if (filePath != null) {
             return filePath.toUri().toString();
         }
@@ -105,12 +223,13 @@ public final class ImageResolver {
         return null;
     }
 
-    private static Path resolveFilePath(String normalized) {
+    private static Path resolveFilePath(String normalized, List<Path> probed) {
         try {
             if (normalized.startsWith("~/")) {
                 Path home = Paths.get(System.getProperty("user.home", ""));
                 if (home != null) {
                     Path candidate = home.resolve(normalized.substring(2));
+                    probed.add(candidate);
                     if (Files.exists(candidate)) {
                         return candidate.toAbsolutePath().normalize();
                     }
@@ -118,6 +237,7 @@ public final class ImageResolver {
             }
 
             Path path = Paths.get(normalized);
+            probed.add(path);
             if (Files.exists(path)) {
                 return path.toAbsolutePath().normalize();
             }
@@ -125,6 +245,7 @@ public final class ImageResolver {
             if (!path.isAbsolute()) {
                 Path base = Paths.get(System.getProperty("user.dir", ""));
                 Path candidate = base.resolve(path).normalize();
+                probed.add(candidate);
                 if (Files.exists(candidate)) {
                     return candidate;
                 }
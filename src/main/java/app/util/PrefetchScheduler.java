@@ -0,0 +1,125 @@
+package app.util;
+
+import java.util.Comparator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Bounded-concurrency loader with priorities. At most {@code maxConcurrent}
+ * loads run at once; queued requests are taken lowest priority value first,
+ * then oldest first. A cancelled request is dropped from the queue, or, if it
+ * is already running, finishes without being delivered. Results are handed to
+ * the {@code deliver} executor (the FX thread in the UI).
+ */
+public final class PrefetchScheduler<T> {
+
+    @FunctionalInterface
+    public interface Loader<T> {
+        T load(String key) throws Exception;
+    }
+
+    public record Stats(long loaded, long cancelled, long failed, int queued) {
+    }
+
+    /** Handle for one request; all methods are safe from any thread. */
+    public final class Ticket {
+        private final String key;
+        private final long sequence;
+        private final Consumer<? super T> onLoaded;
+        private volatile int priority;
+        private volatile boolean cancelled;
+
+        private Ticket(String key, int priority, long sequence, Consumer<? super T> onLoaded) {
+            this.key = key;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.onLoaded = onLoaded;
+        }
+
+        public String key() {
+            return key;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                if (queue.remove(this)) {
+                    cancelledCount.increment();
+                }
+            }
+        }
+
+        /** Moves a still-queued request; no-op once it has started. */
+        public void reprioritize(int newPriority) {
+            if (priority != newPriority && queue.remove(this)) {
+                priority = newPriority;
+                queue.add(this);
+            }
+        }
+    }
+
+    private final Loader<T> loader;
+    private final Executor deliver;
+    private final PriorityBlockingQueue<Ticket> queue = new PriorityBlockingQueue<>(64,
+            Comparator.<Ticket>comparingInt(t -> t.priority).thenComparingLong(t -> t.sequence));
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder loadedCount = new LongAdder();
+    private final LongAdder cancelledCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+
+    public PrefetchScheduler(String name, int maxConcurrent, Loader<T> loader, Executor deliver) {
+        this.loader = loader;
+        this.deliver = deliver;
+        for (int i = 0; i < maxConcurrent; i++) {
+            Thread.ofVirtual().name(name + "-" + i).start(this::work);
+        }
+    }
+
+    public Ticket request(String key, int priority, Consumer<? super T> onLoaded) {
+        Ticket ticket = new Ticket(key, priority, sequence.incrementAndGet(), onLoaded);
+        queue.add(ticket);
+        return ticket;
+    }
+
+    public Stats stats() {
+        return new Stats(loadedCount.sum(), cancelledCount.sum(), failedCount.sum(), queue.size());
+    }
+
+    private void work() {
+        while (true) {
+            Ticket ticket;
+            try {
+                ticket = queue.take();
+            } catch (InterruptedException _) {
+                return;
+            }
+            if (ticket.cancelled) {
+                continue;
+            }
+            T value;
+            try {
+                value = loader.load(ticket.key);
+            } catch (Exception _) {
+                failedCount.increment();
+                continue;
+            }
+            if (value == null) {
+                failedCount.increment();
+                continue;
+            }
+            loadedCount.increment();
+            deliver.execute(() -> {
+                if (!ticket.cancelled) {
+                    ticket.onLoaded.accept(value);
+                }
+            });
+        }
+    }
+}
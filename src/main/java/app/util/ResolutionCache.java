@@ -0,0 +1,166 @@
+package app.util;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Memoizes raw image strings to resolved URIs, including misses. Results that
+ * depended on the local filesystem are kept only while the directory of every
+ * probed path is being watched; a create, delete or modify of one of those
+ * files drops the entries that probed it, and changes to other files in the
+ * same directory are ignored. A probed path whose directory does not exist is
+ * not watched (nor any ancestor), so that result stays until evicted, like
+ * strings resolved without touching the filesystem (URLs, classpath resources,
+ * host names).
+ */
+final class ResolutionCache {
+
+    /** The uncached lookup; adds every local path it checks to {@code probed}. */
+    @FunctionalInterface
+    interface Resolver {
+        String resolve(String raw, List<Path> probed);
+    }
+
+    private record Resolution(String uri) {
+    }
+
+    private final Resolver resolver;
+    private final WeightedLruCache<String, Resolution> entries;
+    private final WatchService watcher;
+    private final Map<Path, Set<String>> keysByPath = new ConcurrentHashMap<>();
+    private final Map<Path, WatchKey> watched = new ConcurrentHashMap<>();
+
+    ResolutionCache(int maxEntries, Resolver resolver) {
+        this.resolver = resolver;
+        this.entries = new WeightedLruCache<>(maxEntries, (k, v) -> 1);
+        this.watcher = openWatcher();
+        if (watcher != null) {
+            Thread.ofPlatform().daemon().name("image-path-watcher").start(this::drainEvents);
+        }
+    }
+
+    String resolve(String raw) {
+        Resolution cached = entries.get(raw);
+        if (cached != null) {
+            return cached.uri();
+        }
+        List<Path> probed = new ArrayList<>();
+        String uri = resolver.resolve(raw, probed);
+        List<Path> files = new ArrayList<>(probed.size());
+        for (Path path : probed) {
+            Path file = path.toAbsolutePath().normalize();
+            Path dir = file.getParent();
+            if (dir == null || !Files.isDirectory(dir)) {
+                continue;
+            }
+            if (watcher == null || (!watched.containsKey(dir) && !watch(dir))) {
+                return uri;
+            }
+            files.add(file);
+        }
+        register(raw, files);
+        entries.put(raw, new Resolution(uri));
+        if (!files.isEmpty()) {
+            // A change that landed before the key was registered is never reported, so look once more.
+            if (!Objects.equals(uri, resolver.resolve(raw, new ArrayList<>()))) {
+                Resolution stale = entries.peek(raw);
+                if (stale != null) {
+                    entries.remove(raw, stale);
+                }
+                return uri;
+            }
+            // An event between the two lookups may have unregistered the key while the entry stays.
+            register(raw, files);
+        }
+        return uri;
+    }
+
+    WeightedLruCache.Stats stats() {
+        return entries.stats();
+    }
+
+    /** Drops every entry that probed {@code file}. */
+    void invalidate(Path file) {
+        Set<String> keys = keysByPath.remove(file);
+        if (keys == null) {
+            return;
+        }
+        for (String key : keys) {
+            Resolution current = entries.peek(key);
+            if (current != null) {
+                entries.remove(key, current);
+            }
+        }
+    }
+
+    // Events were lost; drop everything that probed a file in dir.
+    private void invalidateAll(Path dir) {
+        for (Path file : List.copyOf(keysByPath.keySet())) {
+            if (dir.equals(file.getParent())) {
+                invalidate(file);
+            }
+        }
+    }
+
+    private void register(String raw, List<Path> files) {
+        for (Path file : files) {
+            keysByPath.computeIfAbsent(file, f -> ConcurrentHashMap.newKeySet()).add(raw);
+        }
+    }
+
+    private boolean watch(Path dir) {
+        try {
+            WatchKey key = dir.register(watcher,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+            watched.put(dir, key);
+            return true;
+        } catch (IOException | UnsupportedOperationException _) {
+            return false;
+        }
+    }
+
+    private void drainEvents() {
+        while (true) {
+            WatchKey key;
+            try {
+                key = watcher.take();
+            } catch (InterruptedException | ClosedWatchServiceException _) {
+                return;
+            }
+            Path dir = (Path) key.watchable();
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW || !(event.context() instanceof Path name)) {
+                    invalidateAll(dir);
+                } else {
+                    invalidate(dir.resolve(name));
+                }
+            }
+            if (!key.reset()) {
+                watched.remove(dir);
+            }
+        }
+    }
+
+    private static WatchService openWatcher() {
+        try {
+            return FileSystems.getDefault().newWatchService();
+        } catch (IOException | UnsupportedOperationException _) {
+            return null;
+        }
+    }
+}
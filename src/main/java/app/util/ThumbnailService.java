@@ -0,0 +1,204 @@
+package app.util;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * Pre-scaled renditions of source images, persisted next to the disk cache.
+ * Each rendition is scaled so its shorter side is {@code N} pixels (never
+ * upscaled), so it has enough pixels for any request up to N by N. All sizes
+ * for a source are produced together from one decode on a small background
+ * pool; until they exist callers fall back to the original.
+ */
+final class ThumbnailService {
+
+    static final int[] SIZES = {64, 128, 256, 512};
+
+    record Stats(long hits, long misses, long generated, long failed) {
+    }
+
+    private final Path root;
+    private final ExecutorService pool;
+    // Maps a remote URL to something ImageIO can open; the disk cache in production.
+    private final UnaryOperator<String> localizer;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final Set<String> failedSources = ConcurrentHashMap.newKeySet();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder generated = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    ThumbnailService(Path root, ExecutorService pool, UnaryOperator<String> localizer) {
+        this.root = root;
+        this.pool = pool;
+        this.localizer = localizer;
+    }
+
+    static ExecutorService defaultPool() {
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return Executors.newFixedThreadPool(threads, Thread.ofPlatform().daemon().name("thumbnails-", 0).factory());
+    }
+
+    /** Smallest rendition covering a {@code width} x {@code height} request, or 0 when the original is needed. */
+    static int renditionFor(double width, double height) {
+        double needed = Math.max(width, height);
+        if (needed <= 0) {
+            return 0;
+        }
+        for (int size : SIZES) {
+            if (needed <= size) {
+                return size;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * URI of the {@code size} rendition of {@code url} if it has been generated;
+     * otherwise schedules generation and returns null.
+     */
+    String lookup(String url, int size) {
+        String key = key(url);
+        if (key == null) {
+            return null;
+        }
+        Path file = root.resolve(key + "-" + size + ".png");
+        if (Files.isRegularFile(file)) {
+            hits.increment();
+            return file.toUri().toString();
+        }
+        misses.increment();
+        if (!failedSources.contains(key) && pending.add(key)) {
+            pool.execute(() -> {
+                try {
+                    generate(url, key);
+                } finally {
+                    pending.remove(key);
+                }
+            });
+        }
+        return null;
+    }
+
+    Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), generated.sum(), failed.sum());
+    }
+
+    private void generate(String url, String key) {
+        try {
+            BufferedImage source = decode(localizer.apply(url), SIZES[SIZES.length - 1]);
+            if (source == null) {
+                throw new IOException("Unsupported image: " + url);
+            }
+            Files.createDirectories(root);
+            // Largest first, each step scaling the previous one, which keeps the smaller sizes smooth.
+            BufferedImage previous = source;
+            for (int i = SIZES.length - 1; i >= 0; i--) {
+                previous = scaleShorterSide(previous, SIZES[i]);
+                write(previous, root.resolve(key + "-" + SIZES[i] + ".png"));
+            }
+            generated.increment();
+        } catch (IOException | RuntimeException _) {
+            failed.increment();
+            failedSources.add(key);
+        }
+    }
+
+    /** Decodes with source subsampling so huge originals never land in memory at full size. */
+    private static BufferedImage decode(String uri, int largest) throws IOException {
+        try (InputStream in = URI.create(uri).toURL().openStream();
+                ImageInputStream stream = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(stream, true, true);
+                int shorter = Math.min(reader.getWidth(0), reader.getHeight(0));
+                int step = Math.max(1, shorter / (largest * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage scaleShorterSide(BufferedImage src, int target) {
+        int shorter = Math.min(src.getWidth(), src.getHeight());
+        if (shorter <= target) {
+            return src;
+        }
+        double scale = (double) target / shorter;
+        int w = Math.max(1, (int) Math.round(src.getWidth() * scale));
+        int h = Math.max(1, (int) Math.round(src.getHeight() * scale));
+        BufferedImage out = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = out.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(src, 0, 0, w, h, null);
+        } finally {
+            g.dispose();
+        }
+        return out;
+    }
+
+    private static void write(BufferedImage image, Path target) throws IOException {
+        Path tmp = Files.createTempFile(target.getParent(), "thumb", ".tmp");
+        try {
+            if (!ImageIO.write(image, "png", tmp.toFile())) {
+                throw new IOException("No PNG writer");
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Renditions are keyed by source URL; local files also by size and mtime so
+     * an edited file gets fresh renditions.
+     */
+    private static String key(String url) {
+        String identity = url;
+        if (url.startsWith("file:")) {
+            try {
+                Path path = Path.of(URI.create(url));
+                identity = url + "|" + Files.size(path) + "|" + Files.getLastModifiedTime(path).toMillis();
+            } catch (IOException | IllegalArgumentException _) {
+                return null;
+            }
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(identity.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
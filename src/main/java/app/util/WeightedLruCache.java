@@ -0,0 +1,128 @@
+package app.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * Least-recently-used map bounded by the total weight of its values rather than
+ * by entry count. Weights are taken on insert and again on {@link #refresh},
+ * for values such as background-loaded images whose real size is only known
+ * later. All methods are synchronized; the work under the lock is a map
+ * operation plus the weigher, so the weigher must be cheap.
+ */
+public final class WeightedLruCache<K, V> {
+
+    public record Stats(long hits, long misses, long evictions, long weight, int size) {
+        public double hitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+
+    private record Weighted<V>(V value, long weight) {
+    }
+
+    private final long maxWeight;
+    private final ToLongBiFunction<? super K, ? super V> weigher;
+    private final LinkedHashMap<K, Weighted<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private long weight;
+
+    public WeightedLruCache(long maxWeight, ToLongBiFunction<? super K, ? super V> weigher) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("maxWeight must be positive");
+        }
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    public synchronized V get(K key) {
+        Weighted<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value();
+    }
+
+    /** Like {@link #get} but not counted in the hit/miss stats. */
+    public synchronized V peek(K key) {
+        Weighted<V> entry = entries.get(key);
+        return entry == null ? null : entry.value();
+    }
+
+    /**
+     * Stores {@code value} and evicts least-recently-used entries until the
+     * total weight fits. A value heavier than the whole budget is not kept.
+     */
+    public synchronized void put(K key, V value) {
+        long w = Math.max(0, weigher.applyAsLong(key, value));
+        Weighted<V> previous = entries.remove(key);
+        if (previous != null) {
+            weight -= previous.weight();
+        }
+        if (w > maxWeight) {
+            return;
+        }
+        entries.put(key, new Weighted<>(value, w));
+        weight += w;
+        trim();
+    }
+
+    /** Re-weighs {@code key} if it still maps to {@code value}; no-op otherwise. */
+    public synchronized void refresh(K key, V value) {
+        Weighted<V> current = entries.get(key);
+        if (current != null && current.value() == value) {
+            put(key, value);
+        }
+    }
+
+    /** Drops {@code key} only if it still maps to {@code value}. */
+    public synchronized void remove(K key, V value) {
+        Weighted<V> current = entries.get(key);
+        if (current != null && current.value() == value) {
+            entries.remove(key);
+            weight -= current.weight();
+        }
+    }
+
+    /** Drops every entry whose key matches; returns how many were dropped. */
+    public synchronized int removeKeys(Predicate<? super K> predicate) {
+        int removed = 0;
+        Iterator<Map.Entry<K, Weighted<V>>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<K, Weighted<V>> entry = it.next();
+            if (predicate.test(entry.getKey())) {
+                weight -= entry.getValue().weight();
+                it.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), weight, entries.size());
+    }
+
+    private void trim() {
+        Iterator<Map.Entry<K, Weighted<V>>> it = entries.entrySet().iterator();
+        while (weight > maxWeight && it.hasNext()) {
+            weight -= it.next().getValue().weight();
+            it.remove();
+            evictions.increment();
+        }
+    }
+}
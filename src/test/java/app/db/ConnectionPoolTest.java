@@ -0,0 +1,128 @@
+package app.db;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConnectionPoolTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        pool = new ConnectionPool("jdbc:sqlite:" + tempDir.resolve("pool.db"), 2);
+        assertTrue(pool.ensureOpen());
+        pool.write(c -> {
+            try (Statement s = c.connection().createStatement()) {
+                s.execute("CREATE TABLE T (id INTEGER PRIMARY KEY, name TEXT)");
+                s.execute("INSERT INTO T (name) VALUES ('a'), ('b')");
+            }
+            return null;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void writerUsesWalJournal() throws SQLException {
+        String mode = pool.write(c -> {
+            try (Statement s = c.connection().createStatement();
+                    ResultSet rs = s.executeQuery("PRAGMA journal_mode")) {
+                rs.next();
+                return rs.getString(1);
+            }
+        });
+        assertEquals("wal", mode.toLowerCase());
+    }
+
+    @Test
+    void readersAreReadOnly() {
+        assertThrows(SQLException.class, () -> pool.read(c -> {
+            try (Statement s = c.connection().createStatement()) {
+                s.execute("DELETE FROM T");
+            }
+            return null;
+        }));
+    }
+
+    @Test
+    void nestedReadReusesOuterLease() throws SQLException {
+        boolean same = pool.read(outer -> pool.read(inner -> inner == outer));
+        assertTrue(same);
+        boolean writerReused = pool.write(outer -> pool.read(inner -> inner == outer));
+        assertTrue(writerReused);
+    }
+
+    @Test
+    void readersRunInParallel() throws Exception {
+        CountDownLatch bothInside = new CountDownLatch(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> a = executor.submit(() -> pool.read(c -> awaitOther(bothInside)));
+            Future<Boolean> b = executor.submit(() -> pool.read(c -> awaitOther(bothInside)));
+            assertTrue(a.get(5, TimeUnit.SECONDS));
+            assertTrue(b.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void preparedStatementsAreCachedPerConnection() throws SQLException {
+        boolean same = pool.read(c -> c.prepare("SELECT name FROM T WHERE id = ?")
+                == c.prepare("SELECT name FROM T WHERE id = ?"));
+        assertTrue(same);
+    }
+
+    @Test
+    void statementStatsCountHitsMissesAndHandles() throws SQLException {
+        String sql = "SELECT name FROM T WHERE id = ?";
+        StatementCache.Stats before = pool.statementStats();
+        pool.write(c -> {
+            for (int id = 1; id <= 3; id++) {
+                var stmt = c.prepare(sql);
+                stmt.setInt(1, id);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    rs.next();
+                }
+            }
+            return null;
+        });
+        StatementCache.Stats after = pool.statementStats();
+        assertEquals(1, after.misses() - before.misses());
+        assertEquals(2, after.hits() - before.hits());
+        assertEquals(1, after.openHandles() - before.openHandles());
+
+        pool.close();
+        assertEquals(0, pool.statementStats().openHandles());
+    }
+
+    private static boolean awaitOther(CountDownLatch latch) throws SQLException {
+        latch.countDown();
+        try {
+            return latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException(e);
+        }
+    }
+}
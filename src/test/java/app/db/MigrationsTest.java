@@ -0,0 +1,92 @@
+package app.db;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MigrationsTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Connection conn;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:sqlite:" + tempDir.resolve("migrations.db"));
+        try (Statement s = conn.createStatement()) {
+            s.execute("CREATE TABLE T (id INTEGER PRIMARY KEY, name TEXT)");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    @Test
+    void appliesPendingMigrationsInOrder_andRecordsVersion() throws SQLException {
+        List<Migrations.Migration> migrations = List.of(
+                new Migrations.Migration(1, "index", c -> exec(c, "CREATE INDEX idx_t_name ON T (name)")),
+                new Migrations.Migration(2, "column", c -> exec(c, "ALTER TABLE T ADD COLUMN extra TEXT")));
+
+        assertEquals(2, Migrations.migrate(conn, migrations));
+        assertEquals(2, Migrations.currentVersion(conn));
+        assertTrue(indexExists("idx_t_name"));
+
+        // Already applied: running again must not re-run the steps (ALTER would fail).
+        assertEquals(2, Migrations.migrate(conn, migrations));
+    }
+
+    @Test
+    void failedMigrationRollsBack_andKeepsPreviousVersion() throws SQLException {
+        List<Migrations.Migration> migrations = List.of(
+                new Migrations.Migration(1, "index", c -> exec(c, "CREATE INDEX idx_t_name ON T (name)")),
+                new Migrations.Migration(2, "broken", c -> {
+                    exec(c, "CREATE INDEX idx_t_id_name ON T (id, name)");
+                    exec(c, "CREATE INDEX broken ON Missing (x)");
+                }));
+
+        assertThrows(SQLException.class, () -> Migrations.migrate(conn, migrations));
+        assertEquals(1, Migrations.currentVersion(conn));
+        assertTrue(indexExists("idx_t_name"));
+        assertFalse(indexExists("idx_t_id_name"));
+        assertTrue(conn.getAutoCommit());
+    }
+
+    @Test
+    void versionsAreStrictlyIncreasing() {
+        int previous = 0;
+        for (Migrations.Migration migration : Migrations.all()) {
+            assertTrue(migration.version() > previous, migration.description());
+            previous = migration.version();
+        }
+        assertEquals(previous, Migrations.latestVersion());
+    }
+
+    private boolean indexExists(String name) throws SQLException {
+        try (var stmt = conn.prepareStatement("SELECT 1 FROM sqlite_master WHERE type = 'index' AND name = ?")) {
+            stmt.setString(1, name);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private static void exec(Connection c, String sql) throws SQLException {
+        try (Statement s = c.createStatement()) {
+            s.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package app.db;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QueryCancellationTest {
+
+    // Counts far enough that it only finishes if it is never interrupted.
+    private static final String SLOW_SQL = """
+            WITH RECURSIVE n(i) AS (SELECT 1 UNION ALL SELECT i + 1 FROM n WHERE i < 2000000000)
+            SELECT count(*) FROM n
+            """;
+
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        pool = new ConnectionPool("jdbc:sqlite:" + tempDir.resolve("cancel.db"), 1);
+        assertTrue(pool.ensureOpen());
+        pool.write(c -> {
+            try (Statement s = c.connection().createStatement()) {
+                s.execute("CREATE TABLE T (id INTEGER PRIMARY KEY)");
+                s.execute("INSERT INTO T (id) VALUES (1), (2)");
+            }
+            return null;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void cancelInterruptsRunningReadAndLaterReadsFailFast() throws Exception {
+        QueryCancellation cancellation = new QueryCancellation();
+        CountDownLatch prepared = new CountDownLatch(1);
+        CompletableFuture<String> outcome = CompletableFuture.supplyAsync(() -> cancellation.run(() -> {
+            StringBuilder log = new StringBuilder();
+            try {
+                pool.read(c -> {
+                    PreparedStatement stmt = c.prepare(SLOW_SQL);
+                    prepared.countDown();
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        rs.next();
+                    }
+                    return null;
+                });
+                log.append("finished");
+            } catch (SQLException _) {
+                log.append("interrupted");
+            }
+            try {
+                pool.read(c -> c.prepare("SELECT id FROM T"));
+                log.append(",read");
+            } catch (SQLException _) {
+                log.append(",refused");
+            }
+            return log.toString();
+        }));
+
+        assertTrue(prepared.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        cancellation.cancel();
+
+        assertEquals("interrupted,refused", outcome.get(10, TimeUnit.SECONDS));
+        assertTrue(cancellation.isCancelled());
+    }
+
+    @Test
+    void connectionIsUsableAfterCancelledWork() throws SQLException {
+        QueryCancellation cancellation = new QueryCancellation();
+        cancellation.cancel();
+        boolean refused = cancellation.run(() -> {
+            try {
+                pool.read(c -> c.prepare("SELECT id FROM T"));
+                return false;
+            } catch (SQLException _) {
+                return true;
+            }
+        });
+        assertTrue(refused);
+
+        int count = pool.read(c -> {
+            try (ResultSet rs = c.prepare("SELECT count(*) FROM T").executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        });
+        assertEquals(2, count);
+    }
+
+    @Test
+    void cancelAfterLeaseEndsDoesNotTouchTheConnection() throws SQLException {
+        QueryCancellation cancellation = new QueryCancellation();
+        cancellation.run(() -> {
+            try {
+                return pool.read(c -> c.prepare("SELECT id FROM T"));
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // The only reader is now free; cancelling must not interrupt a query someone else runs on it.
+        int count = pool.read(c -> {
+            cancellation.cancel();
+            try (ResultSet rs = c.prepare("SELECT count(*) FROM T").executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        });
+        assertEquals(2, count);
+    }
+
+    @Test
+    void childrenFollowTheirParentButNotTheOtherWay() {
+        QueryCancellation parent = new QueryCancellation();
+        QueryCancellation a = parent.child();
+        QueryCancellation b = parent.child();
+
+        a.cancel();
+        assertFalse(parent.isCancelled());
+        assertFalse(b.isCancelled());
+
+        parent.cancel();
+        assertTrue(b.isCancelled());
+        assertTrue(parent.child().isCancelled());
+    }
+
+    @Test
+    void currentIsBoundOnlyInsideRun() {
+        QueryCancellation cancellation = new QueryCancellation();
+        assertNull(QueryCancellation.current());
+        assertSame(cancellation, cancellation.run(QueryCancellation::current));
+        assertNull(QueryCancellation.current());
+    }
+}
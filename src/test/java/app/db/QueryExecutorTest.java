@@ -0,0 +1,134 @@
+package app.db;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QueryExecutorTest {
+
+    private final QueryExecutor executor = new QueryExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void identicalInFlightCallsShareOneExecution() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        QueryExecutor.SqlCall<String> call = () -> {
+            runs.incrementAndGet();
+            await(release);
+            return "done";
+        };
+
+        CompletableFuture<String> a = executor.coalesce("q", call);
+        CompletableFuture<String> b = executor.coalesce("q", call);
+        CompletableFuture<String> other = executor.coalesce("other", call);
+        assertEquals(2, executor.inFlightCount());
+        release.countDown();
+
+        assertEquals("done", a.get(5, TimeUnit.SECONDS));
+        assertEquals("done", b.get(5, TimeUnit.SECONDS));
+        assertEquals("done", other.get(5, TimeUnit.SECONDS));
+        assertEquals(2, runs.get());
+        waitUntil(() -> executor.inFlightCount() == 0);
+
+        // Finished calls are not cached: the next request runs again.
+        assertEquals("done", executor.coalesce("q", call).get(5, TimeUnit.SECONDS));
+        assertEquals(3, runs.get());
+    }
+
+    @Test
+    void cancellingOneWaiterLeavesTheOthersRunning() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> a = executor.coalesce("q", () -> {
+            await(release);
+            return 42;
+        });
+        CompletableFuture<Integer> b = executor.coalesce("q", () -> -1);
+
+        assertTrue(a.cancel(true));
+        release.countDown();
+        assertEquals(42, b.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void cancellingEveryWaiterInterruptsTheCall() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Boolean> interrupted = new CompletableFuture<>();
+        CompletableFuture<String> a = executor.coalesce("q", () -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+                interrupted.complete(false);
+            } catch (InterruptedException _) {
+                interrupted.complete(true);
+            }
+            return "late";
+        });
+        CompletableFuture<String> b = executor.coalesce("q", () -> "unused");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        a.cancel(true);
+        b.cancel(true);
+        assertTrue(interrupted.get(5, TimeUnit.SECONDS));
+        assertEquals(0, executor.inFlightCount());
+    }
+
+    @Test
+    void failuresReachEveryWaiter() {
+        CompletableFuture<Object> a = executor.coalesce("q", () -> {
+            throw new SQLException("boom");
+        });
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> a.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(SQLException.class, ex.getCause());
+    }
+
+    @Test
+    void requestScopeCancelsPendingFutures() throws Exception {
+        RequestScope scope = new RequestScope();
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> pending = scope.track(executor.submit(() -> {
+            await(release);
+            return "x";
+        }, true));
+        CompletableFuture<String> done = scope.track(executor.submit(() -> "y", true));
+        assertEquals("y", done.get(5, TimeUnit.SECONDS));
+        waitUntil(() -> scope.pendingCount() == 1);
+
+        scope.cancelAll();
+        assertTrue(pending.isCancelled());
+        assertEquals(0, scope.pendingCount());
+        release.countDown();
+    }
+
+    private static void await(CountDownLatch latch) throws SQLException {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new SQLException("latch timed out");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException(e);
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,97 @@
+package app.db;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RowMapperTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Connection conn;
+
+    private record Author(int id, String name) {
+    }
+
+    private record Row(int id, String title, Author author) {
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:sqlite:" + tempDir.resolve("rows.db"));
+        try (Statement s = conn.createStatement()) {
+            s.execute("CREATE TABLE A (id INTEGER PRIMARY KEY, name TEXT)");
+            s.execute("CREATE TABLE P (id INTEGER PRIMARY KEY, author INTEGER, title TEXT)");
+            s.execute("INSERT INTO A VALUES (1, 'raven'), (2, 'koi')");
+            s.execute("INSERT INTO P VALUES (10, 1, 'x'), (11, 2, 'y'), (12, 1, 'z')");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    @Test
+    void columnIndex_isCaseInsensitive_andFailsOnUnknownLabel() throws SQLException {
+        try (Statement s = conn.createStatement();
+                ResultSet rs = s.executeQuery("SELECT id AS Post_Id, title, id FROM P")) {
+            ColumnIndex columns = ColumnIndex.of(rs);
+            assertEquals(1, columns.of("post_id"));
+            assertEquals(2, columns.of("TITLE"));
+            assertEquals(3, columns.of("id"));
+            assertThrows(SQLException.class, () -> columns.of("missing"));
+        }
+    }
+
+    @Test
+    void stream_compilesOnce_andSharesStateAcrossRows() throws SQLException {
+        int[] compiled = {0};
+        RowMapper.Compiler<Row> compiler = columns -> {
+            compiled[0]++;
+            int id = columns.of("id");
+            int title = columns.of("title");
+            int authorId = columns.of("author_id");
+            int authorName = columns.of("author_name");
+            Map<Integer, Author> authors = new HashMap<>();
+            return rs -> {
+                Author author = authors.get(rs.getInt(authorId));
+                if (author == null) {
+                    author = new Author(rs.getInt(authorId), rs.getString(authorName));
+                    authors.put(author.id(), author);
+                }
+                return new Row(rs.getInt(id), rs.getString(title), author);
+            };
+        };
+
+        List<Row> rows = new ArrayList<>();
+        try (Statement s = conn.createStatement();
+                ResultSet rs = s.executeQuery("""
+                        SELECT p.id, p.title, a.id AS author_id, a.name AS author_name
+                          FROM P p JOIN A a ON a.id = p.author
+                         ORDER BY p.id
+                        """)) {
+            assertEquals(3, RowMapper.stream(rs, compiler, rows::add));
+        }
+
+        assertEquals(1, compiled[0]);
+        assertEquals(List.of(10, 11, 12), rows.stream().map(Row::id).toList());
+        assertSame(rows.get(0).author(), rows.get(2).author());
+        assertEquals("koi", rows.get(1).author().name());
+    }
+}
@@ -0,0 +1,144 @@
+package app.db;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Connection conn;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:sqlite:" + tempDir.resolve("fts.db"));
+        createSchema(conn);
+        ensureInTransaction(conn);
+    }
+
+    private static void createSchema(Connection conn) throws SQLException {
+        try (Statement s = conn.createStatement()) {
+            s.execute("CREATE TABLE Accounts (account_id INTEGER PRIMARY KEY, username TEXT)");
+            s.execute("""
+                    CREATE TABLE Artists (artist_id INTEGER PRIMARY KEY, account_id INTEGER,
+                                          work_address TEXT, work_longitude REAL, work_latitude REAL, biography TEXT)
+                    """);
+            s.execute("CREATE TABLE ArtistTaggedStyles (account_id INTEGER, style_name TEXT)");
+            s.execute("""
+                    CREATE TABLE Posts2 (post_id INTEGER PRIMARY KEY, account_id INTEGER,
+                                         caption TEXT, post_picture_url TEXT, keywords TEXT)
+                    """);
+            s.execute("""
+                    CREATE TABLE Designs (design_id INTEGER PRIMARY KEY, artist_id INTEGER,
+                                          design_name TEXT, design_picture_url TEXT)
+                    """);
+            s.execute("INSERT INTO Accounts VALUES (1, 'Raven Ink')");
+            s.execute("INSERT INTO Artists VALUES (10, 1, NULL, 0, 0, 'Blackwork specialist')");
+            s.execute("INSERT INTO Posts2 VALUES (100, 1, 'Dragon forearm', 'u', 'healed')");
+        }
+    }
+
+    private static void ensureInTransaction(Connection conn) throws SQLException {
+        conn.setAutoCommit(false);
+        try {
+            SearchIndex.ensure(conn);
+            conn.commit();
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    @Test
+    void backfillsExistingRows_andMatchesPrefixes() throws SQLException {
+        assertEquals(List.of(100L), match("post_fts", SearchIndex.toMatchQuery("drag")));
+        assertEquals(List.of(100L), match("post_fts", SearchIndex.toMatchQuery("rav")));
+        assertEquals(List.of(1L), match("artist_fts", SearchIndex.toMatchQuery("blackw")));
+        assertTrue(match("post_fts", SearchIndex.toMatchQuery("koi")).isEmpty());
+    }
+
+    @Test
+    void triggersKeepIndexInSync() throws SQLException {
+        try (Statement s = conn.createStatement()) {
+            s.execute("INSERT INTO Designs VALUES (7, 10, 'Koi sleeve', 'u')");
+            s.execute("INSERT INTO ArtistTaggedStyles VALUES (1, 'Japanese')");
+            s.execute("UPDATE Posts2 SET caption = 'Phoenix back' WHERE post_id = 100");
+            s.execute("UPDATE Accounts SET username = 'Corvid' WHERE account_id = 1");
+        }
+        assertEquals(List.of(7L), match("design_fts", SearchIndex.toMatchQuery("koi")));
+        assertEquals(List.of(1L), match("artist_fts", SearchIndex.toMatchQuery("japan")));
+        assertTrue(match("post_fts", SearchIndex.toMatchQuery("dragon")).isEmpty());
+        assertEquals(List.of(100L), match("post_fts", SearchIndex.toMatchQuery("phoenix")));
+        assertEquals(List.of(7L), match("design_fts", SearchIndex.toMatchQuery("corvid")));
+
+        try (Statement s = conn.createStatement()) {
+            s.execute("DELETE FROM Posts2 WHERE post_id = 100");
+        }
+        assertTrue(match("post_fts", SearchIndex.toMatchQuery("phoenix")).isEmpty());
+    }
+
+    @Test
+    void ensureIsIdempotent() throws SQLException {
+        ensureInTransaction(conn);
+        assertEquals(List.of(100L), match("post_fts", SearchIndex.toMatchQuery("dragon")));
+    }
+
+    @Test
+    void failedMigrationAlsoRollsBackTheIndex() throws SQLException {
+        try (Connection fresh = DriverManager.getConnection("jdbc:sqlite:" + tempDir.resolve("fresh.db"))) {
+            createSchema(fresh);
+            List<Migrations.Migration> migrations = List.of(new Migrations.Migration(1, "fts, then a failure", c -> {
+                SearchIndex.ensure(c);
+                throw new SQLException("later step failed");
+            }));
+
+            assertThrows(SQLException.class, () -> Migrations.migrate(fresh, migrations));
+            assertEquals(0, Migrations.currentVersion(fresh));
+            try (Statement s = fresh.createStatement();
+                    ResultSet rs = s.executeQuery("SELECT count(*) FROM sqlite_master WHERE name LIKE '%_fts%'")) {
+                assertTrue(rs.next());
+                assertEquals(0, rs.getInt(1));
+            }
+        }
+    }
+
+    @Test
+    void toMatchQuery_quotesWordsAndDropsPunctuation() {
+        assertEquals("\"neo\"* \"trad\"*", SearchIndex.toMatchQuery("  neo-trad\""));
+        assertNull(SearchIndex.toMatchQuery(" *:- "));
+        assertNull(SearchIndex.toMatchQuery(null));
+    }
+
+    private List<Long> match(String table, String query) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT rowid FROM " + table + " WHERE " + table + " MATCH ? ORDER BY rank")) {
+            stmt.setString(1, query);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getLong(1));
+                }
+            }
+        }
+        return ids;
+    }
+}
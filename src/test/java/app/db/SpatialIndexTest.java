@@ -0,0 +1,109 @@
+package app.db;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpatialIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Connection conn;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:sqlite:" + tempDir.resolve("rtree.db"));
+        try (Statement s = conn.createStatement()) {
+            s.execute("""
+                    CREATE TABLE Artists (artist_id INTEGER PRIMARY KEY, account_id INTEGER,
+                                          work_address TEXT, work_longitude REAL, work_latitude REAL, biography TEXT)
+                    """);
+            s.execute("INSERT INTO Artists VALUES (1, 11, 'Rome', 12.4964, 41.9028, NULL)");
+            s.execute("INSERT INTO Artists VALUES (2, 12, 'Nowhere', NULL, NULL, NULL)");
+        }
+        SpatialIndex.ensure(conn);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    @Test
+    void backfillsLocatedArtists_andTriggersKeepIndexInSync() throws SQLException {
+        assertEquals(List.of(1L), idsIn(new SpatialIndex.Box(41, 42, 12, 13)));
+
+        try (Statement s = conn.createStatement()) {
+            s.execute("INSERT INTO Artists VALUES (3, 13, 'Milan', 9.19, 45.4642, NULL)");
+            s.execute("UPDATE Artists SET work_latitude = 41.9, work_longitude = 12.5 WHERE artist_id = 2");
+            s.execute("UPDATE Artists SET work_latitude = 48.85, work_longitude = 2.35 WHERE artist_id = 1");
+        }
+        assertEquals(List.of(2L), idsIn(new SpatialIndex.Box(41, 42, 12, 13)));
+        assertEquals(List.of(3L), idsIn(new SpatialIndex.Box(45, 46, 9, 10)));
+
+        try (Statement s = conn.createStatement()) {
+            s.execute("DELETE FROM Artists WHERE artist_id = 3");
+        }
+        assertTrue(idsIn(new SpatialIndex.Box(45, 46, 9, 10)).isEmpty());
+    }
+
+    @Test
+    void ensureIsIdempotent() throws SQLException {
+        SpatialIndex.ensure(conn);
+        assertEquals(List.of(1L), idsIn(new SpatialIndex.Box(-90, 90, -180, 180)));
+    }
+
+    @Test
+    void boxAroundPoint_containsCircle() {
+        double lat = 41.9028;
+        double lon = 12.4964;
+        SpatialIndex.Box box = SpatialIndex.around(lat, lon, 50);
+        assertEquals(50, SpatialIndex.distanceKm(lat, lon, box.maxLat(), lon), 0.01);
+        assertEquals(50, SpatialIndex.distanceKm(lat, lon, box.minLat(), lon), 0.01);
+        assertTrue(SpatialIndex.distanceKm(lat, lon, lat, box.maxLon()) >= 50);
+
+        SpatialIndex.Box polar = SpatialIndex.around(89.9, 0, 50);
+        assertEquals(-180, polar.minLon());
+        assertEquals(180, polar.maxLon());
+    }
+
+    @Test
+    void distanceKm_matchesKnownCityPair() {
+        // Rome to Milan is about 477 km great-circle.
+        assertEquals(477, SpatialIndex.distanceKm(41.9028, 12.4964, 45.4642, 9.19), 5);
+    }
+
+    private List<Long> idsIn(SpatialIndex.Box box) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement("""
+                SELECT id FROM artist_location_rtree
+                 WHERE max_lat >= ? AND min_lat <= ? AND max_lon >= ? AND min_lon <= ?
+                 ORDER BY id
+                """)) {
+            stmt.setDouble(1, box.minLat());
+            stmt.setDouble(2, box.maxLat());
+            stmt.setDouble(3, box.minLon());
+            stmt.setDouble(4, box.maxLon());
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getLong(1));
+                }
+            }
+        }
+        return ids;
+    }
+}
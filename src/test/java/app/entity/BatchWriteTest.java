@@ -0,0 +1,105 @@
+package app.entity;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchWriteTest {
+
+    private static final String REJECTED = "reject me";
+
+    @TempDir
+    Path tempDir;
+
+    private TempDatabase db;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        db = TempDatabase.install(tempDir);
+        // One row in each batch fails inside the database, after earlier rows were inserted.
+        db.execute(
+                "CREATE TRIGGER reject_post BEFORE INSERT ON Posts2 WHEN NEW.caption = '" + REJECTED
+                        + "' BEGIN SELECT RAISE(ABORT, 'rejected'); END",
+                "CREATE TRIGGER reject_design BEFORE INSERT ON Designs WHEN NEW.design_name = '" + REJECTED
+                        + "' BEGIN SELECT RAISE(ABORT, 'rejected'); END",
+                "CREATE TRIGGER reject_review BEFORE INSERT ON Reviews WHEN NEW.review_text = '" + REJECTED
+                        + "' BEGIN SELECT RAISE(ABORT, 'rejected'); END");
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.close();
+    }
+
+    @Test
+    void idsComeBackInInputOrder() throws SQLException {
+        List<Post> posts = DatabaseConnector.addArtistPosts(1, List.of(
+                new PostDraft("first", "a.png", null),
+                new PostDraft("second", "b.png", null),
+                new PostDraft("third", "c.png", "dot")));
+        assertEquals(List.of("first", "second", "third"), posts.stream().map(Post::getCaption).toList());
+        assertEquals(db.rows("SELECT post_id, caption FROM Posts2 ORDER BY post_id"),
+                posts.stream().map(p -> p.getId() + ":" + p.getCaption()).toList());
+
+        List<Integer> designs = DatabaseConnector.addArtistDesigns(1, List.of(
+                new DesignDraft("rose", "rose.png"),
+                new DesignDraft("koi", "koi.png")));
+        assertEquals(db.rows("SELECT design_id, design_name FROM Designs ORDER BY design_id"),
+                List.of(designs.get(0) + ":rose", designs.get(1) + ":koi"));
+
+        List<Review> reviews = DatabaseConnector.submitReviews(List.of(
+                new ReviewDraft(2, 7, null, "great", 5),
+                new ReviewDraft(2, 7, null, "fine", 3)));
+        assertEquals(List.of("great", "fine"), reviews.stream().map(Review::getReviewText).toList());
+        assertEquals(db.rows("SELECT review_id, review_text FROM Reviews ORDER BY review_id"),
+                reviews.stream().map(r -> r.getReviewId() + ":" + r.getReviewText()).toList());
+    }
+
+    @Test
+    void failingRowRollsBackTheWholeBatch() throws SQLException {
+        assertThrows(SQLException.class, () -> DatabaseConnector.addArtistPosts(1, List.of(
+                new PostDraft("kept?", "a.png", null),
+                new PostDraft(REJECTED, "b.png", null))));
+        assertThrows(SQLException.class, () -> DatabaseConnector.addArtistDesigns(1, List.of(
+                new DesignDraft("kept?", "a.png"),
+                new DesignDraft(REJECTED, "b.png"))));
+        assertThrows(SQLException.class, () -> DatabaseConnector.submitReviews(List.of(
+                new ReviewDraft(2, 7, null, "kept?", 4),
+                new ReviewDraft(2, 7, null, REJECTED, 4))));
+
+        assertNothingWritten();
+    }
+
+    @Test
+    void invalidInputIsRejectedBeforeAnythingIsWritten() throws SQLException {
+        assertThrows(SQLException.class, () -> DatabaseConnector.addArtistPosts(1, List.of(
+                new PostDraft("ok", "a.png", null),
+                new PostDraft("no picture", " ", null))));
+        assertThrows(SQLException.class, () -> DatabaseConnector.addArtistPosts(0, List.of(
+                new PostDraft("ok", "a.png", null))));
+        assertThrows(SQLException.class, () -> DatabaseConnector.addArtistDesigns(1, List.of(
+                new DesignDraft("ok", "a.png"),
+                new DesignDraft("", "b.png"))));
+        assertThrows(SQLException.class, () -> DatabaseConnector.submitReviews(List.of(
+                new ReviewDraft(2, 7, null, "ok", 4),
+                new ReviewDraft(2, 7, null, "too many stars", 6))));
+        assertThrows(SQLException.class, () -> DatabaseConnector.submitReviews(List.of(
+                new ReviewDraft(2, 7, null, "ok", 4),
+                new ReviewDraft(2, 7, null, " ", 4))));
+
+        assertNothingWritten();
+    }
+
+    private void assertNothingWritten() throws SQLException {
+        assertEquals(List.of("0:0:0"), db.rows("""
+                SELECT (SELECT COUNT(*) FROM Posts2), (SELECT COUNT(*) FROM Designs), (SELECT COUNT(*) FROM Reviews)
+                """));
+    }
+}
@@ -0,0 +1,61 @@
+package app.entity;
+
+import app.db.Migrations;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotQueryPlanTest {
+
+    private static final String SQLITE_DB_FILENAME = "tattui.db";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void hotQueries_neverScanAWholeTable() throws Exception {
+        Assumptions.assumeTrue(Files.exists(Path.of(SQLITE_DB_FILENAME)),
+                "Skipping query plan test: local SQLite database not found");
+
+        Path copy = tempDir.resolve("plan.db");
+        Files.copy(Path.of(SQLITE_DB_FILENAME), copy);
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + copy)) {
+            assertEquals(Migrations.latestVersion(), Migrations.migrate(conn));
+
+            for (String sql : DatabaseConnector.HOT_QUERIES) {
+                for (String step : explain(conn, sql)) {
+                    // Virtual tables (json_each, FTS5) report SCAN but are driven by their own index.
+                    boolean fullScan = step.startsWith("SCAN ") && !step.contains("VIRTUAL TABLE");
+                    assertFalse(fullScan, () -> step + " in:\n" + sql);
+                }
+            }
+        }
+    }
+
+    private static List<String> explain(Connection conn, String sql) throws Exception {
+        List<String> steps = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement("EXPLAIN QUERY PLAN " + sql)) {
+            int params = (int) sql.chars().filter(ch -> ch == '?').count();
+            for (int i = 1; i <= params; i++) {
+                stmt.setNull(i, java.sql.Types.NULL);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    steps.add(rs.getString("detail"));
+                }
+            }
+        }
+        return steps;
+    }
+}
@@ -0,0 +1,100 @@
+package app.entity;
+
+import app.entity.jdbc.JdbcDesignRepository;
+import app.entity.jdbc.JdbcPostRepository;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetPaginationTest {
+
+    private static final String SQLITE_DB_FILENAME = "tattui.db";
+
+    private final PostRepository posts = new JdbcPostRepository();
+    private final DesignRepository designs = new JdbcDesignRepository();
+
+    @BeforeAll
+    static void headless() {
+        System.setProperty("HEADLESS_TESTS", "true");
+        Post.setHeadless(true);
+    }
+
+    @Test
+    void findLatestBefore_walksSameRowsAsOffsetPaging() throws Exception {
+        Assumptions.assumeTrue(Files.exists(Path.of(SQLITE_DB_FILENAME)),
+                "Skipping pagination test: local SQLite database not found");
+
+        List<Integer> expected = postIds(posts.findLatest(100, 0));
+        List<Integer> paged = new ArrayList<>();
+        int lastId = 0;
+        List<PostWithAuthor> page;
+        do {
+            page = posts.findLatestBefore(lastId, 1);
+            paged.addAll(postIds(page));
+            if (!page.isEmpty()) {
+                lastId = page.getLast().post().getId();
+            }
+        } while (!page.isEmpty());
+        assertEquals(expected, paged);
+    }
+
+    @Test
+    void searchAfter_pagesMatchSingleRankedQuery() throws Exception {
+        Assumptions.assumeTrue(Files.exists(Path.of(SQLITE_DB_FILENAME)),
+                "Skipping pagination test: local SQLite database not found");
+
+        for (String query : List.of("a", "t", "")) {
+            List<Integer> expected = postIds(posts.search(query, 100, 0));
+            List<Integer> paged = new ArrayList<>();
+            SearchCursor cursor = SearchCursor.first(query);
+            while (cursor != null) {
+                SearchPage<PostWithAuthor> page = posts.searchAfter(cursor, 1);
+                paged.addAll(postIds(page.items()));
+                cursor = page.next();
+            }
+            assertEquals(expected, paged, "query: " + query);
+
+            List<Integer> expectedDesigns = designs.search(query, 100, 0).stream().map(r -> r.design().id()).toList();
+            List<Integer> pagedDesigns = new ArrayList<>();
+            cursor = SearchCursor.first(query);
+            while (cursor != null) {
+                SearchPage<DesignWithAuthor> page = designs.searchAfter(cursor, 1);
+                page.items().forEach(r -> pagedDesigns.add(r.design().id()));
+                cursor = page.next();
+            }
+            assertEquals(expectedDesigns, pagedDesigns, "query: " + query);
+        }
+    }
+
+    @Test
+    void forEachLatestBefore_streamsSameRows_andSharesAuthors() throws Exception {
+        Assumptions.assumeTrue(Files.exists(Path.of(SQLITE_DB_FILENAME)),
+                "Skipping pagination test: local SQLite database not found");
+
+        List<PostWithAuthor> streamed = new ArrayList<>();
+        int count = posts.forEachLatestBefore(0, 100, streamed::add);
+        assertEquals(streamed.size(), count);
+        assertEquals(postIds(posts.findLatestBefore(0, 100)), postIds(streamed));
+
+        Map<Integer, Profile> byAccount = new HashMap<>();
+        for (PostWithAuthor row : streamed) {
+            Profile first = byAccount.putIfAbsent(row.author().getAccountId(), row.author());
+            if (first != null) {
+                assertSame(first, row.author());
+            }
+        }
+    }
+
+    private static List<Integer> postIds(List<PostWithAuthor> rows) {
+        return rows.stream().map(r -> r.post().getId()).toList();
+    }
+}
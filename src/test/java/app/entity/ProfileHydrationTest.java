@@ -0,0 +1,108 @@
+package app.entity;
+
+import app.db.SpatialIndex;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProfileHydrationTest {
+
+    private static final String SQLITE_DB_FILENAME = "tattui.db";
+
+    @BeforeAll
+    static void headless() {
+        System.setProperty("HEADLESS_TESTS", "true");
+        Post.setHeadless(true);
+    }
+
+    @Test
+    void hydrateProfiles_keepsRequestOrder_andSkipsUnknownIds() throws Exception {
+        Assumptions.assumeTrue(Files.exists(Path.of(SQLITE_DB_FILENAME)),
+                "Skipping hydration test: local SQLite database not found");
+
+        List<Profile> all = DatabaseConnector.getProfilesLike("");
+        Assumptions.assumeFalse(all.isEmpty(), "No artists in local database");
+
+        List<Integer> ids = new ArrayList<>();
+        for (int i = all.size() - 1; i >= 0; i--) {
+            ids.add(all.get(i).getAccountId());
+        }
+        ids.add(-42);
+        ids.add(ids.getFirst());
+
+        List<Profile> hydrated = DatabaseConnector.hydrateProfiles(ids);
+        assertEquals(all.size(), hydrated.size());
+        for (int i = 0; i < hydrated.size(); i++) {
+            assertEquals(ids.get(i), hydrated.get(i).getAccountId());
+        }
+    }
+
+    @Test
+    void hydrateProfiles_matchesSingleProfileLookup() throws Exception {
+        Assumptions.assumeTrue(Files.exists(Path.of(SQLITE_DB_FILENAME)),
+                "Skipping hydration test: local SQLite database not found");
+
+        for (Profile listed : DatabaseConnector.getProfilesLike("")) {
+            Profile single = DatabaseConnector.getProfileByUsername(listed.getUsername());
+            assertNotNull(single);
+            assertEquals(listed.getStylesList(), single.getStylesList());
+            assertEquals(listed.getPosts().size(), single.getPosts().size());
+            assertEquals(listed.getReviewCount(), single.getReviewCount());
+        }
+    }
+
+    @Test
+    void getProfileCardsLike_matchesFullProfiles_withoutPosts() throws Exception {
+        Assumptions.assumeTrue(Files.exists(Path.of(SQLITE_DB_FILENAME)),
+                "Skipping hydration test: local SQLite database not found");
+
+        List<Profile> full = DatabaseConnector.getProfilesLike("");
+        List<Profile> cards = DatabaseConnector.getProfileCardsLike("");
+        assertEquals(full.size(), cards.size());
+        for (int i = 0; i < cards.size(); i++) {
+            Profile card = cards.get(i);
+            assertEquals(full.get(i).getAccountId(), card.getAccountId());
+            assertEquals(full.get(i).getProfilePictureURL(), card.getProfilePictureURL());
+            assertEquals(full.get(i).getStylesList(), card.getStylesList());
+            assertEquals(full.get(i).getReviewCount(), card.getReviewCount());
+            assertTrue(card.getPosts().isEmpty());
+        }
+    }
+
+    @Test
+    void getProfilesNear_returnsArtistsInRadius_nearestFirst() throws Exception {
+        Assumptions.assumeTrue(Files.exists(Path.of(SQLITE_DB_FILENAME)),
+                "Skipping spatial test: local SQLite database not found");
+
+        List<Profile> all = DatabaseConnector.getProfilesLike("");
+        Assumptions.assumeFalse(all.isEmpty(), "No artists in local database");
+        Profile origin = all.getFirst();
+        double lat = origin.getWorkLatitude();
+        double lon = origin.getWorkLongitude();
+
+        List<Profile> near = DatabaseConnector.getProfilesNear(lat, lon, 20_000, all.size());
+        assertEquals(origin.getAccountId(), near.getFirst().getAccountId());
+        double previous = 0;
+        for (Profile p : near) {
+            double d = SpatialIndex.distanceKm(lat, lon, p.getWorkLatitude(), p.getWorkLongitude());
+            assertTrue(d >= previous);
+            previous = d;
+        }
+        assertEquals(1, DatabaseConnector.getProfilesNear(lat, lon, 20_000, 1).size());
+        List<Profile> inBounds = DatabaseConnector.getProfilesWithinBounds(lat - 1, lat + 1, lon - 1, lon + 1);
+        assertTrue(inBounds.stream().anyMatch(p -> p.getAccountId() == origin.getAccountId()));
+    }
+
+    @Test
+    void hydrateProfiles_emptyInput_returnsEmpty() throws Exception {
+        assertTrue(DatabaseConnector.hydrateProfiles(List.of()).isEmpty());
+    }
+}
@@ -0,0 +1,106 @@
+package app.entity;
+
+import app.db.ConnectionPool;
+
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A scratch SQLite database with the tables the write paths touch, installed
+ * as {@link DatabaseConnector}'s pool until {@link #close}. Seeded with artist
+ * {@code ink} (account 1, artist 7) and plain account {@code fan} (account 2).
+ */
+public final class TempDatabase implements AutoCloseable {
+
+    private final ConnectionPool pool;
+    private final ConnectionPool previous;
+
+    private TempDatabase(ConnectionPool pool) {
+        this.pool = pool;
+        this.previous = DatabaseConnector.usePool(pool);
+    }
+
+    public static TempDatabase install(Path dir) throws SQLException {
+        ConnectionPool pool = new ConnectionPool("jdbc:sqlite:" + dir.resolve("temp.db"), 1);
+        if (!pool.ensureOpen()) {
+            throw new SQLException("Could not open " + dir.resolve("temp.db"));
+        }
+        TempDatabase db = new TempDatabase(pool);
+        db.execute("""
+                CREATE TABLE Accounts (
+                    account_id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    username TEXT NOT NULL UNIQUE,
+                    password TEXT NOT NULL,
+                    profile_picture_url TEXT
+                )""", """
+                CREATE TABLE Artists (
+                    artist_id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    account_id INTEGER NOT NULL,
+                    biography TEXT
+                )""", """
+                CREATE TABLE Posts2 (
+                    post_id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    account_id INTEGER NOT NULL,
+                    caption TEXT,
+                    post_picture_url TEXT,
+                    keywords TEXT
+                )""", """
+                CREATE TABLE Designs (
+                    design_id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    artist_id INTEGER NOT NULL,
+                    design_name TEXT NOT NULL,
+                    design_picture_url TEXT NOT NULL
+                )""", """
+                CREATE TABLE Reviews (
+                    review_id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    reviewer_id INTEGER NOT NULL,
+                    reviewee_id INTEGER NOT NULL,
+                    review_picture_url TEXT,
+                    review_text TEXT,
+                    rating INTEGER
+                )""",
+                "INSERT INTO Accounts (account_id, username, password) VALUES (1, 'ink', 'pw'), (2, 'fan', 'pw')",
+                "INSERT INTO Artists (artist_id, account_id) VALUES (7, 1)");
+        return db;
+    }
+
+    /** Runs each statement on the writer connection. */
+    public void execute(String... statements) throws SQLException {
+        pool.write(c -> {
+            try (Statement s = c.connection().createStatement()) {
+                for (String sql : statements) {
+                    s.execute(sql);
+                }
+            }
+            return null;
+        });
+    }
+
+    /** Each result row's columns joined with ':'. */
+    public List<String> rows(String sql) throws SQLException {
+        return pool.read(c -> {
+            try (Statement s = c.connection().createStatement(); ResultSet rs = s.executeQuery(sql)) {
+                List<String> rows = new ArrayList<>();
+                int columns = rs.getMetaData().getColumnCount();
+                while (rs.next()) {
+                    List<String> values = new ArrayList<>(columns);
+                    for (int i = 1; i <= columns; i++) {
+                        values.add(rs.getString(i));
+                    }
+                    rows.add(String.join(":", values));
+                }
+                return rows;
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        DatabaseConnector.usePool(previous);
+        pool.close();
+    }
+}
@@ -0,0 +1,103 @@
+package app.explore;
+
+import app.controller.explore.CachingExploreDataProvider;
+import app.controller.explore.ExploreControl;
+import app.controller.explore.ExploreDataProvider;
+import app.entity.DatabaseConnector;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachingExploreDataProviderTest {
+
+    private static final ExploreControl.Kind ALL = ExploreControl.Kind.ALL;
+    private static final ExploreControl.Kind DESIGNS = ExploreControl.Kind.DESIGNS;
+    private static final ExploreControl.Kind ARTISTS = ExploreControl.Kind.ARTISTS;
+
+    /** Mock catalogue that counts page fetches and can be told to answer partially. */
+    private static final class CountingProvider implements ExploreDataProvider {
+        final List<String> calls = new ArrayList<>();
+        private final ExploreControl control = new ExploreControl();
+        boolean partial;
+
+        @Override
+        public List<ExploreControl.SearchItem> fetch(String q, ExploreControl.Kind filter) {
+            return control.filter(q, filter);
+        }
+
+        @Override
+        public Page fetchPage(String q, ExploreControl.Kind filter, Cursor cursor) {
+            calls.add(filter + ":" + q);
+            return new Page(control.filter(q, filter), null, partial);
+        }
+    }
+
+    private final CountingProvider delegate = new CountingProvider();
+    private final AtomicLong now = new AtomicLong();
+    private final CachingExploreDataProvider cache =
+            new CachingExploreDataProvider(delegate, 3, Duration.ofSeconds(10), now::get);
+
+    @Test
+    void repeatQueriesAreServedFromMemoryUnderTheirNormalizedKey() {
+        var first = cache.fetchPage("Koi", ALL, null);
+        var second = cache.fetchPage("  koi ", ALL, null);
+
+        assertEquals(first, second);
+        assertEquals(List.of("ALL:koi"), delegate.calls);
+        assertEquals(1, cache.stats().hits());
+    }
+
+    @Test
+    void entriesExpireAfterTheTtl() {
+        cache.fetchPage("", ALL, null);
+        now.addAndGet(Duration.ofSeconds(9).toNanos());
+        cache.fetchPage("", ALL, null);
+        now.addAndGet(Duration.ofSeconds(2).toNanos());
+        cache.fetchPage("", ALL, null);
+
+        assertEquals(List.of("ALL:", "ALL:"), delegate.calls);
+    }
+
+    @Test
+    void leastRecentlyUsedEntriesAreEvictedBeyondTheBound() {
+        cache.fetchPage("a", ALL, null);
+        cache.fetchPage("b", ALL, null);
+        cache.fetchPage("c", ALL, null);
+        cache.fetchPage("a", ALL, null);
+        cache.fetchPage("d", ALL, null);
+        cache.fetchPage("a", ALL, null);
+        cache.fetchPage("b", ALL, null);
+
+        assertEquals(List.of("ALL:a", "ALL:b", "ALL:c", "ALL:d", "ALL:b"), delegate.calls);
+    }
+
+    @Test
+    void writesDropOnlyThePagesTheyCanChange() {
+        cache.fetchPage("", ALL, null);
+        cache.fetchPage("", DESIGNS, null);
+        cache.fetchPage("", ARTISTS, null);
+
+        cache.invalidate(DatabaseConnector.Change.DESIGNS);
+        cache.fetchPage("", ALL, null);
+        cache.fetchPage("", DESIGNS, null);
+        cache.fetchPage("", ARTISTS, null);
+
+        assertEquals(List.of("ALL:", "DESIGNS:", "ARTISTS:", "ALL:", "DESIGNS:"), delegate.calls);
+    }
+
+    @Test
+    void partialPagesAreNotCached() {
+        delegate.partial = true;
+        cache.fetchPage("", ALL, null);
+        delegate.partial = false;
+        cache.fetchPage("", ALL, null);
+        cache.fetchPage("", ALL, null);
+
+        assertEquals(List.of("ALL:", "ALL:"), delegate.calls);
+    }
+}
@@ -0,0 +1,70 @@
+package app.explore;
+
+import app.controller.explore.ExploreControl;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExploreControlIndexTest {
+
+    private static final String[] WORDS = {
+            "dragon", "koi", "Mandala", "rose", "SKULL", "phoenix", "linework", "blackwork", "neo traditional",
+            "Çiçek", "İstanbul", "straße", "a", "ab", "x-ray", "sleeve", "forearm", "completed", "artist:Raven"
+    };
+
+    @Test
+    void mockCatalogueMatchesAFullScan() {
+        ExploreControl control = new ExploreControl();
+        List<ExploreControl.SearchItem> all = control.filter("", ExploreControl.Kind.ALL);
+        for (String q : List.of("", "k", "ko", "koi", "KOI ", "dragon", "rav", "artist:", "zz", "—", " o")) {
+            for (ExploreControl.Kind kind : ExploreControl.Kind.values()) {
+                assertEquals(scan(all, q, kind), control.filter(q, kind), kind + " q=" + q);
+            }
+        }
+    }
+
+    @Test
+    void largeRandomCatalogueMatchesAFullScan() {
+        Random random = new Random(42);
+        List<ExploreControl.SearchItem> items = new ArrayList<>();
+        ExploreControl.Kind[] kinds = ExploreControl.Kind.values();
+        for (int i = 0; i < 20_000; i++) {
+            List<String> tags = new ArrayList<>();
+            for (int t = random.nextInt(4); t > 0; t--) {
+                tags.add(WORDS[random.nextInt(WORDS.length)]);
+            }
+            String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " #" + i;
+            items.add(new ExploreControl.SearchItem(title, kinds[random.nextInt(kinds.length)], "", tags, ""));
+        }
+        ExploreControl control = new ExploreControl(items);
+
+        List<String> queries = new ArrayList<>(List.of("", "a", "ab", "ra", "ago", "#1", "#19999", "ss", "i̇", "e x"));
+        for (int i = 0; i < 40; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            int from = random.nextInt(word.length());
+            queries.add(word.substring(from, from + 1 + random.nextInt(word.length() - from)));
+        }
+        for (String q : queries) {
+            for (ExploreControl.Kind kind : kinds) {
+                assertEquals(scan(items, q, kind), control.filter(q, kind), kind + " q=" + q);
+            }
+        }
+    }
+
+    // The original linear filter, kept as the reference semantics.
+    private static List<ExploreControl.SearchItem> scan(List<ExploreControl.SearchItem> items, String q,
+            ExploreControl.Kind filter) {
+        String needle = (q == null ? "" : q).trim().toLowerCase(Locale.ROOT);
+        return items.stream()
+                .filter(it -> filter == ExploreControl.Kind.ALL || it.kind() == filter)
+                .filter(it -> needle.isEmpty()
+                        || it.title().toLowerCase(Locale.ROOT).contains(needle)
+                        || it.tags().stream().anyMatch(t -> t.toLowerCase(Locale.ROOT).contains(needle)))
+                .toList();
+    }
+}
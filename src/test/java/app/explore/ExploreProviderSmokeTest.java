@@ -11,6 +11,8 @@ import org.junit.jupiter.api.Test;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -38,6 +40,54 @@ public class ExploreProviderSmokeTest {
         assertTrue(items.size() >= 0, "Allow empty result sets for small DBs");
     }
 
+    @Test
+    void liveProvider_mergesConcurrentSourcesInSourceOrder() {
+        Assumptions.assumeTrue(
+                Files.exists(Path.of(SQLITE_DB_FILENAME)),
+                "Skipping live test: local SQLite database not found");
+
+        ExploreDataProvider provider = new MergedExploreDataProvider();
+        for (String q : List.of("", "a")) {
+            List<ExploreControl.SearchItem> sequential = new ArrayList<>();
+            sequential.addAll(provider.fetch(q, ExploreControl.Kind.ARTISTS));
+            sequential.addAll(provider.fetch(q, ExploreControl.Kind.COMPLETED_TATTOOS));
+            sequential.addAll(provider.fetch(q, ExploreControl.Kind.DESIGNS));
+
+            assertEquals(sequential, provider.fetch(q, ExploreControl.Kind.ALL), "q=" + q);
+        }
+    }
+
+    @Test
+    void liveProvider_pagesContinueWhereFetchStops() {
+        Assumptions.assumeTrue(
+                Files.exists(Path.of(SQLITE_DB_FILENAME)),
+                "Skipping live test: local SQLite database not found");
+
+        ExploreDataProvider provider = new MergedExploreDataProvider();
+        for (var kind : List.of(ExploreControl.Kind.COMPLETED_TATTOOS, ExploreControl.Kind.DESIGNS)) {
+            for (String q : List.of("", "a")) {
+                List<ExploreControl.SearchItem> paged = new ArrayList<>();
+                ExploreDataProvider.Page page = provider.fetchPage(q, kind, null);
+                paged.addAll(page.items());
+                while (page.next() != null) {
+                    page = provider.fetchPage(q, kind, page.next());
+                    paged.addAll(page.items());
+                }
+                List<ExploreControl.SearchItem> fetched = provider.fetch(q, kind);
+                assertTrue(paged.size() >= fetched.size());
+                assertEquals(fetched, paged.subList(0, fetched.size()), kind + " q=" + q);
+            }
+        }
+    }
+
+    @Test
+    void mockProvider_returnsEverythingAsOnePage() {
+        var p = new MockExploreDataProvider();
+        var page = p.fetchPage("", ExploreControl.Kind.ALL, null);
+        assertEquals(p.fetch("", ExploreControl.Kind.ALL), page.items());
+        assertNull(page.next());
+    }
+
     @Test
     void mockProvider_filtersDesignsOnly_whenKindIsDESIGNS() {
         var p = new MockExploreDataProvider();
@@ -0,0 +1,139 @@
+package app.explore;
+
+import app.controller.explore.ExploreControl;
+import app.controller.explore.ExploreDataProvider;
+import app.controller.explore.ExploreSearch;
+import app.entity.DatabaseConnector;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExploreSearchTest {
+
+    private static final ExploreControl.Kind ALL = ExploreControl.Kind.ALL;
+
+    /** Answers from the mock catalogue and records every query it is asked. */
+    private static class RecordingProvider implements ExploreDataProvider {
+        final List<String> queries = new ArrayList<>();
+        private final ExploreControl control = new ExploreControl();
+
+        @Override
+        public synchronized List<ExploreControl.SearchItem> fetch(String q, ExploreControl.Kind filter) {
+            queries.add(q);
+            return control.filter(q, filter);
+        }
+    }
+
+    @Test
+    void sameSearchTermsAreServedFromTheLastResult() {
+        RecordingProvider provider = new RecordingProvider();
+        ExploreSearch search = new ExploreSearch(provider, Runnable::run);
+
+        var first = search.search("koi", ALL).join();
+        var again = search.search("koi ", ALL).join();
+
+        assertEquals(first, again);
+        assertEquals(List.of("koi"), provider.queries);
+        assertEquals(1, search.providerCalls());
+    }
+
+    @Test
+    void refiningAQueryThatFoundNothingSkipsTheProvider() {
+        RecordingProvider provider = new RecordingProvider();
+        ExploreSearch search = new ExploreSearch(provider, Runnable::run);
+
+        assertTrue(search.search("zzq", ALL).join().items().isEmpty());
+        assertTrue(search.search("zzqx", ALL).join().items().isEmpty());
+        assertTrue(search.search("zzqx more", ALL).join().items().isEmpty());
+
+        assertEquals(List.of("zzq"), provider.queries);
+    }
+
+    @Test
+    void refiningAQueryWithResultsStillAsksTheProvider() {
+        RecordingProvider provider = new RecordingProvider();
+        ExploreSearch search = new ExploreSearch(provider, Runnable::run);
+
+        assertFalse(search.search("dra", ALL).join().items().isEmpty());
+        search.search("drag", ALL).join();
+        search.search("drag", ExploreControl.Kind.DESIGNS).join();
+
+        assertEquals(List.of("dra", "drag", "drag"), provider.queries);
+    }
+
+    @Test
+    void partialPagesAreNotReusedForRefinements() {
+        RecordingProvider provider = new RecordingProvider() {
+            private boolean sourceDown = true;
+
+            @Override
+            public synchronized Page fetchPage(String q, ExploreControl.Kind filter, Cursor cursor) {
+                if (sourceDown) {
+                    // First search: a source timed out and nothing came back.
+                    sourceDown = false;
+                    queries.add(q);
+                    return new Page(List.of(), null, true);
+                }
+                return super.fetchPage(q, filter, cursor);
+            }
+        };
+        ExploreSearch search = new ExploreSearch(provider, Runnable::run);
+
+        assertTrue(search.search("dra", ALL).join().partial());
+        assertFalse(search.search("drag", ALL).join().items().isEmpty());
+        search.search("drag", ALL).join();
+
+        assertEquals(List.of("dra", "drag"), provider.queries);
+    }
+
+    @Test
+    void aDatabaseChangeForgetsTheRememberedSearch() {
+        RecordingProvider provider = new RecordingProvider();
+        ExploreSearch search = new ExploreSearch(provider, Runnable::run);
+
+        search.search("koi", ALL).join();
+        assertTrue(search.search("zzq", ALL).join().items().isEmpty());
+        search.invalidate(DatabaseConnector.Change.POSTS);
+        search.search("zzqx", ALL).join();
+        search.invalidate(DatabaseConnector.Change.DESIGNS);
+        search.search("zzqx", ALL).join();
+
+        assertEquals(List.of("koi", "zzq", "zzqx", "zzqx"), provider.queries);
+    }
+
+    @Test
+    void newSearchCancelsTheOneStillQueued() throws Exception {
+        RecordingProvider provider = new RecordingProvider();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.execute(() -> {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            ExploreSearch search = new ExploreSearch(provider, executor);
+            var stale = search.search("k", ALL);
+            var fresh = search.search("ko", ALL);
+            release.countDown();
+
+            assertFalse(fresh.get(5, TimeUnit.SECONDS).items().isEmpty());
+            CompletionException ex = assertThrows(CompletionException.class, stale::join);
+            assertInstanceOf(CancellationException.class, ex.getCause());
+            assertEquals(List.of("ko"), provider.queries);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
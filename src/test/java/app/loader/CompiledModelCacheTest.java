@@ -0,0 +1,111 @@
+package app.loader;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledModelCacheTest {
+
+    private static final String TRIANGLE = """
+            mtllib skin.mtl
+            v 0 0 0
+            v 0 0 1
+            v 0 1 0
+            vt 0.5 0.25
+            f 1/1 2/1 3/1
+            """;
+
+    @TempDir
+    Path tempDir;
+
+    private Path obj(String name, String source) throws IOException {
+        return Files.writeString(tempDir.resolve(name), source);
+    }
+
+    private List<Path> compiledFiles(Path root) throws IOException {
+        try (Stream<Path> files = Files.list(root)) {
+            return files.filter(p -> p.toString().endsWith(".mesh")).toList();
+        }
+    }
+
+    private static void assertSameModel(ObjParser.Result expected, ObjParser.Result actual) {
+        assertArrayEquals(expected.mesh().points(), actual.mesh().points());
+        assertArrayEquals(expected.mesh().texCoords(), actual.mesh().texCoords());
+        assertArrayEquals(expected.mesh().faces(), actual.mesh().faces());
+        assertEquals(expected.materialLibraries(), actual.materialLibraries());
+        assertEquals(expected.likelyZUp(), actual.likelyZUp());
+    }
+
+    @Test
+    void secondLoadOfTheSameBytesSkipsParsing_evenFromAnotherPath() throws IOException {
+        Path root = tempDir.resolve("cache");
+        CompiledModelCache cache = new CompiledModelCache(root, 4);
+
+        ObjParser.Result first = cache.load(obj("a.obj", TRIANGLE));
+        ObjParser.Result second = cache.load(obj("copy-of-a.obj", TRIANGLE));
+
+        assertEquals(new CompiledModelCache.Stats(1, 1), cache.stats());
+        assertEquals(1, compiledFiles(root).size());
+        assertSameModel(first, second);
+        assertEquals(List.of("skin.mtl"), second.materialLibraries());
+    }
+
+    @Test
+    void corruptOrOutdatedFilesAreRecompiled() throws IOException {
+        Path root = tempDir.resolve("cache");
+        CompiledModelCache cache = new CompiledModelCache(root, 4);
+        Path model = obj("a.obj", TRIANGLE);
+        ObjParser.Result parsed = cache.load(model);
+        Path compiled = compiledFiles(root).getFirst();
+
+        byte[] bytes = Files.readAllBytes(compiled);
+        Files.write(compiled, Arrays.copyOf(bytes, bytes.length - 4));
+        assertSameModel(parsed, cache.load(model));
+
+        bytes = Files.readAllBytes(compiled);
+        bytes[4] = 99; // version
+        Files.write(compiled, bytes);
+        assertSameModel(parsed, cache.load(model));
+
+        assertEquals(new CompiledModelCache.Stats(0, 3), cache.stats());
+        assertSameModel(parsed, cache.load(model));
+        assertEquals(new CompiledModelCache.Stats(1, 3), cache.stats());
+    }
+
+    @Test
+    void keepsOnlyTheMostRecentModels() throws IOException {
+        Path root = tempDir.resolve("cache");
+        CompiledModelCache cache = new CompiledModelCache(root, 2);
+        for (int i = 0; i < 4; i++) {
+            cache.load(obj(i + ".obj", TRIANGLE + "# variant " + i + "\n"));
+        }
+        assertEquals(2, compiledFiles(root).size());
+    }
+
+    @Test
+    void humanModelRoundTripsThroughTheBinaryFormat() throws IOException {
+        Path model = tempDir.resolve("human.obj");
+        try (InputStream in = CompiledModelCacheTest.class.getResourceAsStream("/models/human.obj.og")) {
+            assertNotNull(in);
+            Files.copy(in, model);
+        }
+        ObjParser.Result parsed = ObjParser.parse(model);
+        Path compiled = tempDir.resolve("human.mesh");
+
+        CompiledModelCache.write(compiled, parsed);
+        ObjParser.Result read = CompiledModelCache.read(compiled);
+
+        assertNotNull(read);
+        assertSameModel(parsed, read);
+        assertTrue(Files.size(compiled) < Files.size(model));
+    }
+}
@@ -0,0 +1,268 @@
+package app.loader;
+
+import de.javagl.obj.FloatTuple;
+import de.javagl.obj.ObjFace;
+import de.javagl.obj.ObjReader;
+import de.javagl.obj.ObjUtils;
+import de.javagl.obj.ReadableObj;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ObjLoaderTest {
+
+    private static ObjParser.Result parse(String source) throws IOException {
+        return ObjParser.parse(ByteBuffer.wrap(source.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static byte[] humanModel() throws IOException {
+        try (InputStream in = ObjLoaderTest.class.getResourceAsStream("/models/human.obj.og")) {
+            assertNotNull(in);
+            return in.readAllBytes();
+        }
+    }
+
+    @Test
+    void quadBecomesTwoTrianglesWithFlippedTexCoords() throws IOException {
+        MeshData data = parse("""
+                v 0 0 0
+                v 1 0 0
+                v 1 1 0
+                v 0 1 0
+                vt 0 0
+                vt 1 0
+                vt 1 1
+                vt 0 1
+                f 1/1 2/2 3/3 4/4
+                """).mesh();
+
+        assertEquals(2, data.faceCount());
+        assertEquals(4, data.pointCount());
+        assertEquals(4, data.texCoordCount());
+        for (int i = 0; i < data.faces().length; i++) {
+            assertTrue(data.faces()[i] < data.pointCount());
+        }
+        // Every corner's position and texture coordinate belong to the same source vertex.
+        for (int i = 0; i < data.faces().length; i += 2) {
+            int point = data.faces()[i];
+            int tex = data.faces()[i + 1];
+            assertEquals(data.points()[point * 3], data.texCoords()[tex * 2]);
+            assertEquals(data.points()[point * 3 + 1], 1f - data.texCoords()[tex * 2 + 1]);
+        }
+    }
+
+    @Test
+    void missingTexCoordsDefaultToZero() throws IOException {
+        MeshData data = parse("""
+                v 0 0 0
+                v 1 0 0
+                v 0 1 0
+                f 1 2 3
+                """).mesh();
+
+        assertEquals(1, data.faceCount());
+        assertArrayEquals(new float[2], data.texCoords());
+        assertArrayEquals(new int[] {0, 0, 1, 0, 2, 0}, data.faces());
+        assertArrayEquals(new float[] {0, 0, 0, 1, 0, 0, 0, 1, 0}, data.points());
+    }
+
+    @Test
+    void sharedCornersReuseOnePointButSeamsKeepTheirOwnTexCoords() throws IOException {
+        MeshData data = parse("""
+                v 0 0 0
+                v 1 0 0
+                v 1 1 0
+                v 0 1 0
+                vt 0 0
+                vt 1 0
+                vt 1 1
+                vt 0 1
+                vt 0.5 0.5
+                f 1/1 2/2 3/3
+                f 1/5 3/3 4/4
+                """).mesh();
+
+        assertEquals(4, data.pointCount());
+        assertEquals(5, data.texCoordCount());
+        assertArrayEquals(new int[] {0, 0, 1, 1, 2, 2, 0, 3, 2, 2, 3, 4}, data.faces());
+    }
+
+    @Test
+    void readsMaterialLibrariesNormalsAndRelativeIndicesInOnePass() throws IOException {
+        ObjParser.Result result = parse("""
+                # exported\r
+                MTLLIB  skin tones.mtl  \r
+                o body
+                v 0 0 0
+                v 1e0 0 0 # trailing comment
+                v 0 1.0 0
+                vn 0 0 1
+                vt 0.25
+                s 1
+                f -3//1 -2//1 -1//1
+                f 1/-1/1 2/1/1 3/1/1
+                """);
+
+        assertEquals(List.of("skin tones.mtl"), result.materialLibraries());
+        MeshData data = result.mesh();
+        assertEquals(2, data.faceCount());
+        assertArrayEquals(new float[] {0, 0, 0, 1, 0, 0, 0, 1, 0}, data.points());
+        assertArrayEquals(new float[] {0, 0, 0.25f, 1}, data.texCoords());
+        assertArrayEquals(new int[] {0, 0, 1, 0, 2, 0, 0, 1, 1, 1, 2, 1}, data.faces());
+        assertTrue(result.likelyZUp());
+    }
+
+    @Test
+    void badIndexReportsItsLine() {
+        IOException e = assertThrows(IOException.class, () -> parse("""
+                v 0 0 0
+                v 1 0 0
+
+                f 1 2 3
+                """));
+        assertTrue(e.getMessage().startsWith("line 4:"), e.getMessage());
+    }
+
+    @Test
+    void badIndexInALaterChunkReportsItsFileLine() {
+        IOException e = assertThrows(IOException.class, () -> ObjParser.parse(ByteBuffer.wrap("""
+                v 0 0 0
+                v 1 0 0
+                v 0 1 0
+                f 1 2 3
+                f 1 2 3
+                f 1 2 9
+                """.getBytes(StandardCharsets.UTF_8)), 16));
+        assertTrue(e.getMessage().startsWith("line 6:"), e.getMessage());
+    }
+
+    @Test
+    void relativeIndicesResolveAcrossChunks() throws IOException {
+        String source = """
+                mtllib a.mtl
+                v 0 0 0
+                v 1 0 0
+                vt 0.5 0.5
+                v 0 1 0
+                vt 0.25 0.75
+                f -3/-2 -2/-2 -1/-1
+                v 1 1 0
+                f -4/1 -2/-1 -1/2
+                mtllib b.mtl
+                f 4 3 2 1
+                """;
+        ObjParser.Result whole = parse(source);
+        ObjParser.Result split = ObjParser.parse(ByteBuffer.wrap(source.getBytes(StandardCharsets.UTF_8)), 8);
+
+        assertEquals(List.of("a.mtl", "b.mtl"), split.materialLibraries());
+        assertArrayEquals(whole.mesh().points(), split.mesh().points());
+        assertArrayEquals(whole.mesh().texCoords(), split.mesh().texCoords());
+        assertArrayEquals(whole.mesh().faces(), split.mesh().faces());
+        assertArrayEquals(new int[] {0, 0, 1, 0, 2, 1, 0, 0, 2, 1, 3, 1, 3, 2, 2, 2, 1, 2, 3, 2, 1, 2, 0, 2},
+                split.mesh().faces());
+    }
+
+    @Test
+    void humanModelParsesTheSameInParallelChunks() throws IOException {
+        byte[] bytes = humanModel();
+        ObjParser.Result whole = ObjParser.parse(ByteBuffer.wrap(bytes), Integer.MAX_VALUE);
+        for (int chunkBytes : new int[] {1 << 12, 1 << 16, 1 << 20}) {
+            ObjParser.Result split = ObjParser.parse(ByteBuffer.wrap(bytes), chunkBytes);
+            assertArrayEquals(whole.mesh().points(), split.mesh().points());
+            assertArrayEquals(whole.mesh().texCoords(), split.mesh().texCoords());
+            assertArrayEquals(whole.mesh().faces(), split.mesh().faces());
+            assertEquals(whole.materialLibraries(), split.materialLibraries());
+            assertEquals(whole.likelyZUp(), split.likelyZUp());
+        }
+    }
+
+    @Test
+    void numbersMatchFloatParseFloat() throws IOException {
+        Random random = new Random(7);
+        StringBuilder source = new StringBuilder();
+        float[] expected = new float[3 * 5000];
+        for (int i = 0; i < expected.length; i++) {
+            String token = switch (i % 5) {
+                case 0 -> String.format(Locale.ROOT, "%.6f", (random.nextDouble() - 0.5) * 40);
+                case 1 -> Float.toString(random.nextFloat() * 1e-3f);
+                case 2 -> Double.toString(random.nextGaussian() * 1e5);
+                case 3 -> String.format(Locale.ROOT, "%.17f", random.nextDouble());
+                default -> String.format(Locale.ROOT, "%.3e", random.nextGaussian() * 1e30);
+            };
+            expected[i] = Float.parseFloat(token);
+            source.append(i % 3 == 0 ? "v " : " ").append(token).append(i % 3 == 2 ? "\n" : "");
+        }
+        source.append("f 1 2 3\n");
+        for (int i = 4; i <= expected.length / 3; i++) {
+            source.append("f 1 2 ").append(i).append('\n');
+        }
+
+        MeshData data = parse(source.toString()).mesh();
+        assertArrayEquals(expected, data.points());
+    }
+
+    @Test
+    void bundledHumanModelMatchesTheReferenceReader() throws IOException {
+        byte[] bytes = humanModel();
+        ObjParser.Result result = ObjParser.parse(ByteBuffer.wrap(bytes));
+        MeshData data = result.mesh();
+        ReadableObj raw = ObjReader.read(new ByteArrayInputStream(bytes));
+        ReadableObj renderable = ObjUtils.convertToRenderable(raw);
+
+        assertEquals(List.of("man.mtl"), result.materialLibraries());
+        assertEquals(renderable.getNumFaces(), data.faceCount());
+        assertTrue(data.pointCount() <= raw.getNumVertices());
+        assertTrue(data.texCoordCount() <= raw.getNumTexCoords() + 1);
+        assertTrue(data.pointCount() * 5 < data.faceCount() * 3, "welding should remove most duplicate corners");
+
+        // Fan order matches the reference triangulation corner for corner.
+        int triangle = 0;
+        int zUp = 0;
+        for (int f = 0; f < raw.getNumFaces(); f++) {
+            ObjFace face = raw.getFace(f);
+            for (int i = 1; i + 1 < face.getNumVertices(); i++, triangle++) {
+                int[] corners = {0, i, i + 1};
+                for (int k = 0; k < 3; k++) {
+                    int point = data.faces()[triangle * 6 + k * 2];
+                    int tex = data.faces()[triangle * 6 + k * 2 + 1];
+                    FloatTuple vertex = raw.getVertex(face.getVertexIndex(corners[k]));
+                    FloatTuple texCoord = raw.getTexCoord(face.getTexCoordIndex(corners[k]));
+                    assertEquals(vertex.getX(), data.points()[point * 3]);
+                    assertEquals(vertex.getY(), data.points()[point * 3 + 1]);
+                    assertEquals(vertex.getZ(), data.points()[point * 3 + 2]);
+                    assertEquals(texCoord.getX(), data.texCoords()[tex * 2]);
+                    assertEquals(1f - texCoord.getY(), data.texCoords()[tex * 2 + 1]);
+                }
+            }
+            if (facesZ(raw, face)) {
+                zUp++;
+            }
+        }
+        assertEquals(zUp > raw.getNumFaces() * 0.6, result.likelyZUp());
+    }
+
+    private static boolean facesZ(ReadableObj obj, ObjFace face) {
+        FloatTuple a = obj.getVertex(face.getVertexIndex(0));
+        FloatTuple b = obj.getVertex(face.getVertexIndex(1));
+        FloatTuple c = obj.getVertex(face.getVertexIndex(2));
+        double abx = b.getX() - a.getX();
+        double aby = b.getY() - a.getY();
+        double abz = b.getZ() - a.getZ();
+        double acx = c.getX() - a.getX();
+        double acy = c.getY() - a.getY();
+        double acz = c.getZ() - a.getZ();
+        double nx = aby * acz - abz * acy;
+        double ny = abz * acx - abx * acz;
+        double nz = abx * acy - aby * acx;
+        return Math.abs(nz) > Math.abs(ny) && Math.abs(nz) > Math.abs(nx);
+    }
+}
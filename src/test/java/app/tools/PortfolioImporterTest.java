@@ -0,0 +1,110 @@
+package app.tools;
+
+import app.entity.DesignDraft;
+import app.entity.PostDraft;
+import app.entity.TempDatabase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PortfolioImporterTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void scan_readsManifestsAndImageFolders() throws Exception {
+        Path artist = Files.createDirectories(root.resolve("raven_ink"));
+        Files.writeString(artist.resolve("posts.tsv"), """
+                # url\tcaption\tkeywords
+                https://img/1.jpg\tDragon sleeve\tdragon,color
+
+                https://img/2.jpg
+                """);
+        Files.writeString(artist.resolve("designs.tsv"), "https://img/d1.png\tKoi flash\n");
+        Files.createDirectories(artist.resolve("posts"));
+        Files.writeString(artist.resolve("posts").resolve("healed rose.JPG"), "x");
+        Files.writeString(artist.resolve("posts").resolve("notes.txt"), "ignored");
+        Files.createDirectories(root.resolve("empty_artist"));
+        Files.writeString(root.resolve("README.txt"), "not an artist");
+
+        List<PortfolioImporter.ArtistPortfolio> portfolios = PortfolioImporter.scan(root);
+
+        assertEquals(List.of("empty_artist", "raven_ink"),
+                portfolios.stream().map(PortfolioImporter.ArtistPortfolio::username).toList());
+        PortfolioImporter.ArtistPortfolio raven = portfolios.get(1);
+        assertEquals(3, raven.posts().size());
+        assertEquals(new PostDraft("Dragon sleeve", "https://img/1.jpg", "dragon,color"), raven.posts().get(0));
+        assertEquals(new PostDraft(null, "https://img/2.jpg", null), raven.posts().get(1));
+        assertEquals("healed rose", raven.posts().get(2).caption());
+        assertTrue(raven.posts().get(2).imageUrl().startsWith("file:"));
+        assertEquals(List.of(new DesignDraft("Koi flash", "https://img/d1.png")), raven.designs());
+        assertTrue(portfolios.getFirst().posts().isEmpty());
+    }
+
+    @Test
+    void scan_skipsRowsTheDatabaseWouldReject() throws Exception {
+        Path artist = Files.createDirectories(root.resolve("raven_ink"));
+        Files.writeString(artist.resolve("posts.tsv"), "https://img/1.jpg\tok\n\tno url\n");
+        Files.writeString(artist.resolve("designs.tsv"), """
+                https://img/d1.png
+                https://img/d2.png\t
+                \tNameless url
+                https://img/d3.png\tKoi flash
+                """);
+
+        PortfolioImporter.ArtistPortfolio raven = PortfolioImporter.scan(root).getFirst();
+
+        assertEquals(List.of(new PostDraft("ok", "https://img/1.jpg", null)), raven.posts());
+        assertEquals(List.of(new DesignDraft("Koi flash", "https://img/d3.png")), raven.designs());
+        assertEquals(List.of(
+                "raven_ink/posts.tsv line 2: image URL is required",
+                "raven_ink/designs.tsv line 1: design name is required",
+                "raven_ink/designs.tsv line 2: design name is required",
+                "raven_ink/designs.tsv line 3: picture URL is required"), raven.skipped());
+    }
+
+    @Test
+    void importAll_writesValidRowsAndReportsTheRest() throws Exception {
+        Path portfolio = root.resolve("portfolio");
+        Path ink = Files.createDirectories(portfolio.resolve("ink"));
+        Files.writeString(ink.resolve("posts.tsv"), "https://img/1.jpg\tfirst\n\tbroken\nhttps://img/2.jpg\n");
+        Files.writeString(ink.resolve("designs.tsv"), "https://img/d1.png\n https://img/d2.png\tRose\n");
+        Files.createDirectories(portfolio.resolve("ghost"));
+
+        try (TempDatabase db = TempDatabase.install(root)) {
+            PortfolioImporter.Result result = PortfolioImporter.importAll(portfolio);
+
+            assertEquals(1, result.artists());
+            assertEquals(2, result.posts());
+            assertEquals(1, result.designs());
+            assertEquals(List.of(
+                    "ghost: no artist account with that username",
+                    "ink/posts.tsv line 2: image URL is required",
+                    "ink/designs.tsv line 1: design name is required"), result.skipped());
+            assertEquals(List.of("1:first:https://img/1.jpg", "1::https://img/2.jpg"),
+                    db.rows("SELECT account_id, coalesce(caption, ''), post_picture_url FROM Posts2 ORDER BY post_id"));
+            assertEquals(List.of("7:Rose:https://img/d2.png"),
+                    db.rows("SELECT artist_id, design_name, design_picture_url FROM Designs"));
+        }
+    }
+
+    @Test
+    void chunks_splitIntoBatchSizedTransactions() {
+        List<Integer> rows = new ArrayList<>();
+        for (int i = 0; i < PortfolioImporter.BATCH_SIZE * 2 + 5; i++) {
+            rows.add(i);
+        }
+        List<List<Integer>> chunks = PortfolioImporter.chunks(rows);
+        assertEquals(3, chunks.size());
+        assertEquals(PortfolioImporter.BATCH_SIZE, chunks.getFirst().size());
+        assertEquals(5, chunks.getLast().size());
+        assertTrue(PortfolioImporter.chunks(List.of()).isEmpty());
+    }
+}
@@ -0,0 +1,141 @@
+package app.util;
+
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageDiskCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger notModified = new AtomicInteger();
+    private volatile String cacheControl = "max-age=3600";
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            requests.incrementAndGet();
+            exchange.getResponseHeaders().add("Cache-Control", cacheControl);
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            String path = exchange.getRequestURI().getPath();
+            byte[] body = (path.startsWith("/unique/") ? path : "same-bytes").getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void freshEntriesAreServedFromDisk_withoutNetwork() throws IOException {
+        ImageDiskCache cache = new ImageDiskCache(tempDir);
+        String url = url("/a.png");
+
+        String first = cache.localize(url, true);
+        String second = cache.localize(url, true);
+
+        assertTrue(first.startsWith("file:"));
+        assertEquals(first, second);
+        assertEquals("same-bytes", Files.readString(Path.of(URI.create(first))));
+        assertEquals(1, requests.get());
+        assertEquals(new ImageDiskCache.Stats(1, 1, 0), cache.stats());
+    }
+
+    @Test
+    void staleEntriesAreRevalidatedWithEtag() {
+        cacheControl = "max-age=0";
+        ImageDiskCache cache = new ImageDiskCache(tempDir);
+        String url = url("/b.png");
+
+        String first = cache.localize(url, true);
+        String second = cache.localize(url, true);
+
+        assertEquals(first, second);
+        assertEquals(2, requests.get());
+        assertEquals(1, notModified.get());
+        assertEquals(1, cache.stats().revalidations());
+    }
+
+    @Test
+    void identicalBodiesShareOneBlob() throws IOException {
+        ImageDiskCache cache = new ImageDiskCache(tempDir);
+        assertEquals(cache.localize(url("/c.png"), true), cache.localize(url("/d.png"), true));
+        try (var blobs = Files.list(tempDir.resolve("blobs"))) {
+            assertEquals(1, blobs.count());
+        }
+    }
+
+    @Test
+    void blobsBeyondTheCapAreDropped_leastRecentlyUsedFirst() throws IOException {
+        // Every body is 9 bytes, so three fit.
+        ImageDiskCache cache = new ImageDiskCache(tempDir, 30);
+        String first = cache.localize(url("/unique/1"), true);
+        cache.localize(url("/unique/2"), true);
+        cache.localize(url("/unique/3"), true);
+        Files.setLastModifiedTime(Path.of(URI.create(first)), FileTime.fromMillis(0));
+        cache.localize(url("/unique/2"), true);
+        cache.localize(url("/unique/3"), true);
+
+        cache.localize(url("/unique/4"), true);
+
+        assertFalse(Files.exists(Path.of(URI.create(first))));
+        try (var blobs = Files.list(tempDir.resolve("blobs")); var index = Files.list(tempDir.resolve("index"))) {
+            assertEquals(3, blobs.count());
+            assertEquals(3, index.count());
+        }
+        int before = requests.get();
+        cache.localize(url("/unique/1"), true);
+        assertEquals(before + 1, requests.get());
+    }
+
+    @Test
+    void unreachableUrlFallsBackToOriginal() {
+        ImageDiskCache cache = new ImageDiskCache(tempDir);
+        server.stop(0);
+        String url = url("/gone.png");
+        assertEquals(url, cache.localize(url, true));
+    }
+
+    @Test
+    void maxAge_parsesCacheControl() {
+        assertEquals(Duration.ofSeconds(60), ImageDiskCache.maxAge("public, max-age=60"));
+        assertEquals(Duration.ZERO, ImageDiskCache.maxAge("no-cache"));
+        assertEquals(Duration.ofDays(1), ImageDiskCache.maxAge(""));
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+}
@@ -0,0 +1,56 @@
+package app.util;
+
+import app.entity.Profile;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageHandleTest {
+
+    @Test
+    void get_retriesAMissingSource_andIsNotMarkedLoaded() {
+        AtomicInteger loads = new AtomicInteger();
+        ImageHandle handle = new ImageHandle("missing", () -> {
+            loads.incrementAndGet();
+            return null;
+        });
+        assertFalse(handle.isLoaded());
+        assertNull(handle.get());
+        assertNull(handle.get());
+        assertFalse(handle.isLoaded());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_leavesCachingToTheLoader() {
+        AtomicInteger loads = new AtomicInteger();
+        ImageHandle handle = new ImageHandle("delegating", () -> {
+            loads.incrementAndGet();
+            return null;
+        });
+        handle.get();
+        handle.get();
+        handle.get();
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void of_sharesOneHandlePerKey() {
+        ImageHandle a = ImageHandle.of("shared-key.png", "shared-key.png");
+        assertSame(a, ImageHandle.of("shared-key.png", "other.png"));
+        assertNotSame(a, ImageHandle.of("another-key.png", "another-key.png"));
+        assertSame(ImageHandle.of(null), ImageHandle.of("  "));
+    }
+
+    @Test
+    void constructingProfiles_doesNotDecodePicture() {
+        String url = "no-such-dir/lazy-author.png";
+        new Profile(1, "a", url, null, List.of(), null);
+        new Profile(2, "b", url, null, List.of(), null);
+        assertFalse(ImageHandle.of(url, url).isLoaded());
+    }
+}
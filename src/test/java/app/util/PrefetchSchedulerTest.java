@@ -0,0 +1,92 @@
+package app.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefetchSchedulerTest {
+
+    @Test
+    void runsHigherPriorityFirst_andSkipsCancelled() throws Exception {
+        CountDownLatch gate = new CountDownLatch(1);
+        List<String> order = new CopyOnWriteArrayList<>();
+        CountDownLatch delivered = new CountDownLatch(3);
+        PrefetchScheduler<String> scheduler = new PrefetchScheduler<>("test", 1, key -> {
+            if (key.equals("blocker")) {
+                gate.await();
+            }
+            order.add(key);
+            return key.toUpperCase();
+        }, Runnable::run);
+
+        scheduler.request("blocker", 0, v -> delivered.countDown());
+        awaitQueued(scheduler, 0);
+        scheduler.request("far", 1, v -> delivered.countDown());
+        var dropped = scheduler.request("gone", 0, v -> fail("cancelled request was delivered"));
+        var moved = scheduler.request("near", 1, v -> delivered.countDown());
+        moved.reprioritize(0);
+        dropped.cancel();
+        gate.countDown();
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("blocker", "near", "far"), order);
+        PrefetchScheduler.Stats stats = scheduler.stats();
+        assertEquals(3, stats.loaded());
+        assertEquals(1, stats.cancelled());
+    }
+
+    @Test
+    void neverRunsMoreThanTheLimit() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(20);
+        PrefetchScheduler<Integer> scheduler = new PrefetchScheduler<>("limit", 3, key -> {
+            int now = running.incrementAndGet();
+            peak.accumulateAndGet(now, Math::max);
+            Thread.sleep(5);
+            running.decrementAndGet();
+            return now;
+        }, Runnable::run);
+        for (int i = 0; i < 20; i++) {
+            scheduler.request("k" + i, 0, v -> done.countDown());
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(peak.get() <= 3, "peak " + peak.get());
+    }
+
+    @Test
+    void cancelWhileRunning_suppressesDelivery_andFailuresAreCounted() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PrefetchScheduler<String> scheduler = new PrefetchScheduler<>("cancel", 1, key -> {
+            if (key.equals("bad")) {
+                throw new IllegalStateException("decode failed");
+            }
+            started.countDown();
+            release.await();
+            return key;
+        }, Runnable::run);
+        var ticket = scheduler.request("slow", 0, v -> fail("cancelled request was delivered"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        ticket.cancel();
+        release.countDown();
+        CountDownLatch after = new CountDownLatch(1);
+        scheduler.request("bad", 0, v -> fail("failed request was delivered"));
+        scheduler.request("ok", 0, v -> after.countDown());
+        assertTrue(after.await(5, TimeUnit.SECONDS));
+        assertEquals(1, scheduler.stats().failed());
+    }
+
+    private static void awaitQueued(PrefetchScheduler<?> scheduler, int queued) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (scheduler.stats().queued() != queued && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+}
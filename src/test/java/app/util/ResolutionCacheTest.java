@@ -0,0 +1,125 @@
+package app.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResolutionCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    private ResolutionCache newCache() {
+        return new ResolutionCache(100, (raw, probed) -> {
+            lookups.incrementAndGet();
+            if (raw.startsWith("http")) {
+                return raw;
+            }
+            Path path = Path.of(raw);
+            probed.add(path);
+            return Files.exists(path) ? path.toUri().toString() : null;
+        });
+    }
+
+    @Test
+    void repeatedLookups_hitTheFilesystemOnce() throws Exception {
+        Path avatar = Files.writeString(tempDir.resolve("avatar.png"), "x");
+        ResolutionCache cache = newCache();
+        String uri = cache.resolve(avatar.toString());
+        int afterFirst = lookups.get();
+        for (int i = 0; i < 500; i++) {
+            assertEquals(uri, cache.resolve(avatar.toString()));
+        }
+        assertEquals(afterFirst, lookups.get());
+        assertEquals(500, cache.stats().hits());
+    }
+
+    @Test
+    void missesAreCached_untilTheDirectoryChanges() throws Exception {
+        Path later = tempDir.resolve("later.png");
+        ResolutionCache cache = newCache();
+        assertNull(cache.resolve(later.toString()));
+        int afterFirst = lookups.get();
+        assertNull(cache.resolve(later.toString()));
+        assertEquals(afterFirst, lookups.get());
+
+        Files.writeString(later, "x");
+        assertEquals(later.toUri().toString(), awaitResolved(cache, later.toString()));
+
+        Files.delete(later);
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (cache.resolve(later.toString()) != null && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertNull(cache.resolve(later.toString()));
+    }
+
+    @Test
+    void invalidateDropsOnlyEntriesThatProbedTheFile() throws Exception {
+        Path avatar = Files.writeString(tempDir.resolve("a.png"), "x");
+        Path sibling = Files.writeString(tempDir.resolve("b.png"), "x");
+        ResolutionCache cache = newCache();
+        cache.resolve(avatar.toString());
+        cache.resolve(sibling.toString());
+        cache.resolve("https://example.com/a.png");
+        int before = lookups.get();
+
+        cache.invalidate(sibling.toAbsolutePath().normalize());
+        cache.resolve("https://example.com/a.png");
+        cache.resolve(avatar.toString());
+        assertEquals(before, lookups.get());
+        cache.resolve(sibling.toString());
+        assertTrue(lookups.get() > before);
+    }
+
+    @Test
+    void writesToOtherFilesInTheDirectoryKeepEntries() throws Exception {
+        Path avatar = Files.writeString(tempDir.resolve("avatar.png"), "x");
+        Path later = tempDir.resolve("later.png");
+        ResolutionCache cache = newCache();
+        cache.resolve(avatar.toString());
+        assertNull(cache.resolve(later.toString()));
+        int before = lookups.get();
+
+        // A database sidecar churning next to the images must not drop them.
+        Path wal = tempDir.resolve("tattui.db-wal");
+        for (int i = 0; i < 5; i++) {
+            Files.writeString(wal, "frame " + i);
+        }
+        Files.writeString(later, "x");
+        // Once the later file is seen, every earlier event has been handled too.
+        assertEquals(later.toUri().toString(), awaitResolved(cache, later.toString()));
+        int afterLater = lookups.get();
+
+        assertEquals(avatar.toUri().toString(), cache.resolve(avatar.toString()));
+        assertEquals(afterLater, lookups.get());
+        assertTrue(afterLater > before);
+    }
+
+    @Test
+    void pathsUnderAMissingDirectoryAreCachedWithoutAWatch() {
+        String raw = tempDir.resolve("no-such-dir").resolve("x.png").toString();
+        ResolutionCache cache = newCache();
+        assertNull(cache.resolve(raw));
+        int afterFirst = lookups.get();
+        assertNull(cache.resolve(raw));
+        assertEquals(afterFirst, lookups.get());
+    }
+
+    private static String awaitResolved(ResolutionCache cache, String raw) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        String uri = cache.resolve(raw);
+        while (uri == null && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            uri = cache.resolve(raw);
+        }
+        return uri;
+    }
+}
@@ -0,0 +1,77 @@
+package app.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThumbnailServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ExecutorService pool = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void renditionFor_picksSmallestCoveringSize() {
+        assertEquals(64, ThumbnailService.renditionFor(56, 56));
+        assertEquals(256, ThumbnailService.renditionFor(220, 0));
+        assertEquals(512, ThumbnailService.renditionFor(320, 320));
+        assertEquals(0, ThumbnailService.renditionFor(800, 0));
+        assertEquals(0, ThumbnailService.renditionFor(0, 0));
+    }
+
+    @Test
+    void generatesAllRenditionsFromOneDecode_thenServesThem() throws Exception {
+        Path original = tempDir.resolve("original.png");
+        ImageIO.write(new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_RGB), "png", original.toFile());
+        ThumbnailService service = new ThumbnailService(tempDir.resolve("thumbs"), pool, url -> url);
+        String url = original.toUri().toString();
+
+        assertNull(service.lookup(url, 128));
+        assertNull(service.lookup(url, 256));
+        drain();
+
+        for (int size : ThumbnailService.SIZES) {
+            String thumb = service.lookup(url, size);
+            assertNotNull(thumb, "size " + size);
+            BufferedImage image = ImageIO.read(Path.of(URI.create(thumb)).toFile());
+            assertEquals(size, image.getHeight());
+            assertEquals(size * 2, image.getWidth());
+        }
+        ThumbnailService.Stats stats = service.stats();
+        assertEquals(1, stats.generated());
+        assertEquals(4, stats.hits());
+    }
+
+    @Test
+    void unreadableSourcesAreNotRetried() throws Exception {
+        Path junk = Files.writeString(tempDir.resolve("junk.png"), "not an image");
+        ThumbnailService service = new ThumbnailService(tempDir.resolve("thumbs"), pool, url -> url);
+        String url = junk.toUri().toString();
+        assertNull(service.lookup(url, 64));
+        drain();
+        assertNull(service.lookup(url, 64));
+        drain();
+        assertEquals(1, service.stats().failed());
+    }
+
+    private void drain() throws Exception {
+        pool.submit(() -> { }).get(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,66 @@
+package app.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeightedLruCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsed_untilWeightFits() {
+        WeightedLruCache<String, String> cache = new WeightedLruCache<>(10, (k, v) -> v.length());
+        cache.put("a", "aaaa");
+        cache.put("b", "bbbb");
+        assertNotNull(cache.get("a"));
+        cache.put("c", "cccc");
+
+        assertNull(cache.get("b"));
+        assertEquals("aaaa", cache.get("a"));
+        assertEquals("cccc", cache.get("c"));
+        WeightedLruCache.Stats stats = cache.stats();
+        assertEquals(8, stats.weight());
+        assertEquals(1, stats.evictions());
+        assertEquals(3, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(0.75, stats.hitRatio(), 1e-9);
+    }
+
+    @Test
+    void oversizedValuesAreNotKept() {
+        WeightedLruCache<String, String> cache = new WeightedLruCache<>(3, (k, v) -> v.length());
+        cache.put("a", "aa");
+        cache.put("big", "bigger");
+        assertNull(cache.get("big"));
+        assertEquals("aa", cache.get("a"));
+    }
+
+    @Test
+    void refreshAndRemove_onlyTouchTheSameValue() {
+        StringBuilder grows = new StringBuilder("x");
+        WeightedLruCache<String, StringBuilder> cache = new WeightedLruCache<>(100, (k, v) -> v.length());
+        cache.put("k", grows);
+        grows.append("yyy");
+        cache.refresh("k", new StringBuilder("other"));
+        assertEquals(1, cache.stats().weight());
+        cache.refresh("k", grows);
+        assertEquals(4, cache.stats().weight());
+
+        cache.remove("k", new StringBuilder("other"));
+        assertEquals(1, cache.stats().size());
+        cache.remove("k", grows);
+        assertEquals(0, cache.stats().weight());
+    }
+
+    @Test
+    void removeKeysDropsMatchingEntriesAndTheirWeight() {
+        WeightedLruCache<String, Integer> cache = new WeightedLruCache<>(100, (k, v) -> v);
+        cache.put("a1", 10);
+        cache.put("b1", 20);
+        cache.put("a2", 30);
+
+        assertEquals(2, cache.removeKeys(k -> k.startsWith("a")));
+        assertNull(cache.peek("a1"));
+        assertEquals(20, cache.peek("b1"));
+        assertEquals(20, cache.stats().weight());
+    }
+}